@@ -0,0 +1,89 @@
+package ai;
+
+import core.BoardState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to score one position with `Evaluator`, one board state at a time and as a packed
+ * batch, for the large pits alone and for every feature, and the time to pack a position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    private static final int POSITIONS = 4096;
+
+    @Param({"store", "all"})
+    public String features;
+
+    private final BoardState[] states = new BoardState[POSITIONS];
+    private final PackedPositions packed = new PackedPositions(POSITIONS);
+    private final int[] scores = new int[POSITIONS];
+    private Evaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void createPositions() {
+        evaluator = features.equals("store") ? Evaluator.DEFAULT : new Evaluator(100, 10, 25, 40, 5);
+        Random random = new Random(1);
+        BoardState state = BoardState.create();
+        for (int index = 0; index < POSITIONS; index++) {
+            if (state.isGameOver()) {
+                state.reset();
+            }
+            states[index] = BoardState.create();
+            states[index].copyFrom(state);
+            packed.add(state);
+
+            int moves = state.getLegalMoves();
+            for (int skip = random.nextInt(Integer.bitCount(moves)); skip > 0; skip--) {
+                moves &= moves - 1;
+            }
+            state.move(Integer.numberOfTrailingZeros(moves));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int evaluateEach() {
+        int sum = 0;
+        for (BoardState state : states) {
+            sum += evaluator.evaluate(state);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int[] evaluateAll() {
+        evaluator.evaluateAll(packed, scores);
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public PackedPositions pack() {
+        packed.clear();
+        for (BoardState state : states) {
+            packed.add(state);
+        }
+        return packed;
+    }
+}
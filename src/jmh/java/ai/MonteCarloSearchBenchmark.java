@@ -0,0 +1,53 @@
+package ai;
+
+import core.BoardState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time of a fixed number of Monte Carlo playouts from the initial position for an increasing
+ * number of threads. Playouts per second are the number of playouts divided by the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonteCarloSearchBenchmark {
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"100000"})
+    public long playouts;
+
+    private final BoardState root = BoardState.create();
+    private MonteCarloSearch search;
+
+    @Setup
+    public void createSearch() {
+        search = new MonteCarloSearch(threads, 1 << 20, 1);
+    }
+
+    @TearDown
+    public void closeSearch() {
+        search.close();
+    }
+
+    @Benchmark
+    public int searchPlayouts() {
+        return search.search(root, SearchLimits.nodes(playouts)).getBestMove();
+    }
+}
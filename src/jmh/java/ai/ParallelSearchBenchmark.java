@@ -0,0 +1,82 @@
+package ai;
+
+import core.Board;
+import core.BoardState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time of a fixed-depth `ParallelSearch` for an increasing number of threads. The speedup
+ * of N threads is the score of 1 thread divided by the score of N threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSearchBenchmark {
+    /**
+     * Opening moves (pit numbers starting at 1) played on a new board to build the searched positions.
+     */
+    private static final int[][] OPENINGS = {{}, {3, 6}, {1, 2, 5}, {4, 6, 2, 1}};
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"14"})
+    public int depth;
+
+    private final BoardState[] positions = new BoardState[OPENINGS.length];
+    private ParallelSearch search;
+
+    @Setup(Level.Trial)
+    public void createPositions() {
+        for (int index = 0; index < OPENINGS.length; index++) {
+            positions[index] = position(OPENINGS[index]);
+        }
+        search = new ParallelSearch(threads, 22);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        // Every search starts cold so that the threads do not reuse the previous invocation's work
+        search.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSearch() {
+        search.close();
+    }
+
+    @Benchmark
+    public int searchFixedDepth() {
+        int score = 0;
+        for (BoardState position : positions) {
+            score += search.search(position, SearchLimits.depth(depth)).getScore();
+        }
+        return score;
+    }
+
+    private static BoardState position(int[] pitNumbers) {
+        BoardState state = BoardState.create();
+        Board.create("Player 1", "Player 2").exportTo(state);
+        for (int pitNumber : pitNumbers) {
+            state.move(pitNumber - 1);
+        }
+        return state;
+    }
+}
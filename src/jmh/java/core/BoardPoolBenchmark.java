@@ -0,0 +1,85 @@
+package core;
+
+import common.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building boards against recycling them through the `BoardPool`: getting a board in the initial
+ * position, copying a position, and a full game of random moves through `Game.step` with and without
+ * recycling its board. Run with `-prof gc` to compare the allocation and GC rates, e.g.
+ * `gradle jmh -PjmhArgs='-prof gc BoardPoolBenchmark'`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardPoolBenchmark {
+    private final Random random = new Random(1);
+    private Board source;
+
+    @Setup
+    public void createSource() {
+        source = Board.create("Player 1", "Player 2");
+        Game game = Game.create("Player 1", "Player 2");
+        for (int pitNumber : new int[]{3, 6, 2, 5}) {
+            game.step(pitNumber);
+        }
+        source.copyFrom(game.getBoard());
+    }
+
+    @Benchmark
+    public Board createBoard() {
+        return Board.create("Player 1", "Player 2");
+    }
+
+    @Benchmark
+    public Board acquireBoard() {
+        Board board = BoardPool.acquire("Player 1", "Player 2", GameConfig.DEFAULT);
+        BoardPool.release(board);
+        return board;
+    }
+
+    @Benchmark
+    public Board copyBoard() {
+        Board board = BoardPool.copyOf(source);
+        BoardPool.release(board);
+        return board;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GameResult newBoardPlayout() {
+        return playout(Game.create("Player 1", "Player 2"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GameResult recycledBoardPlayout() {
+        Game game = Game.createRecyclable("Player 1", "Player 2", GameConfig.DEFAULT);
+        GameResult result = playout(game);
+        game.recycle();
+        return result;
+    }
+
+    private GameResult playout(Game game) {
+        int pits = game.getBoard().getConfig().getPitsPerPlayer();
+        while (game.step(1 + random.nextInt(pits)) != StepResult.GAME_OVER) {
+            // Invalid moves leave the game untouched, so the loop simply draws another pit
+        }
+        return game.getResult();
+    }
+}
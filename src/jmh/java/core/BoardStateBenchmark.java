@@ -0,0 +1,68 @@
+package core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full game of random moves on the primitive `BoardState` engine, to compare with the object
+ * model playout of `GameBenchmark`, drawing pits until a legal one comes up or picking one from the legal
+ * move mask, and listing the extra-turn and capture moves of a position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardStateBenchmark {
+    private final Random random = new Random(1);
+    private BoardState state;
+
+    @Setup
+    public void createState() {
+        state = BoardState.create();
+    }
+
+    @Benchmark
+    public GameResult randomPlayout() {
+        state.reset();
+        while (!state.isGameOver()) {
+            int pit;
+            do {
+                pit = random.nextInt(state.getPitsPerPlayer());
+            } while (!state.isLegalMove(pit));
+            state.move(pit);
+        }
+        return state.getResult();
+    }
+
+    @Benchmark
+    public GameResult maskPlayout() {
+        state.reset();
+        while (!state.isGameOver()) {
+            int legalMoves = state.getLegalMoves();
+            for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+                legalMoves &= legalMoves - 1;
+            }
+            state.move(Integer.numberOfTrailingZeros(legalMoves));
+        }
+        return state.getResult();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int tacticalMoves() {
+        return state.getExtraTurnMoves() ^ state.getCaptureMoves();
+    }
+}
@@ -0,0 +1,108 @@
+package core;
+
+import exception.EmptyPitSelectedException;
+import exception.InvalidPitNumberException;
+import model.RegularPit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the game loop: validating the console input of a move, with and without exceptions and
+ * under a flood of bad input, creating a board, and playing a full game of random moves through
+ * `Game.step`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final String[] BAD_INPUT = {"x", "0", "7", "", "-1", "12345678901234567890", "3 ", "one"};
+
+    private final Random random = new Random(1);
+    private Game game;
+
+    @Setup
+    public void createGame() {
+        game = Game.create("Player 1", "Player 2");
+    }
+
+    @Benchmark
+    public RegularPit validateValidMove() throws InvalidPitNumberException, EmptyPitSelectedException {
+        return game.validateMove("3");
+    }
+
+    @Benchmark
+    public boolean validateInvalidMove() throws EmptyPitSelectedException {
+        try {
+            game.validateMove("x");
+            return true;
+        }
+        catch (InvalidPitNumberException exception) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public int checkValidMove() {
+        return game.checkMove("3");
+    }
+
+    @Benchmark
+    public int checkInvalidMove() {
+        return game.checkMove("x");
+    }
+
+    @Benchmark
+    public int validateBadInputFlood() throws EmptyPitSelectedException {
+        int rejected = 0;
+        for (String input : BAD_INPUT) {
+            try {
+                game.validateMove(input);
+            }
+            catch (InvalidPitNumberException exception) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    @Benchmark
+    public int checkBadInputFlood() {
+        int rejected = 0;
+        for (String input : BAD_INPUT) {
+            if (game.checkMove(input) < 0) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    @Benchmark
+    public Board createBoard() {
+        return Board.create("Player 1", "Player 2");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GameResult randomPlayout() {
+        Game playout = Game.create("Player 1", "Player 2");
+        int pits = playout.getBoard().getConfig().getPitsPerPlayer();
+        while (playout.step(1 + random.nextInt(pits)) != StepResult.GAME_OVER) {
+            // Invalid moves leave the game untouched, so the loop simply draws another pit
+        }
+        return playout.getResult();
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import core.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `Player.noSeedsLeft`, which runs after every move, for a player with seeds in the first pit
+ * only (the fastest answer) and for a player whose pits are all empty (the slowest).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private Player playerWithSeeds;
+    private Player playerWithoutSeeds;
+
+    @Setup
+    public void createPlayers() {
+        Board board = Board.create("Player 1", "Player 2");
+        playerWithSeeds = board.getFirstPlayer();
+        playerWithoutSeeds = board.getSecondPlayer();
+        playerWithoutSeeds.getRegularPits().forEach(pit -> pit.setSeeds(0));
+    }
+
+    @Benchmark
+    public boolean noSeedsLeftWithSeeds() {
+        return playerWithSeeds.noSeedsLeft();
+    }
+
+    @Benchmark
+    public boolean noSeedsLeftWithoutSeeds() {
+        return playerWithoutSeeds.noSeedsLeft();
+    }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import core.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `Player.takeTurn` for a single pit holding an increasing number of seeds. Every invocation
+ * first copies the starting position back onto the board with `Board.copyFrom`, rather than resetting it
+ * in a per-invocation setup whose overhead would dwarf the shortest sowings; `copyBoard` measures that copy
+ * alone, so it can be subtracted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SowingBenchmark {
+    @Param({"4", "13", "40", "100", "1000"})
+    public int seeds;
+
+    private Board start;
+    private Board board;
+    private Player player;
+    private RegularPit selectedPit;
+
+    @Setup(Level.Trial)
+    public void createBoard() {
+        // Start from an empty board so the seed counts do not keep growing
+        start = Board.create("Player 1", "Player 2");
+        for (Player owner : new Player[]{start.getFirstPlayer(), start.getSecondPlayer()}) {
+            owner.getRegularPits().forEach(pit -> pit.setSeeds(0));
+            owner.getLargePit().setSeeds(0);
+        }
+        start.getFirstPlayer().getRegularPit(0).setSeeds(seeds);
+
+        board = Board.create("Player 1", "Player 2");
+        player = board.getFirstPlayer();
+        selectedPit = player.getRegularPit(0);
+    }
+
+    @Benchmark
+    public Board copyBoard() {
+        board.copyFrom(start);
+        return board;
+    }
+
+    @Benchmark
+    public Pit takeTurn() {
+        board.copyFrom(start);
+        return player.takeTurn(selectedPit);
+    }
+}
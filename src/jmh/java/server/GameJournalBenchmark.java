@@ -0,0 +1,183 @@
+package server;
+
+import core.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Measures the `GameJournal`: recovering 100,000 games against the number of moves in the log, with and
+ * without a snapshot taken before the last tenth of the moves, and the rate of group-committed appends
+ * from many request threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GameJournalBenchmark {
+    private static final int GAMES = 100_000;
+    private static final int WRITERS = 32;
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+        @Param({"100000", "1000000"})
+        public int moves;
+
+        @Param({"false", "true"})
+        public boolean snapshot;
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void writeJournal() throws Exception {
+            directory = Files.createTempDirectory("journal-benchmark");
+            try (GameJournal journal = GameJournal.open(directory)) {
+                List<GameSession> sessions = new ArrayList<>(GAMES);
+                for (int index = 0; index < GAMES; index++) {
+                    GameSession session = new GameSession("game" + index,
+                            Game.create("Player " + index, "Player 2"), false, journal, 0);
+                    sessions.add(session);
+                }
+                forEachWriter(sessions, (session, random) -> {
+                    synchronized (session) {
+                        journal.logCreate(session);
+                    }
+                });
+
+                int firstMoves = snapshot ? moves - moves / 10 : moves;
+                playMoves(sessions, firstMoves);
+                if (snapshot) {
+                    journal.snapshot(sessions);
+                    playMoves(sessions, moves - firstMoves);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteJournal() throws IOException {
+            deleteDirectory(directory);
+        }
+
+        private static void playMoves(List<GameSession> sessions, int moves) throws Exception {
+            AtomicInteger played = new AtomicInteger();
+            while (played.get() < moves) {
+                forEachWriter(sessions, (session, random) -> {
+                    synchronized (session) {
+                        if (played.get() >= moves || session.getGame().isOver()) {
+                            return;
+                        }
+                        int pitNumber;
+                        do {
+                            pitNumber = 1 + random.nextInt(6);
+                        } while (session.getGame().getActivePlayer().getRegularPits().get(pitNumber - 1).isEmpty());
+                        session.play(pitNumber, game -> 0);
+                        played.incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Appends {
+        private final AtomicInteger games = new AtomicInteger();
+        private Path directory;
+        private GameJournal journal;
+
+        @Setup(Level.Trial)
+        public void openJournal() throws IOException {
+            directory = Files.createTempDirectory("journal-benchmark");
+            journal = GameJournal.open(directory);
+        }
+
+        @TearDown(Level.Trial)
+        public void closeJournal() throws IOException {
+            System.out.printf("%n%d records in %d forces%n", journal.getRecordCount(), journal.getCommitCount());
+            journal.close();
+            deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    public int recover(Recovery recovery) throws IOException {
+        try (GameJournal journal = GameJournal.open(recovery.directory)) {
+            Map<String, GameSession> games = journal.takeRecoveredGames();
+            return games.size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(WRITERS)
+    public void appendMove(Appends appends) {
+        // Every call waits for its record to be forced, so throughput comes from grouping the writers
+        appends.journal.logMoves("game" + appends.games.incrementAndGet() % GAMES, 0, new int[]{3});
+    }
+
+    /**
+     * Runs a task for every game, spread over many threads so their appends are grouped.
+     */
+    private interface SessionTask {
+        void run(GameSession session, Random random) throws Exception;
+    }
+
+    private static void forEachWriter(List<GameSession> sessions, SessionTask task) throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int first = writer;
+                futures.add(writers.submit(() -> {
+                    Random random = new Random(first);
+                    for (int index = first; index < sessions.size(); index += WRITERS) {
+                        task.run(sessions.get(index), random);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            writers.shutdownNow();
+        }
+    }
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
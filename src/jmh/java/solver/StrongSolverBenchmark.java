@@ -0,0 +1,46 @@
+package solver;
+
+import common.GameConfig;
+import core.BoardState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures solving small variants from the initial position with an in-memory `StrongSolver`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrongSolverBenchmark {
+    @Param({"4x3", "5x3"})
+    public String variant;
+
+    private BoardState root;
+
+    @Setup
+    public void createRoot() {
+        String[] counts = variant.split("x");
+        root = BoardState.create(GameConfig.of(Integer.parseInt(counts[0]), Integer.parseInt(counts[1])));
+    }
+
+    @Benchmark
+    public int solve() throws IOException {
+        // A new solver per invocation, so every solve starts with an empty table
+        return new StrongSolver(20).solve(root).getValue();
+    }
+}
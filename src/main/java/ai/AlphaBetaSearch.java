@@ -0,0 +1,315 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+import endgame.EndgameTablebase;
+
+/**
+ * The `AlphaBetaSearch` class finds the best move of a position with an iterative-deepening negamax
+ * alpha-beta search. Positions at the horizon are scored by an `Evaluator`, by default the difference
+ * between both large pits, and finished games are scored as wins or losses beyond any heuristic score.
+ *
+ * <p>When the last seed lands in the mover's own large pit the same side moves again, so the score is
+ * not negated for such moves. Moves are ordered with the transposition table move first, followed by
+ * moves giving an extra turn, captures and the remaining moves. Moves are tried and taken back on a single
+ * board state with `makeMove` and `unmakeMove`. The board state, move lists and the transposition table
+ * are allocated up front, so searching does not allocate.</p>
+ *
+ * <p>The transposition table is keyed by the canonical hash of positions, since scores and moves are
+ * relative to the side to move. A position and its mirror image therefore share one entry.</p>
+ *
+ * <p>A search instance is not thread-safe; every thread needs its own. Several instances may share a
+ * transposition table, which is how `ParallelSearch` spreads a search over several threads.</p>
+ */
+public class AlphaBetaSearch {
+    /**
+     * The score of a won game, before adding the final large pit difference.
+     */
+    public static final int WIN_SCORE = 10_000;
+
+    private static final int INFINITY = 1_000_000;
+
+    private final TranspositionTable table; // Caches results across iterations and searches.
+    private BoardState position = BoardState.create(); // The position being searched.
+    // Ordered moves per ply.
+    private final int[][] moves = new int[SearchLimits.MAX_DEPTH + 1][GameConfig.MAX_PITS_PER_PLAYER];
+
+    private long nodes; // Nodes visited by the current search.
+    private long maxNodes; // Node budget of the current search, or Long.MAX_VALUE.
+    private long deadline; // Time budget of the current search as a System.nanoTime value.
+    private boolean aborted; // Set when a limit is reached.
+    private int rootBestMove; // Best root move of the current iteration.
+    private boolean reachedHorizon; // Set when the current iteration scored a position heuristically.
+    private volatile boolean stopRequested; // Set by another thread to stop the search.
+    private EndgameTablebase tablebase; // Scores positions with few seeds exactly, or null.
+    private Evaluator evaluator = Evaluator.DEFAULT; // Scores positions at the horizon.
+
+    /**
+     * Constructs an `AlphaBetaSearch` with a transposition table of 2^20 entries.
+     */
+    public AlphaBetaSearch() {
+        this(20);
+    }
+    /**
+     * Constructs an `AlphaBetaSearch` with a transposition table of `2^tableSizeLog2` entries.
+     *
+     * @param tableSizeLog2 The base-2 logarithm of the number of transposition table entries.
+     */
+    public AlphaBetaSearch(int tableSizeLog2) {
+        this(new TranspositionTable(tableSizeLog2));
+    }
+    /**
+     * Constructs an `AlphaBetaSearch` using the given transposition table, which may be shared with
+     * searches running on other threads.
+     *
+     * @param table The transposition table to use.
+     */
+    public AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+    }
+    /**
+     * Searches the given position within the given limits.
+     *
+     * @param root   The position to search, which must not be over. It is not modified.
+     * @param limits The limits of the search.
+     * @return The best move of the deepest completed iteration, with statistics about the search.
+     */
+    public SearchResult search(BoardState root, SearchLimits limits) {
+        if (root.isGameOver()) {
+            throw new IllegalArgumentException("The game is already over");
+        }
+
+        stopRequested = false;
+        table.newSearch();
+        return iterate(root, limits, 0, System.nanoTime());
+    }
+    /**
+     * Runs the iterative deepening loop without starting a new transposition table generation, so that
+     * several searches sharing the table can take part in the same search.
+     *
+     * @param root        The position to search.
+     * @param limits      The limits of the search.
+     * @param depthOffset The number of plies added to every iteration, used to spread parallel searches
+     *                    over different depths.
+     * @param startTime   The `System.nanoTime` value at which the search started.
+     * @return The best move of the deepest completed iteration, with statistics about the search.
+     */
+    SearchResult iterate(BoardState root, SearchLimits limits, int depthOffset, long startTime) {
+        nodes = 0;
+        aborted = false;
+        maxNodes = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+        deadline = limits.getMillis() > 0 ? startTime + limits.getMillis() * 1_000_000 : Long.MAX_VALUE;
+        if (position.getConfig() != root.getConfig()) {
+            position = BoardState.create(root.getConfig());
+        }
+        position.copyFrom(root);
+
+        int bestMove = firstLegalMove(root);
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = 1 + depthOffset; depth <= limits.getDepth(); depth++) {
+            reachedHorizon = false;
+            int score = negamax(0, depth, -INFINITY, INFINITY);
+            if (aborted) {
+                break;
+            }
+
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+
+            // Every line ended with a finished game, so a deeper search cannot change the result
+            if (!reachedHorizon) {
+                break;
+            }
+        }
+
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - startTime);
+    }
+    /**
+     * Asks a running search to stop as soon as possible. The search then returns the result of its
+     * deepest completed iteration.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+    /**
+     * Clears a previous stop request before this search takes part in a new parallel search.
+     */
+    void resetStop() {
+        stopRequested = false;
+    }
+    /**
+     * Uses an endgame tablebase to score positions with few seeds left on the board exactly instead of
+     * searching them.
+     *
+     * @param tablebase The tablebase to query, or `null` to search every position.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+    /**
+     * Scores positions at the horizon with the given evaluator. Finished games are still scored by their
+     * final large pits. Cached results of another evaluator should be removed with `clear`.
+     *
+     * @param evaluator The evaluator to use, or `null` to score by the large pits alone.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator == null ? Evaluator.DEFAULT : evaluator;
+    }
+    /**
+     * Removes all cached results, for example before analysing an unrelated game.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        BoardState state = position;
+        if ((++nodes & 1023) == 0) {
+            checkLimits();
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (state.isGameOver()) {
+            return finalScore(evaluate(state));
+        }
+        if (ply > 0 && tablebase != null && tablebase.covers(state)) {
+            return finalScore(evaluate(state) + tablebase.value(state));
+        }
+        if (depth == 0) {
+            reachedHorizon = true;
+            return heuristicScore(state);
+        }
+
+        int originalAlpha = alpha;
+        long hash = Zobrist.canonicalHash(state);
+        long entry = table.probe(hash);
+        int tableMove = -1;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+
+            // The root always searches its moves so that a best move is known
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                switch (TranspositionTable.bound(entry)) {
+                    case TranspositionTable.EXACT -> {
+                        reachedHorizon = true;
+                        return score;
+                    }
+                    case TranspositionTable.LOWER_BOUND -> alpha = Math.max(alpha, score);
+                    case TranspositionTable.UPPER_BOUND -> beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    // The cached score may rely on heuristic scores from an earlier iteration
+                    reachedHorizon = true;
+                    return score;
+                }
+            }
+        }
+
+        int bestScore = -INFINITY;
+        int bestMove = -1;
+        int moveCount = orderMoves(state, ply, tableMove);
+        int side = state.getActiveSide();
+
+        for (int index = 0; index < moveCount; index++) {
+            int move = moves[ply][index];
+            long record = state.makeMove(move);
+
+            int score = state.getActiveSide() == side
+                    ? negamax(ply + 1, depth - 1, alpha, beta)
+                    : -negamax(ply + 1, depth - 1, -beta, -alpha);
+            state.unmakeMove(record);
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        table.store(hash, depth, bound, bestScore, bestMove);
+        return bestScore;
+    }
+    /**
+     * Fills the move list of the given ply, ordered by the table move, extra turns, captures and pit.
+     *
+     * @return The number of legal moves.
+     */
+    private int orderMoves(BoardState state, int ply, int tableMove) {
+        int[] plyMoves = moves[ply];
+        int legal = state.getLegalMoves();
+        int count = 0;
+
+        if (tableMove >= 0 && (legal & 1 << tableMove) != 0) {
+            plyMoves[count++] = tableMove;
+            legal &= ~(1 << tableMove);
+        }
+        int extraTurns = state.getExtraTurnMoves() & legal;
+        int captures = state.getCaptureMoves() & legal & ~extraTurns;
+        count = addMoves(plyMoves, count, extraTurns);
+        count = addMoves(plyMoves, count, captures);
+        return addMoves(plyMoves, count, legal & ~extraTurns & ~captures);
+    }
+    /**
+     * Appends the moves of a mask to a move list in pit order.
+     *
+     * @return The new number of moves in the list.
+     */
+    private static int addMoves(int[] plyMoves, int count, int moves) {
+        for (; moves != 0; moves &= moves - 1) {
+            plyMoves[count++] = Integer.numberOfTrailingZeros(moves);
+        }
+        return count;
+    }
+    private void checkLimits() {
+        if (stopRequested || nodes >= maxNodes || System.nanoTime() >= deadline) {
+            aborted = true;
+        }
+    }
+    /**
+     * Scores a position by the difference between both large pits, for the side to move.
+     */
+    static int evaluate(BoardState state) {
+        int side = state.getActiveSide();
+        return state.getSeeds(state.largePitIndex(side))
+                - state.getSeeds(state.largePitIndex(BoardState.opponentOf(side)));
+    }
+    /**
+     * Scores a position at the horizon with the evaluator, within the scores of won and lost games.
+     */
+    private int heuristicScore(BoardState state) {
+        int score = evaluator.evaluate(state);
+        return Math.max(1 - WIN_SCORE, Math.min(WIN_SCORE - 1, score));
+    }
+    /**
+     * Scores a game whose final large pit difference, for the side to move, is known.
+     */
+    static int finalScore(int difference) {
+        if (difference > 0) {
+            return WIN_SCORE + difference;
+        }
+        return difference < 0 ? -WIN_SCORE + difference : 0;
+    }
+    private static int firstLegalMove(BoardState state) {
+        int legal = state.getLegalMoves();
+        return legal == 0 ? -1 : Integer.numberOfTrailingZeros(legal);
+    }
+}
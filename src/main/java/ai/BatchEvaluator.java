@@ -0,0 +1,170 @@
+package ai;
+
+import core.BoardState;
+import core.PositionSnapshot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * The `BatchEvaluator` class finds the best move and score of many positions at once, for analysis jobs
+ * which send large batches. Positions are spread over a fixed pool of threads, one position per task, so
+ * fast positions do not wait for slow ones. Every thread keeps its own `AlphaBetaSearch`, with its
+ * transposition table and move buffers, and its own board state for as long as the evaluator is open,
+ * so positions of a batch reuse the work of earlier positions searched on the same thread.
+ *
+ * <p>Results are handed to the caller on the calling thread, either in the order in which the positions
+ * were submitted or in the order in which their searches complete. Positions whose game is over get a
+ * best move of -1 and their final score.</p>
+ */
+public class BatchEvaluator implements AutoCloseable {
+    /**
+     * The order in which results are handed back.
+     */
+    public enum Order {
+        /**
+         * Results follow the order of the submitted positions.
+         */
+        SUBMISSION,
+        /**
+         * Results are handed back as soon as their search completes.
+         */
+        COMPLETION
+    }
+
+    private final ExecutorService workers; // Runs the searches.
+    private final ThreadLocal<AlphaBetaSearch> searches; // The search of every worker thread.
+    private final ThreadLocal<BoardState> states; // The board state of every worker thread.
+
+    /**
+     * Constructs a `BatchEvaluator`.
+     *
+     * @param threads       The number of threads searching positions.
+     * @param tableSizeLog2 The base-2 logarithm of the number of transposition table entries of every
+     *                      thread.
+     */
+    public BatchEvaluator(int threads, int tableSizeLog2) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.searches = ThreadLocal.withInitial(() -> new AlphaBetaSearch(tableSizeLog2));
+        this.states = new ThreadLocal<>();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-evaluator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * Evaluates every position to the given depth.
+     *
+     * @param positions The positions to evaluate.
+     * @param depth     The search depth in plies.
+     * @return The evaluations, in the order of the positions.
+     */
+    public List<PositionEvaluation> evaluateAll(List<PositionSnapshot> positions, int depth) {
+        List<PositionEvaluation> evaluations = new ArrayList<>(positions.size());
+        evaluateAll(positions, depth, Order.SUBMISSION, evaluations::add);
+        return evaluations;
+    }
+    /**
+     * Evaluates every position to the given depth, streaming the results to a consumer which is called on
+     * the calling thread.
+     *
+     * @param positions The positions to evaluate.
+     * @param depth     The search depth in plies.
+     * @param order     The order in which results are handed to the consumer.
+     * @param consumer  Receives every evaluation once.
+     */
+    public void evaluateAll(List<PositionSnapshot> positions, int depth, Order order,
+                            Consumer<PositionEvaluation> consumer) {
+        SearchLimits limits = SearchLimits.depth(depth);
+        CompletionService<PositionEvaluation> completionService = new ExecutorCompletionService<>(workers);
+        List<Future<PositionEvaluation>> futures = new ArrayList<>(positions.size());
+        for (int index = 0; index < positions.size(); index++) {
+            int positionIndex = index;
+            PositionSnapshot position = positions.get(index);
+            futures.add(completionService.submit(() -> evaluate(positionIndex, position, limits)));
+        }
+
+        try {
+            for (int index = 0; index < futures.size(); index++) {
+                Future<PositionEvaluation> future = order == Order.SUBMISSION
+                        ? futures.get(index)
+                        : completionService.take();
+                consumer.accept(future.get());
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating positions", exception);
+        }
+        catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A position could not be evaluated", exception.getCause());
+        }
+        finally {
+            for (Future<PositionEvaluation> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private PositionEvaluation evaluate(int index, PositionSnapshot position, SearchLimits limits) {
+        BoardState state = position.copyTo(states.get());
+        states.set(state);
+
+        SearchResult result = state.isGameOver()
+                ? new SearchResult(-1, AlphaBetaSearch.finalScore(AlphaBetaSearch.evaluate(state)), 0, 0, 0)
+                : searches.get().search(state, limits);
+        return new PositionEvaluation(index, position, result);
+    }
+    /**
+     * Evaluates positions read from the standard input, one compact position per line, and prints the
+     * results as soon as they complete.
+     *
+     * @param args The search depth and the number of threads.
+     * @throws IOException If the standard input cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        List<PositionSnapshot> positions = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                positions.add(PositionSnapshot.parse(line));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        try (BatchEvaluator evaluator = new BatchEvaluator(threads, 20)) {
+            evaluator.evaluateAll(positions, depth, Order.COMPLETION, evaluation ->
+                    System.out.printf("%d %s pit %d, score %d\n", evaluation.getIndex(), evaluation.getPosition(),
+                            evaluation.getBestMove() + 1, evaluation.getScore()));
+        }
+        System.out.printf("Evaluated %d positions to depth %d in %d ms\n", positions.size(), depth,
+                (System.nanoTime() - startTime) / 1_000_000);
+    }
+}
@@ -0,0 +1,70 @@
+package ai;
+
+import core.ConsoleGameObserver;
+import core.ConsoleInputReader;
+import core.Game;
+import core.GameObserver;
+import core.MoveSource;
+import model.Player;
+import model.RegularPit;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The `ComputerMoveSource` class is the move source of a player of a console-driven `Game` played by a
+ * `ComputerPlayer`, which chooses every pit by searching the current position. The computer reads no
+ * input, so its name is given to the game along with the source.
+ */
+public class ComputerMoveSource implements MoveSource {
+    /**
+     * The name of the computer in games started by `main`.
+     */
+    public static final String COMPUTER_NAME = "Computer";
+
+    private final ComputerPlayer computerPlayer; // Chooses the moves.
+
+    /**
+     * Constructs a `ComputerMoveSource`.
+     *
+     * @param computerPlayer Chooses the moves. It is not closed with this source.
+     */
+    public ComputerMoveSource(ComputerPlayer computerPlayer) {
+        this.computerPlayer = computerPlayer;
+    }
+    /**
+     * Refuses to read input, as the computer is never asked for any.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public String readLine(ConsoleInputReader.InputType inputType) {
+        throw new UnsupportedOperationException("The computer reads no input");
+    }
+    @Override
+    public RegularPit choosePit(Game game, GameObserver observer) {
+        Player player = game.getActivePlayer();
+        SearchResult result = computerPlayer.chooseMove(game.getBoard(), player);
+        observer.onComputerMove(player, result.getBestMove() + 1, result.toString());
+        return player.getRegularPit(result.getBestMove());
+    }
+
+    /**
+     * Starts a new Mancala game between a human player on the console and the computer.
+     *
+     * @param args The command-line arguments: an optional time budget per move in milliseconds, an optional
+     *             number of search threads and an optional opening book file.
+     * @throws IOException If the opening book cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        try (ComputerPlayer computerPlayer = new ComputerPlayer(SearchLimits.millis(millis), threads)) {
+            if (args.length > 2) {
+                computerPlayer.setOpeningBook(OpeningBook.open(Paths.get(args[2])));
+            }
+            Game.create(new ConsoleInputReader(), COMPUTER_NAME, new ComputerMoveSource(computerPlayer),
+                    new ConsoleGameObserver()).start();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ai;
+
+import core.Board;
+import core.BoardState;
+import endgame.EndgameTablebase;
+import model.Player;
+
+/**
+ * The `ComputerPlayer` class chooses moves for a player of a `Board` with a `ParallelSearch`. When an
+ * `OpeningBook` is set, positions found in the book are played without searching. A computer player owns
+ * the transposition table and the helper threads of its search until it is closed.
+ */
+public class ComputerPlayer implements AutoCloseable {
+    /**
+     * The base-2 logarithm of the number of transposition table entries used when none is given.
+     */
+    public static final int DEFAULT_TABLE_SIZE_LOG2 = 20;
+
+    private final ParallelSearch search; // Searches the positions handed to this player.
+    private final SearchLimits limits; // Bounds the search of every move.
+    private BoardState state = BoardState.create(); // Reused to export the board before searching.
+    private OpeningBook openingBook; // Consulted before searching, or null.
+
+    /**
+     * Constructs a `ComputerPlayer` which searches every move within the given limits.
+     *
+     * @param limits The limits of the search for every move.
+     */
+    public ComputerPlayer(SearchLimits limits) {
+        this(limits, 1);
+    }
+    /**
+     * Constructs a `ComputerPlayer` which searches every move within the given limits on several threads.
+     *
+     * @param limits  The limits of the search for every move.
+     * @param threads The number of threads to search with.
+     */
+    public ComputerPlayer(SearchLimits limits, int threads) {
+        this(limits, threads, DEFAULT_TABLE_SIZE_LOG2);
+    }
+    /**
+     * Constructs a `ComputerPlayer` which searches every move within the given limits on several threads,
+     * sharing a transposition table of `2^tableSizeLog2` entries.
+     *
+     * @param limits        The limits of the search for every move.
+     * @param threads       The number of threads to search with.
+     * @param tableSizeLog2 The base-2 logarithm of the number of transposition table entries.
+     */
+    public ComputerPlayer(SearchLimits limits, int threads, int tableSizeLog2) {
+        this.search = new ParallelSearch(threads, tableSizeLog2);
+        this.limits = limits;
+    }
+    /**
+     * Uses an endgame tablebase to play positions with few seeds left perfectly.
+     *
+     * @param tablebase The tablebase to query, or `null` to search every position.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        search.setTablebase(tablebase);
+    }
+    /**
+     * Scores the positions at the horizon of every search with the given evaluator.
+     *
+     * @param evaluator The evaluator to use, or `null` to score by the large pits alone.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        search.setEvaluator(evaluator);
+    }
+    /**
+     * Uses an opening book to play the first moves of a game without searching.
+     *
+     * @param openingBook The book to consult before every search, or `null` to search every position.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+    /**
+     * Chooses the move of the given player.
+     *
+     * @param board  The board of the game, which must not be over.
+     * @param player The player who is about to move.
+     * @return The search result, whose best move is the zero-based regular pit of the player.
+     */
+    public SearchResult chooseMove(Board board, Player player) {
+        if (state.getConfig() != board.getConfig()) {
+            state = BoardState.create(board.getConfig());
+        }
+        board.exportTo(state);
+        state.setActiveSide(player.equals(board.getFirstPlayer()) ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE);
+
+        SearchResult bookResult = openingBook == null ? null : openingBook.lookup(state);
+        return bookResult != null ? bookResult : search.search(state, limits);
+    }
+    /**
+     * Stops the helper threads of the search.
+     */
+    @Override
+    public void close() {
+        search.close();
+    }
+}
@@ -0,0 +1,247 @@
+package ai;
+
+import core.BoardState;
+import core.MoveMasks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * The `Evaluator` class scores positions which are not over for the side to move, as a weighted sum of
+ * features. Every feature is the difference between the side to move and its opponent:
+ *
+ * <ul>
+ *     <li>`store`: the seeds in both large pits;</li>
+ *     <li>`seeds`: the seeds left in both sides' regular pits;</li>
+ *     <li>`captures`: the seeds each side threatens to capture, counting the opposite pit and the
+ *     capturing seed of every capturing move;</li>
+ *     <li>`extraTurns`: the moves giving each side an extra turn;</li>
+ *     <li>`mobility`: the legal moves of each side.</li>
+ * </ul>
+ *
+ * <p>Weights are integers, so scores are exact and search results do not depend on rounding. They are
+ * kept in properties files with one key per feature, which `EvaluatorTuner` writes. `DEFAULT` only
+ * counts the large pits, which is how `AlphaBetaSearch` scores positions without an evaluator.</p>
+ *
+ * <p>Features with a weight of zero are skipped. `evaluateAll` scores a whole `PackedPositions` batch,
+ * whose feature values were computed once when the positions were packed, one feature at a time with a
+ * multiply-add loop over the packed values.</p>
+ */
+public final class Evaluator {
+    /**
+     * The feature index of the large pit difference.
+     */
+    public static final int STORE = 0;
+    /**
+     * The feature index of the regular pit seed difference.
+     */
+    public static final int SEEDS = 1;
+    /**
+     * The feature index of the difference between the seeds under capture threat.
+     */
+    public static final int CAPTURES = 2;
+    /**
+     * The feature index of the difference between the moves giving an extra turn.
+     */
+    public static final int EXTRA_TURNS = 3;
+    /**
+     * The feature index of the difference between the legal moves.
+     */
+    public static final int MOBILITY = 4;
+    /**
+     * The number of features.
+     */
+    public static final int FEATURES = 5;
+    /**
+     * Scores positions by the difference between both large pits alone.
+     */
+    public static final Evaluator DEFAULT = new Evaluator(1, 0, 0, 0, 0);
+
+    private static final String[] KEYS = {"store", "seeds", "captures", "extraTurns", "mobility"};
+
+    private final int[] weights; // The weight of every feature, indexed by the feature constants.
+
+    /**
+     * Constructs an `Evaluator` with the given weights.
+     *
+     * @param store      The weight of every seed of large pit difference.
+     * @param seeds      The weight of every seed of regular pit difference.
+     * @param captures   The weight of every seed of capture threat difference.
+     * @param extraTurns The weight of every move of extra turn difference.
+     * @param mobility   The weight of every move of legal move difference.
+     */
+    public Evaluator(int store, int seeds, int captures, int extraTurns, int mobility) {
+        this(new int[]{store, seeds, captures, extraTurns, mobility});
+    }
+    /**
+     * Private constructor taking over the array of weights.
+     *
+     * @param weights The weight of every feature.
+     */
+    private Evaluator(int[] weights) {
+        this.weights = weights;
+    }
+    /**
+     * Reads the weights of an evaluator from a properties file. Features missing from the file keep the
+     * weights of `DEFAULT`.
+     *
+     * @param path The file to read.
+     * @return The evaluator.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If a weight is not an integer.
+     */
+    public static Evaluator load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        int[] weights = DEFAULT.weights.clone();
+        for (int feature = 0; feature < FEATURES; feature++) {
+            String value = properties.getProperty(KEYS[feature]);
+            if (value != null) {
+                try {
+                    weights[feature] = Integer.parseInt(value.trim());
+                }
+                catch (NumberFormatException exception) {
+                    throw new IllegalArgumentException("Invalid weight " + KEYS[feature] + "=" + value + " in " + path);
+                }
+            }
+        }
+        return new Evaluator(weights);
+    }
+    /**
+     * Writes the weights of this evaluator to a properties file, which `load` reads back.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int feature = 0; feature < FEATURES; feature++) {
+                writer.write(KEYS[feature] + "=" + weights[feature] + "\n");
+            }
+        }
+    }
+    /**
+     * Scores a position for the side to move.
+     *
+     * @param state The position to score. It is not modified.
+     * @return The score, positive when the side to move is ahead.
+     */
+    public int evaluate(BoardState state) {
+        int score = weights[STORE] * feature(state, STORE);
+        for (int feature = SEEDS; feature < FEATURES; feature++) {
+            if (weights[feature] != 0) {
+                score += weights[feature] * feature(state, feature);
+            }
+        }
+        return score;
+    }
+    /**
+     * Scores every position of a batch for its side to move. The scores are the same as those of
+     * `evaluate`.
+     *
+     * @param positions The positions to score.
+     * @param scores    Receives the score of position `i` at index `i`. It must hold at least
+     *                  `positions.size()` elements.
+     */
+    public void evaluateAll(PackedPositions positions, int[] scores) {
+        int count = positions.size();
+        if (scores.length < count) {
+            throw new IllegalArgumentException("Expected room for " + count + " scores, got " + scores.length);
+        }
+        int[] features = positions.features();
+        int capacity = positions.getCapacity();
+        int storeWeight = weights[STORE];
+        for (int position = 0; position < count; position++) {
+            scores[position] = storeWeight * features[position];
+        }
+        for (int feature = SEEDS; feature < FEATURES; feature++) {
+            int weight = weights[feature];
+            if (weight != 0) {
+                int offset = feature * capacity;
+                for (int position = 0; position < count; position++) {
+                    scores[position] += weight * features[offset + position];
+                }
+            }
+        }
+    }
+    /**
+     * Gets the weight of a feature.
+     *
+     * @param feature The feature index, such as `STORE`.
+     * @return The weight.
+     */
+    public int getWeight(int feature) {
+        return weights[feature];
+    }
+    /**
+     * Creates an evaluator with the same weights as this one, except for one feature.
+     *
+     * @param feature The feature index, such as `STORE`.
+     * @param weight  The new weight of the feature.
+     * @return The new evaluator.
+     */
+    public Evaluator withWeight(int feature, int weight) {
+        int[] changed = weights.clone();
+        changed[feature] = weight;
+        return new Evaluator(changed);
+    }
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Evaluator evaluator && Arrays.equals(weights, evaluator.weights);
+    }
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(weights);
+    }
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Evaluator[");
+        for (int feature = 0; feature < FEATURES; feature++) {
+            builder.append(feature == 0 ? "" : ", ").append(KEYS[feature]).append('=').append(weights[feature]);
+        }
+        return builder.append(']').toString();
+    }
+    /**
+     * Computes the value of a feature of a position: the difference between the side to move and its
+     * opponent.
+     *
+     * @param state   The position.
+     * @param feature The feature index, such as `STORE`.
+     * @return The value of the feature.
+     */
+    static int feature(BoardState state, int feature) {
+        int side = state.getActiveSide();
+        int opponent = BoardState.opponentOf(side);
+        return switch (feature) {
+            case STORE -> state.getSeeds(state.largePitIndex(side)) - state.getSeeds(state.largePitIndex(opponent));
+            case SEEDS -> state.getRegularSeeds(side) - state.getRegularSeeds(opponent);
+            case CAPTURES -> captureThreats(state, side) - captureThreats(state, opponent);
+            case EXTRA_TURNS -> Integer.bitCount(state.getExtraTurnMoves(side))
+                    - Integer.bitCount(state.getExtraTurnMoves(opponent));
+            case MOBILITY -> Integer.bitCount(state.getLegalMoves(side)) - Integer.bitCount(state.getLegalMoves(opponent));
+            default -> throw new IllegalArgumentException("Unknown feature " + feature);
+        };
+    }
+    /**
+     * Counts the seeds the given side threatens to capture: the opposite pit and the capturing seed of
+     * every move which would capture if the side were to move.
+     */
+    private static int captureThreats(BoardState state, int side) {
+        int pitsPerPlayer = state.getPitsPerPlayer();
+        int threats = 0;
+        for (int moves = state.getCaptureMoves(side); moves != 0; moves &= moves - 1) {
+            int pit = Integer.numberOfTrailingZeros(moves);
+            int end = MoveMasks.sowingEnd(pit, state.getSeeds(state.regularPitIndex(side, pit)), pitsPerPlayer);
+            threats += state.getSeeds(state.oppositePitIndex(state.regularPitIndex(side, end))) + 1;
+        }
+        return threats;
+    }
+}
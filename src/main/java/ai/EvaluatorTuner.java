@@ -0,0 +1,279 @@
+package ai;
+
+import archive.GameRecord;
+import archive.GameRecordReader;
+import core.BoardState;
+import core.GameResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The `EvaluatorTuner` class fits the weights of an `Evaluator` to archived games, in the manner of
+ * Texel tuning. Every position of every finished game is labelled with the outcome of the game for its
+ * side to move: 1 for a win, 0.5 for a draw and 0 for a loss. The error of a set of weights is the mean
+ * squared difference between those outcomes and `1 / (1 + exp(-scale * score))`, and the weights are
+ * improved one feature at a time for as long as the error keeps dropping.
+ *
+ * <p>Positions are kept in `PackedPositions` batches of a few thousand positions, and every error is
+ * computed by scoring the batches with `Evaluator.evaluateAll` on a fixed pool of threads. A tuner is not
+ * thread-safe.</p>
+ */
+public class EvaluatorTuner implements AutoCloseable {
+    /**
+     * The number of positions of every batch.
+     */
+    public static final int BATCH_SIZE = 4096;
+
+    private static final int INITIAL_STEP = 16;
+
+    private final ExecutorService workers; // Scores the batches.
+    private final List<Batch> batches = new ArrayList<>(); // Every batch, the last one being filled.
+    private int positionCount; // Positions in all batches.
+
+    /**
+     * Constructs an `EvaluatorTuner` without positions.
+     *
+     * @param threads The number of threads scoring positions.
+     */
+    public EvaluatorTuner(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "evaluator-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * Adds the positions of every finished game of an archive.
+     *
+     * @param path The archive written by `GameRecordWriter`.
+     * @return The number of positions added.
+     * @throws IOException If the archive cannot be read.
+     */
+    public int addGames(Path path) throws IOException {
+        int added = 0;
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            while (reader.hasNext()) {
+                added += addGame(reader.next());
+            }
+        }
+        return added;
+    }
+    /**
+     * Adds every position of a finished game which is not over, labelled with the result of the game.
+     * Unfinished games are ignored.
+     *
+     * @param record The game to add.
+     * @return The number of positions added.
+     */
+    public int addGame(GameRecord record) {
+        GameResult result = record.getResult();
+        if (result == null) {
+            return 0;
+        }
+        BoardState state = BoardState.create(record.getConfig());
+        for (int index = 0; index < record.getMoveCount(); index++) {
+            if (batches.isEmpty() || batches.get(batches.size() - 1).positions.isFull()) {
+                batches.add(new Batch());
+            }
+            batches.get(batches.size() - 1).add(state, result);
+            state.move(record.getMove(index));
+        }
+        positionCount += record.getMoveCount();
+        return record.getMoveCount();
+    }
+    /**
+     * Gets the number of positions added so far.
+     *
+     * @return The number of positions.
+     */
+    public int getPositionCount() {
+        return positionCount;
+    }
+    /**
+     * Computes the mean squared error of an evaluator over every position.
+     *
+     * @param evaluator The evaluator to check.
+     * @param scale     The factor turning scores into the argument of the logistic function.
+     * @return The mean squared error.
+     * @throws IllegalStateException If no positions have been added.
+     */
+    public double error(Evaluator evaluator, double scale) {
+        if (positionCount == 0) {
+            throw new IllegalStateException("No positions have been added");
+        }
+        List<Future<Double>> errors = new ArrayList<>(batches.size());
+        try {
+            for (Batch batch : batches) {
+                errors.add(workers.submit(() -> batch.squaredError(evaluator, scale)));
+            }
+            double sum = 0;
+            for (Future<Double> error : errors) {
+                sum += error.get();
+            }
+            return sum / positionCount;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scoring positions", exception);
+        }
+        catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A batch could not be scored", exception.getCause());
+        }
+        finally {
+            for (Future<Double> error : errors) {
+                error.cancel(true);
+            }
+        }
+    }
+    /**
+     * Finds the scale which gives the given evaluator its smallest error, by trying powers of ten first
+     * and then moving the best one up or down by a shrinking factor.
+     *
+     * @param evaluator The evaluator whose scores are scaled.
+     * @return The scale, within a tenth of a percent.
+     */
+    public double fitScale(Evaluator evaluator) {
+        double scale = 1;
+        double error = error(evaluator, scale);
+        for (double candidate = 1e-6; candidate < 1; candidate *= 10) {
+            double candidateError = error(evaluator, candidate);
+            if (candidateError < error) {
+                scale = candidate;
+                error = candidateError;
+            }
+        }
+        for (double factor = 4; factor > 1.001; factor = Math.sqrt(factor)) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (double candidate : new double[]{scale * factor, scale / factor}) {
+                    double candidateError = error(evaluator, candidate);
+                    if (candidateError < error) {
+                        scale = candidate;
+                        error = candidateError;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return scale;
+    }
+    /**
+     * Improves the weights of an evaluator with a fixed scale. Every pass tries to move each weight up
+     * and down by the current step and keeps the first change lowering the error; the step is halved after
+     * a pass without improvement, until it drops below one.
+     *
+     * @param start     The evaluator to start from.
+     * @param scale     The factor turning scores into the argument of the logistic function, usually from
+     *                  `fitScale`.
+     * @param maxPasses The largest number of passes over the features.
+     * @return The evaluator with the smallest error found.
+     */
+    public Evaluator tune(Evaluator start, double scale, int maxPasses) {
+        Evaluator best = start;
+        double bestError = error(best, scale);
+        int step = INITIAL_STEP;
+        for (int pass = 0; pass < maxPasses && step > 0; pass++) {
+            boolean improved = false;
+            for (int feature = 0; feature < Evaluator.FEATURES; feature++) {
+                for (int direction = 1; direction >= -1; direction -= 2) {
+                    Evaluator candidate = best.withWeight(feature, best.getWeight(feature) + direction * step);
+                    double candidateError = error(candidate, scale);
+                    if (candidateError < bestError) {
+                        best = candidate;
+                        bestError = candidateError;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+            if (!improved) {
+                step /= 2;
+            }
+        }
+        return best;
+    }
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * A batch of positions of one variant with the outcome of their games and room for their scores.
+     */
+    private static final class Batch {
+        private final PackedPositions positions; // The positions, from the point of view of the side to move.
+        private final byte[] outcomes; // Half points won by the side to move of every position.
+        private final int[] scores; // The scores of the last evaluation.
+
+        private Batch() {
+            this.positions = new PackedPositions(BATCH_SIZE);
+            this.outcomes = new byte[BATCH_SIZE];
+            this.scores = new int[BATCH_SIZE];
+        }
+        private void add(BoardState state, GameResult result) {
+            int halfPoints = 1;
+            if (result != GameResult.DRAW) {
+                boolean firstWon = result == GameResult.FIRST_PLAYER_WON;
+                halfPoints = firstWon == (state.getActiveSide() == BoardState.FIRST_SIDE) ? 2 : 0;
+            }
+            outcomes[positions.add(state)] = (byte) halfPoints;
+        }
+        private double squaredError(Evaluator evaluator, double scale) {
+            evaluator.evaluateAll(positions, scores);
+            double sum = 0;
+            for (int position = 0; position < positions.size(); position++) {
+                double difference = 0.5 * outcomes[position] - 1 / (1 + Math.exp(-scale * scores[position]));
+                sum += difference * difference;
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Tunes the weights of the evaluator to an archive of games and writes them to a properties file.
+     *
+     * @param args The archive, the weights file to write, the number of threads and the largest number of
+     *             passes.
+     * @throws IOException If the archive cannot be read or the weights cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path archive = Paths.get(args.length > 0 ? args[0] : "games.bin");
+        Path output = Paths.get(args.length > 1 ? args[1] : "evaluator.properties");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int passes = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        long startTime = System.nanoTime();
+        try (EvaluatorTuner tuner = new EvaluatorTuner(threads)) {
+            tuner.addGames(archive);
+            // A large pit weight of 100 leaves room for features worth a fraction of a seed
+            Evaluator start = new Evaluator(100, 0, 0, 0, 0);
+            double scale = tuner.fitScale(start);
+            System.out.printf("Loaded %d positions, scale %.6f, error %.6f\n", tuner.getPositionCount(), scale,
+                    tuner.error(start, scale));
+
+            Evaluator tuned = tuner.tune(start, scale, passes);
+            tuned.save(output);
+            System.out.printf("Tuned %s to error %.6f in %d ms, written to %s\n", tuned,
+                    tuner.error(tuned, scale), (System.nanoTime() - startTime) / 1_000_000, output);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ai;
+
+/**
+ * The `MonteCarloResult` class holds the outcome of a Monte Carlo tree search: the most visited move, its
+ * average result and the work done to find it.
+ */
+public class MonteCarloResult {
+    private final int bestMove; // The zero-based pit of the side to move.
+    private final double winRate; // The average result of the best move, counting draws as half a win.
+    private final long playouts; // The number of playouts on all threads.
+    private final long treeNodes; // The number of tree nodes on all threads.
+    private final long elapsedNanos; // The time spent searching.
+
+    /**
+     * Constructs a `MonteCarloResult`.
+     *
+     * @param bestMove     The most visited move, as a zero-based pit of the side to move.
+     * @param winRate      The average result of the best move for the side to move, between 0 and 1.
+     * @param playouts     The number of playouts on all threads.
+     * @param treeNodes    The number of tree nodes on all threads.
+     * @param elapsedNanos The time spent searching in nanoseconds.
+     */
+    public MonteCarloResult(int bestMove, double winRate, long playouts, long treeNodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.winRate = winRate;
+        this.playouts = playouts;
+        this.treeNodes = treeNodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+    /**
+     * Gets the most visited move.
+     *
+     * @return The zero-based pit of the side to move.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+    /**
+     * Gets the average result of the best move for the side to move, counting draws as half a win.
+     *
+     * @return The win rate between 0 and 1.
+     */
+    public double getWinRate() {
+        return winRate;
+    }
+    /**
+     * Gets the number of playouts on all threads.
+     *
+     * @return The number of playouts.
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+    /**
+     * Gets the number of tree nodes on all threads.
+     *
+     * @return The number of tree nodes.
+     */
+    public long getTreeNodes() {
+        return treeNodes;
+    }
+    /**
+     * Gets the time spent searching.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    /**
+     * Gets the number of playouts per second.
+     *
+     * @return The search speed.
+     */
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pit %d, win rate %.3f, %d playouts (%.0f playouts/s), %d nodes", bestMove,
+                winRate, playouts, getPlayoutsPerSecond(), treeNodes);
+    }
+}
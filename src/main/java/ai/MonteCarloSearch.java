@@ -0,0 +1,132 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The `MonteCarloSearch` class picks moves with UCT Monte Carlo tree search, an alternative to
+ * `AlphaBetaSearch` for large variants where a full-width search cannot look far ahead. It uses root
+ * parallelization: every thread grows its own `MonteCarloTree` from the same position with its own random
+ * moves, and the visits of the root moves are added up over all trees. The most visited move is played.
+ *
+ * <p>The search runs on the calling thread and on `threads - 1` helper threads, and stops at the time
+ * budget or when the playout budget, split over the threads, is used up.</p>
+ */
+public class MonteCarloSearch implements AutoCloseable {
+    private final MonteCarloTree[] trees; // One per thread; the first runs on the calling thread.
+    private final ExecutorService helpers; // Runs the other trees, or null for a single thread.
+    private final AtomicBoolean stop = new AtomicBoolean(); // Stops the helpers when the main tree is done.
+
+    /**
+     * Constructs a `MonteCarloSearch`.
+     *
+     * @param threads      The total number of threads, including the calling thread.
+     * @param treeCapacity The number of nodes of every thread's tree.
+     * @param seed         The seed of the random moves; every thread derives its own from it.
+     */
+    public MonteCarloSearch(int threads, int treeCapacity, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (treeCapacity <= GameConfig.MAX_PITS_PER_PLAYER) {
+            throw new IllegalArgumentException("The tree must hold more than " + GameConfig.MAX_PITS_PER_PLAYER + " nodes");
+        }
+
+        this.trees = new MonteCarloTree[threads];
+        for (int thread = 0; thread < threads; thread++) {
+            trees[thread] = new MonteCarloTree(treeCapacity, seed + (thread + 1) * 0x9E3779B97F4A7C15L);
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "monte-carlo-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * Searches the given position on all threads.
+     *
+     * @param root   The position to search, which must not be over. It is not modified.
+     * @param limits The limits of the search: a time budget, a total playout budget given as nodes, or
+     *               both. The depth is ignored.
+     * @return The most visited move with statistics about the search.
+     */
+    public MonteCarloResult search(BoardState root, SearchLimits limits) {
+        if (root.isGameOver()) {
+            throw new IllegalArgumentException("The game is already over");
+        }
+        if (limits.getMillis() <= 0 && limits.getNodes() <= 0) {
+            throw new IllegalArgumentException("A time or playout budget is required");
+        }
+
+        long startTime = System.nanoTime();
+        long deadline = limits.getMillis() > 0 ? startTime + limits.getMillis() * 1_000_000 : Long.MAX_VALUE;
+        long playoutsPerTree = limits.getNodes() > 0
+                ? (limits.getNodes() + trees.length - 1) / trees.length
+                : Long.MAX_VALUE;
+        stop.set(false);
+
+        List<Future<Long>> helperPlayouts = new ArrayList<>(trees.length - 1);
+        for (int thread = 1; thread < trees.length; thread++) {
+            MonteCarloTree tree = trees[thread];
+            helperPlayouts.add(helpers.submit(() -> tree.search(root, playoutsPerTree, deadline, stop)));
+        }
+
+        long playouts = trees[0].search(root, playoutsPerTree, deadline, stop);
+        // With a playout budget the helpers finish their own share; with a time budget they stop together
+        for (Future<Long> helperResult : helperPlayouts) {
+            try {
+                playouts += helperResult.get();
+            }
+            catch (InterruptedException exception) {
+                stop.set(true);
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException exception) {
+                throw new IllegalStateException("A search helper failed", exception.getCause());
+            }
+        }
+
+        long[] moveVisits = new long[GameConfig.MAX_PITS_PER_PLAYER];
+        long[] movePoints = new long[GameConfig.MAX_PITS_PER_PLAYER];
+        long treeNodes = 0;
+        for (MonteCarloTree tree : trees) {
+            tree.addRootStatistics(moveVisits, movePoints);
+            treeNodes += tree.size();
+        }
+
+        int bestMove = -1;
+        for (int pit = 0; pit < root.getPitsPerPlayer(); pit++) {
+            if (root.isLegalMove(pit) && (bestMove < 0 || moveVisits[pit] > moveVisits[bestMove])) {
+                bestMove = pit;
+            }
+        }
+        double winRate = moveVisits[bestMove] == 0 ? 0.5 : movePoints[bestMove] / (2.0 * moveVisits[bestMove]);
+        return new MonteCarloResult(bestMove, winRate, playouts, treeNodes, System.nanoTime() - startTime);
+    }
+    /**
+     * Gets the total number of threads used by every search.
+     *
+     * @return The number of threads, including the calling thread.
+     */
+    public int getThreads() {
+        return trees.length;
+    }
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            stop.set(true);
+            helpers.shutdownNow();
+        }
+    }
+}
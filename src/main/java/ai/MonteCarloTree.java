@@ -0,0 +1,207 @@
+package ai;
+
+import core.BoardState;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The `MonteCarloTree` class runs UCT Monte Carlo tree search on a single thread. The tree is stored in
+ * an arena of primitive arrays indexed by node number instead of one object per node, and the children
+ * of a node occupy consecutive slots, so a node only needs the index of its first child and their count.
+ *
+ * <p>Every iteration copies the root into a scratch `BoardState`, walks down the tree by UCT, expands
+ * the node it reaches, finishes the game with random moves and adds the result to every node on the
+ * path. Nothing is allocated while searching. When the arena is full the tree stops growing and the
+ * remaining iterations only refine the statistics of the existing nodes.</p>
+ */
+final class MonteCarloTree {
+    private static final int MAX_PATH = 4096; // The deepest path followed through the tree.
+    private static final double EXPLORATION = Math.sqrt(2); // The UCT exploration constant.
+    private static final int WIN_POINTS = 2; // Points for a won playout; a draw is worth half.
+
+    private final int capacity; // The number of nodes the arena can hold.
+    private final int[] firstChild; // The index of the first child of each node, or -1 if not expanded.
+    private final byte[] childCount; // The number of children of each node.
+    private final byte[] move; // The zero-based pit played to reach each node.
+    private final byte[] mover; // The side which played the move reaching each node.
+    private final int[] visits; // The number of playouts through each node.
+    private final int[] points; // The points scored by the mover of each node in those playouts.
+    private final int[] path = new int[MAX_PATH]; // The nodes visited by the current iteration.
+
+    private BoardState state = BoardState.create(); // The scratch board of the current iteration.
+    private int size; // The number of nodes in use.
+    private long random; // The xorshift state of the random moves.
+
+    /**
+     * Constructs a `MonteCarloTree` with room for the given number of nodes.
+     *
+     * @param capacity The number of nodes of the arena, at least 1 + the number of pits per player.
+     * @param seed     The seed of the random moves.
+     */
+    MonteCarloTree(int capacity, long seed) {
+        this.capacity = capacity;
+        this.firstChild = new int[capacity];
+        this.childCount = new byte[capacity];
+        this.move = new byte[capacity];
+        this.mover = new byte[capacity];
+        this.visits = new int[capacity];
+        this.points = new int[capacity];
+        this.random = seed == 0 ? 1 : seed;
+    }
+    /**
+     * Searches the given position until the playout budget or the deadline is reached, or until `stop`
+     * is set. The tree of a previous search is discarded.
+     *
+     * @param root     The position to search, which must not be over.
+     * @param playouts The playout budget.
+     * @param deadline The deadline as a `System.nanoTime` value.
+     * @param stop     Set by another thread to stop the search.
+     * @return The number of playouts done.
+     */
+    long search(BoardState root, long playouts, long deadline, AtomicBoolean stop) {
+        if (state.getConfig() != root.getConfig()) {
+            state = BoardState.create(root.getConfig());
+        }
+        size = 1;
+        firstChild[0] = -1;
+        visits[0] = 0;
+        points[0] = 0;
+        mover[0] = (byte) BoardState.opponentOf(root.getActiveSide());
+
+        long done = 0;
+        while (done < playouts) {
+            if ((done & 63) == 0 && (System.nanoTime() >= deadline || stop.get())) {
+                break;
+            }
+            iterate(root);
+            done++;
+        }
+        return done;
+    }
+    /**
+     * Gets the number of nodes in the tree.
+     *
+     * @return The number of nodes in use.
+     */
+    int size() {
+        return size;
+    }
+    /**
+     * Adds the visits and points of every root move to the given arrays, indexed by pit.
+     *
+     * @param moveVisits The visits per pit to add to.
+     * @param movePoints The points per pit to add to, 2 per win and 1 per draw.
+     */
+    void addRootStatistics(long[] moveVisits, long[] movePoints) {
+        for (int child = firstChild[0]; child >= 0 && child < firstChild[0] + childCount[0]; child++) {
+            moveVisits[move[child]] += visits[child];
+            movePoints[move[child]] += points[child];
+        }
+    }
+
+    private void iterate(BoardState root) {
+        state.copyFrom(root);
+        int node = 0;
+        int length = 0;
+        path[length++] = node;
+
+        // Selection: follow the best child by UCT while the node is expanded
+        while (firstChild[node] >= 0 && length < MAX_PATH && !state.isGameOver()) {
+            node = select(node);
+            state.move(move[node]);
+            path[length++] = node;
+        }
+
+        // Expansion: grow the tree by the children of a node which was already visited once
+        if (firstChild[node] < 0 && (visits[node] > 0 || node == 0) && length < MAX_PATH
+                && !state.isGameOver() && expand(node)) {
+            node = firstChild[node];
+            state.move(move[node]);
+            path[length++] = node;
+        }
+
+        int winner = playout();
+        for (int index = 0; index < length; index++) {
+            int pathNode = path[index];
+            visits[pathNode]++;
+            if (winner < 0) {
+                points[pathNode] += WIN_POINTS / 2;
+            }
+            else if (winner == mover[pathNode]) {
+                points[pathNode] += WIN_POINTS;
+            }
+        }
+    }
+    private int select(int node) {
+        int first = firstChild[node];
+        int last = first + childCount[node];
+        double logVisits = Math.log(visits[node]);
+        int bestChild = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (int child = first; child < last; child++) {
+            if (visits[child] == 0) {
+                return child;
+            }
+            double value = (double) points[child] / (WIN_POINTS * visits[child])
+                    + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (value > bestValue) {
+                bestValue = value;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+    private boolean expand(int node) {
+        int side = state.getActiveSide();
+        int legal = state.getLegalMoves();
+        int legalMoves = Integer.bitCount(legal);
+        if (size + legalMoves > capacity) {
+            return false;
+        }
+
+        firstChild[node] = size;
+        childCount[node] = (byte) legalMoves;
+        for (; legal != 0; legal &= legal - 1) {
+            firstChild[size] = -1;
+            move[size] = (byte) Integer.numberOfTrailingZeros(legal);
+            mover[size] = (byte) side;
+            visits[size] = 0;
+            points[size] = 0;
+            size++;
+        }
+        return true;
+    }
+    /**
+     * Plays random moves until the game is over.
+     *
+     * @return The winning side, or -1 for a draw.
+     */
+    private int playout() {
+        while (!state.isGameOver()) {
+            int legalMask = state.getLegalMoves();
+
+            // Drop a random number of the lowest legal pits and play the next one
+            for (int skip = nextInt(Integer.bitCount(legalMask)); skip > 0; skip--) {
+                legalMask &= legalMask - 1;
+            }
+            state.move(Integer.numberOfTrailingZeros(legalMask));
+        }
+
+        int firstScore = state.getSeeds(state.largePitIndex(BoardState.FIRST_SIDE));
+        int secondScore = state.getSeeds(state.largePitIndex(BoardState.SECOND_SIDE));
+        if (firstScore == secondScore) {
+            return -1;
+        }
+        return firstScore > secondScore ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE;
+    }
+    /**
+     * Draws a random number between 0 (inclusive) and `bound` (exclusive) with xorshift64*.
+     */
+    private int nextInt(int bound) {
+        random ^= random >>> 12;
+        random ^= random << 25;
+        random ^= random >>> 27;
+        return (int) (((random * 0x2545F4914F6CDD1DL) >>> 33) * bound >>> 31);
+    }
+}
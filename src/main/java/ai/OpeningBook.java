@@ -0,0 +1,130 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `OpeningBook` class answers the first moves of a game from a file written by `OpeningBookBuilder`,
+ * so the expensive searches of the opening are only done once. The file is memory-mapped, so opening a
+ * book does not read it and a lookup only touches the slots it probes.
+ *
+ * <p>The file starts with a header holding the variant, the number of slots and the number of positions.
+ * It is followed by an open-addressing hash table with linear probing, whose slots hold the hash of a
+ * position relative to the side to move, the score of its best move, the best move and the depth it was
+ * searched to. Empty slots have a hash of zero.</p>
+ *
+ * <p>A book is read-only and may be shared by any number of threads.</p>
+ */
+public class OpeningBook {
+    static final int MAGIC = 0x4D4E424B;
+    static final int HEADER_SIZE = 32;
+    static final int SLOT_SIZE = 16;
+    static final int MAX_SLOTS_LOG2 = 26;
+
+    private final MappedByteBuffer data; // The memory-mapped book file.
+    private final GameConfig config; // The variant the book was built for.
+    private final int slotsLog2; // The base-2 logarithm of the number of slots.
+    private final long positions; // The number of positions in the book.
+
+    private OpeningBook(MappedByteBuffer data, GameConfig config, int slotsLog2, long positions) {
+        this.data = data;
+        this.config = config;
+        this.slotsLog2 = slotsLog2;
+        this.positions = positions;
+    }
+    /**
+     * Opens a book file.
+     *
+     * @param path The file written by `OpeningBookBuilder`.
+     * @return The book.
+     * @throws IOException If the file cannot be read or is not an opening book.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (channel.size() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            GameConfig config;
+            try {
+                config = GameConfig.of(data.getInt(4), data.getInt(8));
+            }
+            catch (IllegalArgumentException exception) {
+                throw new IOException("The opening book has an unsupported variant: " + path, exception);
+            }
+            int slotsLog2 = data.getInt(12);
+            if (slotsLog2 < 1 || slotsLog2 > MAX_SLOTS_LOG2
+                    || channel.size() != HEADER_SIZE + ((long) SLOT_SIZE << slotsLog2)) {
+                throw new IOException("The opening book is truncated: " + path);
+            }
+            return new OpeningBook(data, config, slotsLog2, data.getLong(16));
+        }
+    }
+    /**
+     * Looks up the best move of a position.
+     *
+     * @param state The position, which may be of any variant.
+     * @return The stored result, with no nodes and no elapsed time, or `null` if the position is not in
+     *         the book.
+     */
+    public SearchResult lookup(BoardState state) {
+        if (state.getConfig() != config) {
+            return null;
+        }
+
+        long key = key(state);
+        int mask = (1 << slotsLog2) - 1;
+        int slot = slot(key, slotsLog2);
+        for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+            int offset = HEADER_SIZE + slot * SLOT_SIZE;
+            long slotKey = data.getLong(offset);
+            if (slotKey == 0) {
+                return null;
+            }
+            if (slotKey == key) {
+                return new SearchResult(data.get(offset + 12), data.getInt(offset + 8), data.get(offset + 13), 0, 0);
+            }
+        }
+        return null;
+    }
+    /**
+     * Gets the variant the book was built for.
+     *
+     * @return The game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+    /**
+     * Gets the number of positions in the book.
+     *
+     * @return The number of positions.
+     */
+    public long size() {
+        return positions;
+    }
+
+    /**
+     * Hashes a position relative to the side to move, so that mirrored positions share a slot, avoiding the
+     * zero hash which marks empty slots.
+     */
+    static long key(BoardState state) {
+        long key = Zobrist.canonicalHash(state);
+        return key == 0 ? 1 : key;
+    }
+    /**
+     * Gets the first slot probed for a hash, taken from its high bits.
+     */
+    static int slot(long key, int slotsLog2) {
+        return (int) (key >>> (64 - slotsLog2));
+    }
+}
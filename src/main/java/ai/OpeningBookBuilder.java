@@ -0,0 +1,142 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The `OpeningBookBuilder` class searches every position reachable within a given number of plies from
+ * the initial position and writes the best moves to a file read by `OpeningBook`. Every move counts as a
+ * ply, including the moves of an extra turn. Positions reached through different move orders are only
+ * searched once, and all searches share one transposition table, so later positions reuse the work done
+ * for earlier ones.
+ */
+public class OpeningBookBuilder {
+    private final int plies; // The number of plies from the initial position which are covered.
+    private final SearchLimits limits; // Bounds the search of every position.
+    private final int threads; // The number of threads searching every position.
+
+    /**
+     * Constructs an `OpeningBookBuilder`.
+     *
+     * @param plies   The number of plies from the initial position to cover.
+     * @param limits  The limits of the search of every position.
+     * @param threads The number of threads to search with.
+     */
+    public OpeningBookBuilder(int plies, SearchLimits limits, int threads) {
+        if (plies < 0 || plies > SearchLimits.MAX_DEPTH) {
+            throw new IllegalArgumentException("The number of plies must be between 0 and " + SearchLimits.MAX_DEPTH);
+        }
+        this.plies = plies;
+        this.limits = limits;
+        this.threads = threads;
+    }
+    /**
+     * Searches the opening of a variant and writes the book.
+     *
+     * @param config The variant to build the book for.
+     * @param path   The file to write.
+     * @return The number of positions in the book.
+     * @throws IOException If the file cannot be written.
+     */
+    public int build(GameConfig config, Path path) throws IOException {
+        Map<Long, SearchResult> results = new HashMap<>();
+        try (ParallelSearch search = new ParallelSearch(threads, 20)) {
+            collect(BoardState.create(config), 0, search, results);
+        }
+        write(config, results, path);
+        return results.size();
+    }
+
+    /**
+     * Searches the given position and every position reachable from it within the remaining plies, taking
+     * every move back with `unmakeMove` once its subtree is done.
+     */
+    private void collect(BoardState state, int ply, ParallelSearch search, Map<Long, SearchResult> results) {
+        if (state.isGameOver() || results.containsKey(OpeningBook.key(state))) {
+            return;
+        }
+        results.put(OpeningBook.key(state), search.search(state, limits));
+        if (ply == plies) {
+            return;
+        }
+
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (state.isLegalMove(pit)) {
+                long record = state.makeMove(pit);
+                collect(state, ply + 1, search, results);
+                state.unmakeMove(record);
+            }
+        }
+    }
+    private void write(GameConfig config, Map<Long, SearchResult> results, Path path) throws IOException {
+        // Keep the table at most half full, so probes stay short
+        int slotsLog2 = 1;
+        while ((1L << slotsLog2) < 2L * results.size()) {
+            slotsLog2++;
+        }
+        if (slotsLog2 > OpeningBook.MAX_SLOTS_LOG2) {
+            throw new IllegalArgumentException("Too many positions for a book: " + results.size());
+        }
+
+        int mask = (1 << slotsLog2) - 1;
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_SIZE + (OpeningBook.SLOT_SIZE << slotsLog2))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(OpeningBook.MAGIC)
+                .putInt(config.getPitsPerPlayer())
+                .putInt(config.getSeedsPerPit())
+                .putInt(slotsLog2)
+                .putLong(results.size());
+
+        for (Map.Entry<Long, SearchResult> entry : results.entrySet()) {
+            int slot = OpeningBook.slot(entry.getKey(), slotsLog2);
+            while (buffer.getLong(OpeningBook.HEADER_SIZE + slot * OpeningBook.SLOT_SIZE) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            int offset = OpeningBook.HEADER_SIZE + slot * OpeningBook.SLOT_SIZE;
+            SearchResult result = entry.getValue();
+            buffer.putLong(offset, entry.getKey())
+                    .putInt(offset + 8, result.getScore())
+                    .put(offset + 12, (byte) result.getBestMove())
+                    .put(offset + 13, (byte) result.getDepth());
+        }
+
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+    /**
+     * Builds a book from the command line.
+     *
+     * @param args The number of plies, the search depth of every position, the file to write, the number
+     *             of threads, the pits per player and the seeds per pit.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+        Path path = Paths.get(args.length > 2 ? args[2] : "opening-" + plies + ".bin");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int pits = args.length > 4 ? Integer.parseInt(args[4]) : GameConfig.DEFAULT.getPitsPerPlayer();
+        int seeds = args.length > 5 ? Integer.parseInt(args[5]) : GameConfig.DEFAULT.getSeedsPerPit();
+
+        long startTime = System.nanoTime();
+        int positions = new OpeningBookBuilder(plies, SearchLimits.depth(depth), threads)
+                .build(GameConfig.of(pits, seeds), path);
+        System.out.printf("Searched %d positions within %d plies to depth %d in %d ms, written to %s\n",
+                positions, plies, depth, (System.nanoTime() - startTime) / 1_000_000, path);
+    }
+}
@@ -0,0 +1,143 @@
+package ai;
+
+import core.BoardState;
+import endgame.EndgameTablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The `ParallelSearch` class spreads an alpha-beta search over several threads using Lazy SMP: every
+ * thread runs its own `AlphaBetaSearch` on the same position, and all of them share one lock-free
+ * `TranspositionTable`. The threads mostly help each other through the table, which lets the main
+ * thread cut off positions already searched by a helper. Half of the helpers search one ply deeper
+ * than the main thread to diversify the work.
+ *
+ * <p>The search result is the one of the main thread, which runs on the calling thread. Helpers are
+ * stopped as soon as the main thread is done. The node count of the result covers all threads.</p>
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final TranspositionTable table; // Shared by all threads.
+    private final AlphaBetaSearch mainSearch; // Runs on the calling thread.
+    private final AlphaBetaSearch[] helperSearches; // One per helper thread.
+    private final ExecutorService helpers; // Runs the helper searches, or null for a single thread.
+
+    /**
+     * Constructs a `ParallelSearch` with a shared transposition table of `2^tableSizeLog2` entries.
+     *
+     * @param threads       The total number of threads, including the calling thread.
+     * @param tableSizeLog2 The base-2 logarithm of the number of transposition table entries.
+     */
+    public ParallelSearch(int threads, int tableSizeLog2) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+
+        this.table = new TranspositionTable(tableSizeLog2);
+        this.mainSearch = new AlphaBetaSearch(table);
+        this.helperSearches = new AlphaBetaSearch[threads - 1];
+        for (int helper = 0; helper < helperSearches.length; helper++) {
+            helperSearches[helper] = new AlphaBetaSearch(table);
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * Searches the given position within the given limits on all threads.
+     *
+     * @param root   The position to search, which must not be over. It is not modified.
+     * @param limits The limits of the search.
+     * @return The best move found by the main thread, with the node count of all threads.
+     */
+    public SearchResult search(BoardState root, SearchLimits limits) {
+        if (root.isGameOver()) {
+            throw new IllegalArgumentException("The game is already over");
+        }
+
+        long startTime = System.nanoTime();
+        table.newSearch();
+
+        List<Future<SearchResult>> helperResults = new ArrayList<>(helperSearches.length);
+        for (int helper = 0; helper < helperSearches.length; helper++) {
+            AlphaBetaSearch helperSearch = helperSearches[helper];
+            int depthOffset = helper % 2;
+            helperSearch.resetStop();
+            helperResults.add(helpers.submit(() -> helperSearch.iterate(root, limits, depthOffset, startTime)));
+        }
+
+        mainSearch.resetStop();
+        SearchResult result = mainSearch.iterate(root, limits, 0, startTime);
+
+        long nodes = result.getNodes();
+        for (AlphaBetaSearch helperSearch : helperSearches) {
+            helperSearch.stop();
+        }
+        for (Future<SearchResult> helperResult : helperResults) {
+            try {
+                nodes += helperResult.get().getNodes();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException exception) {
+                throw new IllegalStateException("A search helper failed", exception.getCause());
+            }
+        }
+
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes,
+                System.nanoTime() - startTime);
+    }
+    /**
+     * Gets the total number of threads used by every search.
+     *
+     * @return The number of threads, including the calling thread.
+     */
+    public int getThreads() {
+        return helperSearches.length + 1;
+    }
+    /**
+     * Uses an endgame tablebase on all threads to score positions with few seeds left exactly.
+     *
+     * @param tablebase The tablebase to query, or `null` to search every position.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        mainSearch.setTablebase(tablebase);
+        for (AlphaBetaSearch helperSearch : helperSearches) {
+            helperSearch.setTablebase(tablebase);
+        }
+    }
+    /**
+     * Scores positions at the horizon with the given evaluator on all threads.
+     *
+     * @param evaluator The evaluator to use, or `null` to score by the large pits alone.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        mainSearch.setEvaluator(evaluator);
+        for (AlphaBetaSearch helperSearch : helperSearches) {
+            helperSearch.setEvaluator(evaluator);
+        }
+        table.clear();
+    }
+    /**
+     * Removes all cached results from the shared transposition table.
+     */
+    public void clear() {
+        table.clear();
+    }
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ai;
+
+import core.PositionSnapshot;
+
+/**
+ * The `PositionEvaluation` class holds the outcome of one position of a batch evaluated by
+ * `BatchEvaluator`, together with the index of the position in the batch.
+ */
+public class PositionEvaluation {
+    private final int index; // The index of the position in the submitted batch.
+    private final PositionSnapshot position; // The evaluated position.
+    private final SearchResult result; // The outcome of its search.
+
+    /**
+     * Constructs a `PositionEvaluation`.
+     *
+     * @param index    The index of the position in the submitted batch.
+     * @param position The evaluated position.
+     * @param result   The outcome of its search.
+     */
+    public PositionEvaluation(int index, PositionSnapshot position, SearchResult result) {
+        this.index = index;
+        this.position = position;
+        this.result = result;
+    }
+    /**
+     * Gets the index of the position in the submitted batch.
+     *
+     * @return The zero-based index.
+     */
+    public int getIndex() {
+        return index;
+    }
+    /**
+     * Gets the evaluated position.
+     *
+     * @return The position.
+     */
+    public PositionSnapshot getPosition() {
+        return position;
+    }
+    /**
+     * Gets the best move of the position.
+     *
+     * @return The zero-based pit of the side to move, or -1 if the game is over.
+     */
+    public int getBestMove() {
+        return result.getBestMove();
+    }
+    /**
+     * Gets the score of the best move, from the point of view of the side to move.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return result.getScore();
+    }
+    /**
+     * Gets the full outcome of the search, including the work it took.
+     *
+     * @return The search result.
+     */
+    public SearchResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package ai;
+
+/**
+ * The `SearchLimits` class bounds how long a search may run: by depth, by number of nodes and by time.
+ * The search stops as soon as any of the limits is reached and returns the best move of the deepest
+ * completed iteration.
+ */
+public class SearchLimits {
+    /**
+     * The deepest iteration the search ever attempts.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth; // The maximum depth in plies.
+    private final long nodes; // The maximum number of nodes, or 0 for no limit.
+    private final long millis; // The maximum time in milliseconds, or 0 for no limit.
+
+    private SearchLimits(int depth, long nodes, long millis) {
+        this.depth = Math.min(depth, MAX_DEPTH);
+        this.nodes = nodes;
+        this.millis = millis;
+    }
+    /**
+     * Creates limits which search exactly to the given depth.
+     *
+     * @param depth The depth in plies.
+     * @return The search limits.
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+    /**
+     * Creates limits which stop the search after the given number of nodes.
+     *
+     * @param nodes The node budget.
+     * @return The search limits.
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, nodes, 0);
+    }
+    /**
+     * Creates limits which stop the search after the given time.
+     *
+     * @param millis The time budget in milliseconds.
+     * @return The search limits.
+     */
+    public static SearchLimits millis(long millis) {
+        return new SearchLimits(MAX_DEPTH, 0, millis);
+    }
+    /**
+     * Gets the maximum depth in plies.
+     *
+     * @return The maximum depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+    /**
+     * Gets the node budget.
+     *
+     * @return The maximum number of nodes, or 0 for no limit.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+    /**
+     * Gets the time budget.
+     *
+     * @return The maximum time in milliseconds, or 0 for no limit.
+     */
+    public long getMillis() {
+        return millis;
+    }
+}
@@ -0,0 +1,84 @@
+package ai;
+
+/**
+ * The `SearchResult` class holds the outcome of a search: the best move, its score and the work done
+ * to find it.
+ */
+public class SearchResult {
+    private final int bestMove; // The zero-based pit of the side to move.
+    private final int score; // The score of the best move for the side to move.
+    private final int depth; // The deepest completed iteration.
+    private final long nodes; // The number of nodes visited.
+    private final long elapsedNanos; // The time spent searching.
+
+    /**
+     * Constructs a `SearchResult`.
+     *
+     * @param bestMove     The best move, as a zero-based pit of the side to move.
+     * @param score        The score of the best move for the side to move.
+     * @param depth        The deepest completed iteration.
+     * @param nodes        The number of nodes visited.
+     * @param elapsedNanos The time spent searching in nanoseconds.
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+    /**
+     * Gets the best move.
+     *
+     * @return The zero-based pit of the side to move.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+    /**
+     * Gets the score of the best move, from the point of view of the side to move.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+    /**
+     * Gets the deepest iteration which completed within the search limits.
+     *
+     * @return The depth in plies.
+     */
+    public int getDepth() {
+        return depth;
+    }
+    /**
+     * Gets the number of nodes visited.
+     *
+     * @return The number of nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+    /**
+     * Gets the time spent searching.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    /**
+     * Gets the search speed.
+     *
+     * @return The number of nodes visited per second.
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pit %d, score %d, depth %d, %d nodes (%.0f nodes/s)",
+                bestMove + 1, score, depth, nodes, getNodesPerSecond());
+    }
+}
@@ -0,0 +1,135 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The `TranspositionTable` class caches search results by position hash in a fixed number of slots held
+ * in two primitive arrays, so storing and probing never allocate.
+ *
+ * <p>An entry is packed into a single `long` holding the score, the search depth, the bound type, the
+ * best move and the generation of the search which stored it. When two positions compete for a slot,
+ * the new entry replaces the old one if the old one belongs to a previous search or was searched
+ * less deeply.</p>
+ *
+ * <p>The table can be shared by several searching threads without locks. Each slot stores the entry and
+ * the hash XOR-ed with the entry, both written atomically. A slot which was torn by two concurrent
+ * writers no longer XORs back to the probed hash, so it reads as a miss instead of a wrong entry.</p>
+ */
+public class TranspositionTable {
+    /**
+     * The score is exact.
+     */
+    public static final int EXACT = 1;
+    /**
+     * The score is a lower bound (the search failed high).
+     */
+    public static final int LOWER_BOUND = 2;
+    /**
+     * The score is an upper bound (the search failed low).
+     */
+    public static final int UPPER_BOUND = 3;
+
+    private final AtomicLongArray keys; // The hash XOR-ed with the entry of each slot.
+    private final AtomicLongArray entries; // The packed entry of each slot, 0 when empty.
+    private final int mask; // Maps a hash to a slot.
+    private volatile int generation; // Incremented for every new search.
+
+    /**
+     * Constructs a `TranspositionTable` with `2^sizeLog2` slots.
+     *
+     * @param sizeLog2 The base-2 logarithm of the number of slots.
+     */
+    public TranspositionTable(int sizeLog2) {
+        this.keys = new AtomicLongArray(1 << sizeLog2);
+        this.entries = new AtomicLongArray(1 << sizeLog2);
+        this.mask = (1 << sizeLog2) - 1;
+    }
+    /**
+     * Starts a new search, which makes the entries of previous searches preferred for replacement.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+    /**
+     * Looks up the entry of a position.
+     *
+     * @param hash The hash of the position.
+     * @return The packed entry, or 0 if the position is not in the table.
+     */
+    public long probe(long hash) {
+        int slot = (int) hash & mask;
+        long entry = entries.getOpaque(slot);
+        return (keys.getOpaque(slot) ^ entry) == hash ? entry : 0;
+    }
+    /**
+     * Stores the result of searching a position, subject to the replacement policy.
+     *
+     * @param hash  The hash of the position.
+     * @param depth The depth the position was searched to.
+     * @param bound `EXACT`, `LOWER_BOUND` or `UPPER_BOUND`.
+     * @param score The score of the position.
+     * @param move  The best move found, or -1 if none.
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        int slot = (int) hash & mask;
+        int currentGeneration = generation;
+        long current = entries.getOpaque(slot);
+        if (current != 0 && (keys.getOpaque(slot) ^ current) != hash
+                && generation(current) == currentGeneration && depth(current) > depth) {
+            return;
+        }
+
+        long entry = (score & 0xFFFFFFFFL)
+                | ((long) depth << 32)
+                | ((long) bound << 40)
+                | ((long) (move + 1) << 42)
+                | ((long) currentGeneration << 48);
+        keys.setOpaque(slot, hash ^ entry);
+        entries.setOpaque(slot, entry);
+    }
+    /**
+     * Removes every entry from the table. Must not be called while a search is using the table.
+     */
+    public void clear() {
+        for (int slot = 0; slot < entries.length(); slot++) {
+            keys.setOpaque(slot, 0);
+            entries.setOpaque(slot, 0);
+        }
+    }
+    /**
+     * Gets the number of slots in the table.
+     *
+     * @return The number of slots.
+     */
+    public int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * Extracts the score of a packed entry.
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+    /**
+     * Extracts the search depth of a packed entry.
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+    /**
+     * Extracts the bound type of a packed entry.
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+    /**
+     * Extracts the best move of a packed entry.
+     */
+    public static int move(long entry) {
+        return ((int) (entry >>> 42) & 0x3F) - 1;
+    }
+    private static int generation(long entry) {
+        return (int) (entry >>> 48) & 0xFF;
+    }
+}
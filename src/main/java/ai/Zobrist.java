@@ -0,0 +1,64 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.util.Random;
+
+/**
+ * The `Zobrist` class computes 64-bit hashes of board states by combining one random key per pit and seed
+ * count, plus a key for the side to move. The keys cover the largest supported variant.
+ *
+ * <p>The canonical hash reads the board relative to the side to move instead, so a position and its mirror
+ * image, with the sides swapped, get the same hash. Both are equivalent for the side to move whichever
+ * player owns the pits, so tables keyed by the canonical hash share their entries.</p>
+ */
+public final class Zobrist {
+    private static final int MAX_SEEDS = 2 * GameConfig.MAX_PITS_PER_PLAYER * GameConfig.MAX_SEEDS_PER_PIT;
+    private static final long[][] PIT_KEYS = new long[2 * GameConfig.MAX_PITS_PER_PLAYER + 2][MAX_SEEDS + 1];
+    private static final long SECOND_SIDE_KEY;
+
+    static {
+        Random random = new Random(0x4D616E63616C61L);
+        for (long[] keys : PIT_KEYS) {
+            for (int seeds = 1; seeds < keys.length; seeds++) {
+                keys[seeds] = random.nextLong();
+            }
+        }
+        SECOND_SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {}
+
+    /**
+     * Computes the hash of the given board state.
+     *
+     * @param state The board state to hash.
+     * @return The 64-bit hash of the pits and the side to move.
+     */
+    public static long hash(BoardState state) {
+        long hash = state.getActiveSide() == BoardState.SECOND_SIDE ? SECOND_SIDE_KEY : 0;
+        for (int index = 0; index < state.size(); index++) {
+            hash ^= PIT_KEYS[index][state.getSeeds(index)];
+        }
+        return hash;
+    }
+    /**
+     * Computes the canonical hash of the given board state: the side to move's regular pits and large pit
+     * are hashed first, followed by the opponent's. It equals the hash of the mirrored state whenever the
+     * second side is to move.
+     *
+     * @param state The board state to hash.
+     * @return The 64-bit hash of the pits, relative to the side to move.
+     */
+    public static long canonicalHash(BoardState state) {
+        int size = state.size();
+        int offset = state.getActiveSide() == BoardState.SECOND_SIDE ? size / 2 : 0;
+        long hash = 0;
+        for (int relative = 0; relative < size; relative++) {
+            int index = relative + offset < size ? relative + offset : relative + offset - size;
+            hash ^= PIT_KEYS[relative][state.getSeeds(index)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,114 @@
+package archive;
+
+import common.GameConfig;
+import core.BoardState;
+import core.GameResult;
+
+/**
+ * The `GameRecord` class holds a played game: its variant, the names of both players and every move in
+ * the order in which it was played. Moves are zero-based regular pits of the side to move, so extra turns
+ * simply show up as consecutive moves of the same side.
+ *
+ * <p>A record is checked by replaying it through `BoardState` when it is created, so every record holds
+ * a legal game. The game does not have to be finished; unfinished games have no result.</p>
+ */
+public class GameRecord {
+    private final GameConfig config; // The variant which was played.
+    private final String firstPlayerName; // The name of the first player.
+    private final String secondPlayerName; // The name of the second player.
+    private final int[] moves; // Zero-based pits of the side to move, in playing order.
+    private final GameResult result; // The outcome of the game, or null if it is not over.
+
+    /**
+     * Constructs a `GameRecord` and checks its moves by replaying them.
+     *
+     * @param config           The variant which was played.
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param moves            The zero-based pits of the side to move, in playing order.
+     * @throws IllegalArgumentException If a move is not legal or is played after the game is over.
+     */
+    public GameRecord(GameConfig config, String firstPlayerName, String secondPlayerName, int[] moves) {
+        this.config = config;
+        this.firstPlayerName = firstPlayerName;
+        this.secondPlayerName = secondPlayerName;
+        this.moves = moves.clone();
+
+        BoardState state = replay();
+        this.result = state.isGameOver() ? state.getResult() : null;
+    }
+    /**
+     * Replays the game from the initial position.
+     *
+     * @return The position after the last move.
+     * @throws IllegalArgumentException If a move is not legal or is played after the game is over.
+     */
+    public BoardState replay() {
+        BoardState state = BoardState.create(config);
+        for (int index = 0; index < moves.length; index++) {
+            if (state.isGameOver() || !state.isLegalMove(moves[index])) {
+                throw new IllegalArgumentException("Move " + (index + 1) + " (pit " + (moves[index] + 1)
+                        + ") cannot be played");
+            }
+            state.move(moves[index]);
+        }
+        return state;
+    }
+    /**
+     * Gets the variant which was played.
+     *
+     * @return The game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+    /**
+     * Gets the name of the first player.
+     *
+     * @return The first player's name.
+     */
+    public String getFirstPlayerName() {
+        return firstPlayerName;
+    }
+    /**
+     * Gets the name of the second player.
+     *
+     * @return The second player's name.
+     */
+    public String getSecondPlayerName() {
+        return secondPlayerName;
+    }
+    /**
+     * Gets the number of moves, counting every move of an extra turn.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+    /**
+     * Gets a single move.
+     *
+     * @param index The zero-based index of the move.
+     * @return The zero-based pit of the side to move.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+    /**
+     * Gets all moves.
+     *
+     * @return A copy of the zero-based pits of the side to move, in playing order.
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+    /**
+     * Gets the outcome of the game.
+     *
+     * @return The result, or `null` if the game is not over.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package archive;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The `GameRecordConverter` class converts record files between the binary form of `GameRecordWriter` and
+ * the text form of `GameRecordText`. Both sides are streamed, so files of any size can be converted.
+ */
+public final class GameRecordConverter {
+    /**
+     * The file extension of the text form. Files with any other extension are treated as binary.
+     */
+    public static final String TEXT_EXTENSION = ".txt";
+
+    /**
+     * Private constructor to prevent instantiation, since the class only holds static helpers.
+     */
+    private GameRecordConverter() {}
+    /**
+     * Converts a binary record file to the text form.
+     *
+     * @param binary The binary file to read.
+     * @param text   The text file to write.
+     * @return The number of converted records.
+     * @throws IOException If a file cannot be read or written, or a record is corrupt.
+     */
+    public static long toText(Path binary, Path text) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(binary);
+             BufferedWriter writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+            while (reader.hasNext()) {
+                writer.write(GameRecordText.format(reader.next()));
+            }
+            return reader.getRecordCount();
+        }
+    }
+    /**
+     * Converts a text record file to the binary form.
+     *
+     * @param text   The text file to read.
+     * @param binary The binary file to write.
+     * @return The number of converted records.
+     * @throws IOException              If a file cannot be read or written.
+     * @throws IllegalArgumentException If a game in the text file is not valid.
+     */
+    public static long toBinary(Path text, Path binary) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(text, StandardCharsets.UTF_8);
+             GameRecordWriter writer = new GameRecordWriter(binary)) {
+            GameRecord record;
+            while ((record = GameRecordText.read(reader)) != null) {
+                writer.write(record);
+            }
+            return writer.getRecordCount();
+        }
+    }
+    /**
+     * Converts a record file from the command line. The direction is chosen from the extension of the
+     * input file.
+     *
+     * @param args The file to read and the file to write.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: GameRecordConverter <input> <output>");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        long startTime = System.nanoTime();
+        long records = input.toString().endsWith(TEXT_EXTENSION) ? toBinary(input, output) : toText(input, output);
+        System.out.printf("Converted %d games from %s to %s in %d ms\n", records, input, output,
+                (System.nanoTime() - startTime) / 1_000_000);
+    }
+}
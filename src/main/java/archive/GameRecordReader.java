@@ -0,0 +1,191 @@
+package archive;
+
+import common.GameConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The `GameRecordReader` class streams the records of a file written by `GameRecordWriter`. The file is
+ * read through a fixed-size buffer, so files of any size can be read without loading them into memory.
+ * Every record is replayed through the engine while it is read, so a corrupt file is reported instead of
+ * yielding illegal games.
+ *
+ * <p>I/O errors and corrupt records surface as `UncheckedIOException`, since `Iterator` methods cannot
+ * throw checked exceptions.</p>
+ */
+public class GameRecordReader implements Iterator<GameRecord>, AutoCloseable {
+    static final int MAGIC = 0x4D4E4752;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path; // The file being read, used in error messages.
+    private final FileChannel channel; // The file being read.
+    private ByteBuffer buffer; // Bytes read from the file which were not decoded yet.
+    private long records; // Records read so far.
+
+    /**
+     * Opens a record file and checks its header.
+     *
+     * @param path The file written by `GameRecordWriter`.
+     * @throws IOException If the file cannot be read or is not a record file.
+     */
+    public GameRecordReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+
+        try {
+            if (!fill(HEADER_SIZE) || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a game record file: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported game record version " + version + ": " + path);
+            }
+        }
+        catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+    /**
+     * Checks if there is another record in the file.
+     *
+     * @return `true` if `next` returns a record, `false` at the end of the file.
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            return fill(1);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+    /**
+     * Reads and replays the next record.
+     *
+     * @return The next record.
+     * @throws NoSuchElementException If the end of the file was reached.
+     * @throws UncheckedIOException   If the file cannot be read or the record is corrupt.
+     */
+    @Override
+    public GameRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            require(2);
+            GameConfig config = GameConfig.of(buffer.get(), buffer.get());
+            String firstName = readName();
+            String secondName = readName();
+            require(4);
+            int moveCount = buffer.getInt();
+            if (moveCount < 0) {
+                throw new IOException("Negative move count");
+            }
+            // Check the count against the file before allocating, so a corrupt count cannot exhaust memory
+            int packedBytes = (int) ((moveCount + 1L) / 2);
+            if (packedBytes > bytesLeft()) {
+                throw new IOException("The file is truncated");
+            }
+
+            int[] moves = new int[moveCount];
+            require(packedBytes);
+            for (int index = 0; index < moveCount; index += 2) {
+                int packed = buffer.get() & 0xFF;
+                moves[index] = packed >>> 4;
+                if (index + 1 < moveCount) {
+                    moves[index + 1] = packed & 0xF;
+                }
+            }
+
+            GameRecord record = new GameRecord(config, firstName, secondName, moves);
+            records++;
+            return record;
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            throw new UncheckedIOException(new IOException("Corrupt record " + (records + 1) + " in " + path + ": "
+                    + exception.getMessage(), exception));
+        }
+    }
+    /**
+     * Gets the number of records read so far.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return records;
+    }
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readName() throws IOException {
+        require(2);
+        int length = buffer.getShort() & 0xFFFF;
+        require(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    /**
+     * Counts the bytes which were read but not decoded yet, plus the bytes left in the file.
+     */
+    private long bytesLeft() throws IOException {
+        return buffer.remaining() + channel.size() - channel.position();
+    }
+    private void require(int bytes) throws IOException {
+        if (!fill(bytes)) {
+            throw new IOException("The file is truncated");
+        }
+    }
+    /**
+     * Reads from the file until the buffer holds at least the given number of bytes, growing it when a
+     * single record does not fit.
+     *
+     * @return `false` if the end of the file was reached first.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (buffer.capacity() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            larger.put(buffer).flip();
+            buffer = larger;
+        }
+
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+        }
+        finally {
+            buffer.flip();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,240 @@
+package archive;
+
+import common.GameConfig;
+import core.BoardState;
+import core.GameResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The `GameRecordText` class converts game records to and from a text form meant for humans, modelled on
+ * the portable game notation of chess. A game starts with tag lines holding the variant, both player
+ * names and the result, followed by a blank line and the moves:
+ *
+ * <pre>
+ * [Variant "6x4"]
+ * [First "Alice"]
+ * [Second "Bob"]
+ * [Result "1-0"]
+ *
+ * 1. 3-6 4 2. 1 2 ... 1-0
+ * </pre>
+ *
+ * <p>Moves are one-based pit numbers. Every turn number is followed by the first player's turn and the
+ * second player's turn, and the moves of a turn with extra turns are joined with `-`. The moves end with
+ * the result: `1-0`, `0-1`, `1/2-1/2`, or `*` for a game which is not over. Games in a file are separated
+ * by blank lines.</p>
+ */
+public final class GameRecordText {
+    private static final int LINE_LENGTH = 80;
+    private static final Pattern TAG = Pattern.compile("\\[(\\w+) \"((?:[^\"\\\\]|\\\\.)*)\"]");
+    private static final Pattern TURN_NUMBER = Pattern.compile("\\d+\\.");
+    private static final String UNFINISHED = "*";
+
+    /**
+     * Private constructor to prevent instantiation, since the class only holds static helpers.
+     */
+    private GameRecordText() {}
+    /**
+     * Formats a record as text, ending with a blank line so that formatted games can be concatenated.
+     *
+     * @param record The record to format.
+     * @return The text form of the record.
+     */
+    public static String format(GameRecord record) {
+        StringBuilder text = new StringBuilder();
+        text.append(tag("Variant", record.getConfig().toString()))
+                .append(tag("First", record.getFirstPlayerName()))
+                .append(tag("Second", record.getSecondPlayerName()))
+                .append(tag("Result", resultToken(record.getResult())))
+                .append('\n');
+
+        BoardState state = BoardState.create(record.getConfig());
+        StringBuilder line = new StringBuilder();
+        int turn = 0;
+        for (int index = 0; index < record.getMoveCount(); ) {
+            int side = state.getActiveSide();
+            StringBuilder token = new StringBuilder();
+            if (side == BoardState.FIRST_SIDE) {
+                token.append(++turn).append(". ");
+            }
+
+            // Every move played before the turn passes belongs to the same token
+            do {
+                if (state.getActiveSide() != side || state.isGameOver()) {
+                    break;
+                }
+                if (token.length() > 0 && token.charAt(token.length() - 1) != ' ') {
+                    token.append('-');
+                }
+                token.append(record.getMove(index) + 1);
+                state.move(record.getMove(index++));
+            } while (index < record.getMoveCount());
+
+            appendToken(text, line, token.toString());
+        }
+        appendToken(text, line, resultToken(record.getResult()));
+        return text.append(line).append("\n\n").toString();
+    }
+    /**
+     * Parses the text form of a single game.
+     *
+     * @param text The text form, as produced by `format`.
+     * @return The record.
+     * @throws IllegalArgumentException If the text is not a valid game.
+     */
+    public static GameRecord parse(String text) {
+        GameConfig config = null;
+        String firstName = null;
+        String secondName = null;
+        String result = null;
+        StringBuilder moveText = new StringBuilder();
+
+        for (String line : text.split("\n")) {
+            line = line.strip();
+            Matcher tag = TAG.matcher(line);
+            if (tag.matches()) {
+                String value = tag.group(2).replaceAll("\\\\(.)", "$1");
+                switch (tag.group(1)) {
+                    case "Variant" -> config = parseVariant(value);
+                    case "First" -> firstName = value;
+                    case "Second" -> secondName = value;
+                    case "Result" -> result = value;
+                    default -> { }
+                }
+            }
+            else if (!line.isEmpty()) {
+                moveText.append(line).append(' ');
+            }
+        }
+        if (config == null || firstName == null || secondName == null) {
+            throw new IllegalArgumentException("The Variant, First and Second tags are required");
+        }
+
+        GameRecord record = new GameRecord(config, firstName, secondName, parseMoves(config, moveText.toString()));
+        if (result != null && !result.equals(resultToken(record.getResult()))) {
+            throw new IllegalArgumentException("The moves end with " + resultToken(record.getResult())
+                    + " but the result is " + result);
+        }
+        return record;
+    }
+    /**
+     * Reads the next game from a stream of games separated by blank lines.
+     *
+     * @param reader The stream to read from.
+     * @return The next record, or `null` at the end of the stream.
+     * @throws IOException              If the stream cannot be read.
+     * @throws IllegalArgumentException If the text is not a valid game.
+     */
+    public static GameRecord read(BufferedReader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        boolean inMoves = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                // The blank line between the tags and the moves does not end the game
+                if (inMoves) {
+                    break;
+                }
+                continue;
+            }
+            inMoves |= !line.strip().startsWith("[");
+            text.append(line).append('\n');
+        }
+        return text.length() == 0 ? null : parse(text.toString());
+    }
+
+    private static int[] parseMoves(GameConfig config, String moveText) {
+        BoardState state = BoardState.create(config);
+        int[] moves = new int[16];
+        int count = 0;
+        boolean ended = false;
+        boolean unfinishedTurn = false;
+
+        for (String token : moveText.trim().split("\\s+")) {
+            if (token.isEmpty() || TURN_NUMBER.matcher(token).matches()) {
+                continue;
+            }
+            if (ended) {
+                throw new IllegalArgumentException("Moves after the result: " + token);
+            }
+            if (isResultToken(token)) {
+                ended = true;
+                continue;
+            }
+
+            // Every token holds one whole turn of a single side; only the last turn of a game may be cut short
+            if (unfinishedTurn) {
+                throw new IllegalArgumentException("The turn before " + token + " ends with an extra turn");
+            }
+            int side = state.getActiveSide();
+            for (String move : token.split("-")) {
+                if (state.getActiveSide() != side || state.isGameOver()) {
+                    throw new IllegalArgumentException("The turn " + token + " does not match the moves");
+                }
+                int pit = parsePit(move, config);
+                if (!state.isLegalMove(pit)) {
+                    throw new IllegalArgumentException("Pit " + move + " cannot be played in turn " + token);
+                }
+                state.move(pit);
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, 2 * count);
+                }
+                moves[count++] = pit;
+            }
+            unfinishedTurn = state.getActiveSide() == side && !state.isGameOver();
+        }
+        return Arrays.copyOf(moves, count);
+    }
+    private static int parsePit(String move, GameConfig config) {
+        try {
+            return Integer.parseInt(move) - 1;
+        }
+        catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Not a pit number: " + move + " (1 to " + config.getPitsPerPlayer()
+                    + ")");
+        }
+    }
+    private static GameConfig parseVariant(String value) {
+        String[] parts = value.split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Not a variant: " + value);
+        }
+        try {
+            return GameConfig.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+        catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Not a variant: " + value);
+        }
+    }
+    private static String tag(String name, String value) {
+        return "[" + name + " \"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"]\n";
+    }
+    private static void appendToken(StringBuilder text, StringBuilder line, String token) {
+        if (line.length() > 0 && line.length() + 1 + token.length() > LINE_LENGTH) {
+            text.append(line).append('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) {
+            line.append(' ');
+        }
+        line.append(token);
+    }
+    private static boolean isResultToken(String token) {
+        return token.equals(UNFINISHED) || token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2");
+    }
+    private static String resultToken(GameResult result) {
+        if (result == null) {
+            return UNFINISHED;
+        }
+        return switch (result) {
+            case FIRST_PLAYER_WON -> "1-0";
+            case SECOND_PLAYER_WON -> "0-1";
+            case DRAW -> "1/2-1/2";
+        };
+    }
+}
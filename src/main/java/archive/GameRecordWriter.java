@@ -0,0 +1,116 @@
+package archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `GameRecordWriter` class writes game records in the compact binary format read by
+ * `GameRecordReader`. Records are encoded into a direct buffer which is written to a `FileChannel` once
+ * it is full, so archiving millions of games takes few system calls.
+ *
+ * <p>The file starts with a header holding a magic number and the format version. Every record then
+ * holds the pits per player and the seeds per pit in one byte each, both player names as a two-byte
+ * length followed by their UTF-8 bytes, the number of moves as four bytes and the moves, packed two per
+ * byte with the first move in the high four bits. All numbers are little-endian.</p>
+ */
+public class GameRecordWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel; // The file being written.
+    private ByteBuffer buffer; // Encoded records waiting to be written, grown for very long games.
+    private long records; // Records written so far.
+
+    /**
+     * Creates a record file, replacing any existing file, and writes its header.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be created.
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(GameRecordReader.MAGIC).putInt(GameRecordReader.VERSION);
+    }
+    /**
+     * Appends a record to the file.
+     *
+     * @param record The record to write.
+     * @throws IOException              If the file cannot be written.
+     * @throws IllegalArgumentException If a player name is longer than 65535 UTF-8 bytes.
+     */
+    public void write(GameRecord record) throws IOException {
+        byte[] firstName = encodeName(record.getFirstPlayerName());
+        byte[] secondName = encodeName(record.getSecondPlayerName());
+        int moveCount = record.getMoveCount();
+        int size = 2 + 2 + firstName.length + 2 + secondName.length + 4 + (moveCount + 1) / 2;
+
+        if (buffer.remaining() < size) {
+            drain();
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        buffer.put((byte) record.getConfig().getPitsPerPlayer())
+                .put((byte) record.getConfig().getSeedsPerPit())
+                .putShort((short) firstName.length).put(firstName)
+                .putShort((short) secondName.length).put(secondName)
+                .putInt(moveCount);
+        for (int index = 0; index < moveCount; index += 2) {
+            int low = index + 1 < moveCount ? record.getMove(index + 1) : 0;
+            buffer.put((byte) (record.getMove(index) << 4 | low));
+        }
+        records++;
+    }
+    /**
+     * Writes every buffered record to the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+    /**
+     * Gets the number of records written so far.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return records;
+    }
+    /**
+     * Writes every buffered record and closes the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("The player name is too long: " + name.length() + " characters");
+        }
+        return bytes;
+    }
+}
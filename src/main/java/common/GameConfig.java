@@ -0,0 +1,141 @@
+package common;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The `GameConfig` class describes a variant of the Mancala game: the number of regular pits per player
+ * and the number of seeds initially placed in each of them. The standard game uses the values of
+ * `GameConstants`.
+ *
+ * <p>Configurations are immutable and interned: `of` returns the same instance for the same variant, so
+ * everything derived from a variant, such as the initial board contents, is computed once and shared by
+ * every board of that variant.</p>
+ */
+public final class GameConfig {
+    /**
+     * The largest supported number of regular pits per player.
+     */
+    public static final int MAX_PITS_PER_PLAYER = 16;
+    /**
+     * The largest supported number of seeds initially placed in each regular pit.
+     */
+    public static final int MAX_SEEDS_PER_PIT = 16;
+
+    private static final ConcurrentHashMap<Integer, GameConfig> CONFIGS = new ConcurrentHashMap<>();
+
+    /**
+     * The standard game with 6 pits per player and 4 seeds per pit.
+     */
+    public static final GameConfig DEFAULT = of(GameConstants.PITS_PER_PLAYER, GameConstants.SEEDS_PER_PIT);
+
+    private final int pitsPerPlayer; // The number of regular pits per player.
+    private final int seedsPerPit; // The number of seeds initially placed in each regular pit.
+    private final int[] initialPits; // The initial seeds per pit, in board state order.
+    private final int[] nextIndex; // The board index sown after each pit.
+    private final int[] oppositeIndex; // The board index opposite to each regular pit, or -1 for large pits.
+
+    private GameConfig(int pitsPerPlayer, int seedsPerPit) {
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.seedsPerPit = seedsPerPit;
+        this.initialPits = new int[2 * pitsPerPlayer + 2];
+        this.nextIndex = new int[initialPits.length];
+        this.oppositeIndex = new int[initialPits.length];
+        for (int index = 0; index < initialPits.length; index++) {
+            boolean largePit = index % (pitsPerPlayer + 1) == pitsPerPlayer;
+            initialPits[index] = largePit ? 0 : seedsPerPit;
+            nextIndex[index] = (index + 1) % initialPits.length;
+            oppositeIndex[index] = largePit ? -1 : 2 * pitsPerPlayer - index;
+        }
+    }
+    /**
+     * Gets the configuration of a variant.
+     *
+     * @param pitsPerPlayer The number of regular pits per player.
+     * @param seedsPerPit   The number of seeds initially placed in each regular pit.
+     * @return The shared configuration of the variant.
+     */
+    public static GameConfig of(int pitsPerPlayer, int seedsPerPit) {
+        if (pitsPerPlayer < 1 || pitsPerPlayer > MAX_PITS_PER_PLAYER) {
+            throw new IllegalArgumentException("The number of pits must be between 1 and " + MAX_PITS_PER_PLAYER);
+        }
+        if (seedsPerPit < 1 || seedsPerPit > MAX_SEEDS_PER_PIT) {
+            throw new IllegalArgumentException("The number of seeds must be between 1 and " + MAX_SEEDS_PER_PIT);
+        }
+        return CONFIGS.computeIfAbsent(pitsPerPlayer * (MAX_SEEDS_PER_PIT + 1) + seedsPerPit,
+                key -> new GameConfig(pitsPerPlayer, seedsPerPit));
+    }
+    /**
+     * Gets the number of regular pits per player.
+     *
+     * @return The number of regular pits per player.
+     */
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+    /**
+     * Gets the number of seeds initially placed in each regular pit.
+     *
+     * @return The number of seeds per pit.
+     */
+    public int getSeedsPerPit() {
+        return seedsPerPit;
+    }
+    /**
+     * Gets the number of pits that receive a seed during one full lap around the board, which is every
+     * pit except the opponent's large pit.
+     *
+     * @return The length of a sowing lap.
+     */
+    public int getSowingLap() {
+        return 2 * pitsPerPlayer + 1;
+    }
+    /**
+     * Gets the total number of seeds in the game.
+     *
+     * @return The number of seeds on the board at the start of the game.
+     */
+    public int getTotalSeeds() {
+        return 2 * pitsPerPlayer * seedsPerPit;
+    }
+    /**
+     * Gets the number of pits on a board, including both large pits.
+     *
+     * @return The number of pits on the board.
+     */
+    public int getBoardSize() {
+        return initialPits.length;
+    }
+    /**
+     * Gets the pit which comes after the given one when sowing, including both large pits. Pits are
+     * indexed in board state order: the first player's regular pits, their large pit, the second player's
+     * regular pits and their large pit.
+     *
+     * @param index The board index of a pit.
+     * @return The board index of the next pit.
+     */
+    public int getNextIndex(int index) {
+        return nextIndex[index];
+    }
+    /**
+     * Gets the regular pit opposite to the given one, whose seeds are taken by a capture.
+     *
+     * @param index The board index of a pit.
+     * @return The board index of the opposite regular pit, or -1 if the given pit is a large pit.
+     */
+    public int getOppositeIndex(int index) {
+        return oppositeIndex[index];
+    }
+    /**
+     * Copies the initial seeds per pit, in board state order, into the given array.
+     *
+     * @param pits The array to fill, with room for both players' regular and large pits.
+     */
+    public void copyInitialPits(int[] pits) {
+        System.arraycopy(initialPits, 0, pits, 0, initialPits.length);
+    }
+
+    @Override
+    public String toString() {
+        return pitsPerPlayer + "x" + seedsPerPit;
+    }
+}
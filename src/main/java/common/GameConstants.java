@@ -1,7 +1,9 @@
 package common;
 /**
  * The `GameConstants` class defines common constants used in the Mancala game.
- * These constants include the number of seeds per pit and the number of pits per player.
+ * These constants include the number of seeds per pit, the number of pits per player and the
+ * number of pits visited during a full sowing lap of the standard game, which is `GameConfig.DEFAULT`.
+ * Other variants are described by their own `GameConfig`.
  */
 public class GameConstants {
     /**
@@ -14,4 +16,10 @@ public class GameConstants {
      */
     public static final int PITS_PER_PLAYER = 6;
 
+    /**
+     * The number of pits that receive a seed during one full lap around the board, which is every pit
+     * except the opponent's large pit.
+     */
+    public static final int SOWING_LAP = 2 * PITS_PER_PLAYER + 1;
+
 }
@@ -1,21 +1,25 @@
 package core;
 
+import common.GameConfig;
 import model.Pit;
 import model.Player;
 import model.RegularPit;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The `Board` class represents the game board used in the Mancala game, where two players compete.
- * It facilitates the initialization of the game board, connects opposite pits, and manages the circular
- * connections for seed sowing. Additionally, it provides a method to visually print the current state
- * of the game board.
+ * It facilitates the initialization of the game board, seating the second player opposite the first so
+ * both share the pits of one board, through which seeds are sown in a circle and captured from opposite
+ * pits. Additionally, it provides a method to visually print the current state of the game board.
  */
 public class Board {
+    private static final ConcurrentHashMap<GameConfig, String> FORMATS = new ConcurrentHashMap<>(); // Per variant.
+
     private Player firstPlayer; // Represents the first player on the game board.
     private Player secondPlayer; // Represents the second player on the game board.
     /**
@@ -24,48 +28,78 @@ public class Board {
      */
     private Board() {}
     /**
-     * Creates and initializes a new game board with two players.
+     * Creates and initializes a new game board of the standard game with two players.
      *
      * @param firstPlayerName  The name of the first player.
      * @param secondPlayerName The name of the second player.
      * @return A new game board with initialized players and connections between pits.
      */
     public static Board create(String firstPlayerName, String secondPlayerName) {
+        return create(firstPlayerName, secondPlayerName, GameConfig.DEFAULT);
+    }
+    /**
+     * Creates and initializes a new game board of the given variant with two players.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param config           The variant to play.
+     * @return A new game board with initialized players and connections between pits.
+     */
+    public static Board create(String firstPlayerName, String secondPlayerName, GameConfig config) {
         Board board = new Board();
-        board.firstPlayer = new Player(firstPlayerName);
-        board.secondPlayer = new Player(secondPlayerName);
-
-        board.connectOppositePits();
-        board.formCycle();
+        board.firstPlayer = new Player(firstPlayerName, config);
+        board.secondPlayer = new Player(secondPlayerName, board.firstPlayer);
         return board;
     }
     /**
-     * Connects opposite pits of the first player to the corresponding pits of the second player.
-     * This connection is crucial for capturing seeds during the game.
+     * Puts every pit back to its initial number of seeds, so a board can be reused for a new game of the
+     * same variant without rebuilding its pits.
      */
-    private void connectOppositePits() {
-        IntStream.range(0, firstPlayer.getRegularPits().size())
-            .forEach((index) -> {
-                RegularPit currentPit = firstPlayer.getRegularPits().get(index);
-                RegularPit opposite = secondPlayer.getRegularPits()
-                        .get(secondPlayer.getRegularPits().size() - index - 1);
-                currentPit.setOppositePit(opposite);
-                opposite.setOppositePit(currentPit);
-            });
+    public void reset() {
+        int pits = getConfig().getPitsPerPlayer();
+        int seedsPerPit = getConfig().getSeedsPerPit();
+        for (int side = BoardState.FIRST_SIDE; side <= BoardState.SECOND_SIDE; side++) {
+            Player player = getPlayer(side);
+            for (int pit = 0; pit < pits; pit++) {
+                player.getRegularPit(pit).setSeeds(seedsPerPit);
+            }
+            player.getLargePit().setSeeds(0);
+        }
     }
     /**
-     * Forms a circular connection between pits to enable the circular movement of seeds during the game.
+     * Overwrites the seeds of every pit with those of another board of the same variant, so a board can be
+     * reused for another position without rebuilding its pits. The player names are left untouched.
+     *
+     * @param other The board to copy from.
+     * @throws IllegalArgumentException If the other board plays another variant.
      */
-    private void formCycle() {
-        firstPlayer.getRegularPits().getLast().setNextPit(firstPlayer.getLargePit());
-        firstPlayer.getLargePit().setNextPit(secondPlayer.getRegularPits().getFirst());
-        secondPlayer.getRegularPits().getLast().setNextPit(secondPlayer.getLargePit());
-        secondPlayer.getLargePit().setNextPit(firstPlayer.getRegularPits().getFirst());
+    public void copyFrom(Board other) {
+        if (other.getConfig() != getConfig()) {
+            throw new IllegalArgumentException("Cannot copy a " + other.getConfig() + " board to a "
+                    + getConfig() + " board");
+        }
+        int pits = getConfig().getPitsPerPlayer();
+        for (int side = BoardState.FIRST_SIDE; side <= BoardState.SECOND_SIDE; side++) {
+            Player player = getPlayer(side);
+            Player otherPlayer = other.getPlayer(side);
+            for (int pit = 0; pit < pits; pit++) {
+                player.getRegularPit(pit).setSeeds(otherPlayer.getRegularPit(pit).getSeeds());
+            }
+            player.getLargePit().setSeeds(otherPlayer.getLargePit().getSeeds());
+        }
     }
     /**
      * Prints a visual representation of the current game board's state, including the seeds in pits.
      */
     public void prettyPrint(){
+        prettyPrint(System.out);
+    }
+    /**
+     * Prints a visual representation of the current game board's state to the given stream.
+     *
+     * @param out The stream to print to.
+     */
+    public void prettyPrint(PrintStream out){
         List<Pit> secondPlayerPits = new ArrayList<>(secondPlayer.getRegularPits());
         Collections.reverse(secondPlayerPits);
 
@@ -81,13 +115,190 @@ public class Board {
                 .toList());
         values.add(firstPlayer.getName());
 
-        System.out.printf("""
-                               %s
-                     | %s | %s | %s | %s | %s | %s |
-                (%s)                             (%s)
-                     | %s | %s | %s | %s | %s | %s |
-                               %s
-                \n""", values.toArray());
+        out.printf(FORMATS.computeIfAbsent(getConfig(), Board::format), values.toArray());
+    }
+    /**
+     * Builds the `prettyPrint` format of a variant: the second player's name, their pits from right to left,
+     * both large pits, the first player's pits and the first player's name.
+     */
+    private static String format(GameConfig config) {
+        int pits = config.getPitsPerPlayer();
+        String name = " ".repeat(2 * pits + 3) + "%s\n";
+        String row = "     |" + " %s |".repeat(pits) + "\n";
+        String largePits = "(%s)" + " ".repeat(4 * pits + 5) + "(%s)\n";
+        return name + row + largePits + row + name + "\n";
+    }
+    /**
+     * Plays a move for the given side: sows the seeds of the selected pit and captures when possible. The
+     * returned record holds what `unmakeMove` needs to take the move back, so analysing a position does not
+     * require building a new board.
+     *
+     * @param side The side to move, `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     * @param pit  The zero-based regular pit to sow from, which must not be empty.
+     * @return The packed `MoveRecord` of the move.
+     */
+    public long makeMove(int side, int pit) {
+        Player player = getPlayer(side);
+        RegularPit selectedPit = player.getRegularPit(pit);
+        int seeds = selectedPit.getSeeds();
+        Pit endPit = player.takeTurn(selectedPit);
+
+        int captured = -1;
+        if (endPit instanceof RegularPit endRegularPit && player.canCapture(endRegularPit)) {
+            captured = endRegularPit.getOppositePit().getSeeds();
+            player.capture(endRegularPit);
+        }
+        boolean extraTurn = endPit == player.getLargePit();
+        return MoveRecord.pack(side, pit, seeds, endPit.getIndex(), captured, extraTurn);
+    }
+    /**
+     * Takes back a move made with `makeMove`, restoring every pit exactly. Moves must be taken back in the
+     * reverse order in which they were made.
+     *
+     * @param record The packed `MoveRecord` returned by `makeMove`.
+     */
+    public void unmakeMove(long record) {
+        Player player = getPlayer(MoveRecord.side(record));
+        RegularPit selectedPit = player.getRegularPit(MoveRecord.pit(record));
+        int seeds = MoveRecord.seeds(record);
+
+        if (MoveRecord.isCapture(record)) {
+            RegularPit endPit = (RegularPit) pitAt(MoveRecord.endIndex(record));
+            int captured = MoveRecord.capturedSeeds(record);
+            player.getLargePit().putSeeds(-1 - captured);
+            endPit.setSeeds(1);
+            endPit.getOppositePit().setSeeds(captured);
+        }
+
+        // Walk the sowing path again, removing the seeds which were put into every pit
+        int sowingLap = getConfig().getSowingLap();
+        int laps = seeds / sowingLap;
+        Pit currentPit = selectedPit;
+        if (laps > 0) {
+            do {
+                currentPit = currentPit.getNextPit();
+                if (currentPit.canPutSeed(player)) {
+                    currentPit.putSeeds(-laps);
+                }
+            } while (currentPit != selectedPit);
+        }
+        for (int remaining = seeds - laps * sowingLap; remaining > 0; ) {
+            currentPit = currentPit.getNextPit();
+            if (currentPit.canPutSeed(player)) {
+                currentPit.putSeeds(-1);
+                remaining--;
+            }
+        }
+        selectedPit.setSeeds(seeds);
+    }
+    /**
+     * Retrieves the legal moves of the given side, which are its non-empty regular pits.
+     *
+     * @param side `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     * @return A bit mask with bit `pit` set for every zero-based regular pit the side may sow from.
+     */
+    public int getLegalMoves(int side) {
+        return getPlayer(side).getLegalMoves();
+    }
+    /**
+     * Retrieves the legal moves of the given side whose last seed lands in its own large pit.
+     *
+     * @param side `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     * @return A bit mask with bit `pit` set for every move giving an extra turn.
+     */
+    public int getExtraTurnMoves(int side) {
+        Player player = getPlayer(side);
+        int pits = getConfig().getPitsPerPlayer();
+        int moves = 0;
+        for (int legal = player.getLegalMoves(); legal != 0; legal &= legal - 1) {
+            int pit = Integer.numberOfTrailingZeros(legal);
+            if (MoveMasks.isExtraTurn(pit, player.getRegularPit(pit).getSeeds(), pits)) {
+                moves |= 1 << pit;
+            }
+        }
+        return moves;
+    }
+    /**
+     * Retrieves the legal moves of the given side which capture the seeds of an opposite pit.
+     *
+     * @param side `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     * @return A bit mask with bit `pit` set for every capturing move.
+     */
+    public int getCaptureMoves(int side) {
+        Player player = getPlayer(side);
+        int pits = getConfig().getPitsPerPlayer();
+        int moves = 0;
+        for (int legal = player.getLegalMoves(); legal != 0; legal &= legal - 1) {
+            int pit = Integer.numberOfTrailingZeros(legal);
+            int seeds = player.getRegularPit(pit).getSeeds();
+            int end = MoveMasks.sowingEnd(pit, seeds, pits);
+            if (end < pits) {
+                RegularPit endPit = player.getRegularPit(end);
+                if (MoveMasks.isCapture(pit, seeds, pits, endPit.getSeeds(), endPit.getOppositePit().getSeeds())) {
+                    moves |= 1 << pit;
+                }
+            }
+        }
+        return moves;
+    }
+    /**
+     * Finds the pit at the given `BoardState` index.
+     */
+    private Pit pitAt(int index) {
+        int pitsPerPlayer = getConfig().getPitsPerPlayer();
+        Player player = getPlayer(index / (pitsPerPlayer + 1));
+        int pit = index % (pitsPerPlayer + 1);
+        return pit == pitsPerPlayer ? player.getLargePit() : player.getRegularPit(pit);
+    }
+    /**
+     * Copies the seeds of every pit on this board into the given board state, which must be of the same
+     * variant. The active side of the board state is left untouched since it is tracked by the `Game`.
+     *
+     * @param state The board state to write to.
+     */
+    public void exportTo(BoardState state) {
+        exportPlayer(firstPlayer, BoardState.FIRST_SIDE, state);
+        exportPlayer(secondPlayer, BoardState.SECOND_SIDE, state);
+    }
+    /**
+     * Overwrites the seeds of every pit on this board with the contents of the given board state.
+     *
+     * @param state The board state to read from.
+     */
+    public void importFrom(BoardState state) {
+        importPlayer(firstPlayer, BoardState.FIRST_SIDE, state);
+        importPlayer(secondPlayer, BoardState.SECOND_SIDE, state);
+    }
+    private static void exportPlayer(Player player, int side, BoardState state) {
+        int pit = 0;
+        for (RegularPit regularPit : player.getRegularPits()) {
+            state.setSeeds(state.regularPitIndex(side, pit++), regularPit.getSeeds());
+        }
+        state.setSeeds(state.largePitIndex(side), player.getLargePit().getSeeds());
+    }
+    private static void importPlayer(Player player, int side, BoardState state) {
+        int pit = 0;
+        for (RegularPit regularPit : player.getRegularPits()) {
+            regularPit.setSeeds(state.getSeeds(state.regularPitIndex(side, pit++)));
+        }
+        player.getLargePit().setSeeds(state.getSeeds(state.largePitIndex(side)));
+    }
+    /**
+     * Retrieves the variant played on this board.
+     *
+     * @return The game configuration.
+     */
+    public GameConfig getConfig() {
+        return firstPlayer.getConfig();
+    }
+    /**
+     * Retrieves the player playing the given side.
+     *
+     * @param side `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     * @return The first or the second player.
+     */
+    public Player getPlayer(int side) {
+        return side == BoardState.FIRST_SIDE ? firstPlayer : secondPlayer;
     }
     /**
      * Retrieves the first player on the game board.
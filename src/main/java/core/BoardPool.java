@@ -0,0 +1,115 @@
+package core;
+
+import common.GameConfig;
+
+/**
+ * The `BoardPool` class keeps boards which are no longer used, so simulations playing many games on a
+ * few long-lived threads can recycle them instead of building two players and all their pits for every
+ * game. Every thread has its own pool,
+ * so acquiring and releasing boards needs no locking; a board released on one thread may be acquired
+ * again on that thread only.
+ *
+ * <p>Player names belong to a board, so a pooled board is only handed out again for the same variant and
+ * the same names. Simulations use the same few names over and over. Pools live as long as their thread,
+ * which makes them useless for threads created per task, such as the exchange threads of the server.</p>
+ */
+public final class BoardPool {
+    /**
+     * The largest number of boards kept by the pool of one thread.
+     */
+    public static final int MAX_POOLED_BOARDS = 16;
+
+    private static final ThreadLocal<Board[]> POOLS = ThreadLocal.withInitial(() -> new Board[MAX_POOLED_BOARDS]);
+
+    /**
+     * Private constructor to prevent instantiation, since the class only holds static helpers.
+     */
+    private BoardPool() {}
+    /**
+     * Gets a board holding the initial position, from the pool of the calling thread when it holds a board
+     * of the same variant and names, or a new one otherwise.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param config           The variant to play.
+     * @return A board in the initial position, which the caller owns until it is released.
+     */
+    public static Board acquire(String firstPlayerName, String secondPlayerName, GameConfig config) {
+        Board board = take(firstPlayerName, secondPlayerName, config);
+        if (board == null) {
+            return Board.create(firstPlayerName, secondPlayerName, config);
+        }
+        board.reset();
+        return board;
+    }
+    /**
+     * Gets a board holding the same position and names as the given one, recycled from the pool of the
+     * calling thread when possible.
+     *
+     * @param source The board to copy.
+     * @return A copy of the board, which the caller owns until it is released.
+     */
+    public static Board copyOf(Board source) {
+        String firstPlayerName = source.getFirstPlayer().getName();
+        String secondPlayerName = source.getSecondPlayer().getName();
+        Board board = take(firstPlayerName, secondPlayerName, source.getConfig());
+        if (board == null) {
+            board = Board.create(firstPlayerName, secondPlayerName, source.getConfig());
+        }
+        board.copyFrom(source);
+        return board;
+    }
+    /**
+     * Hands a board back to the pool of the calling thread. The board must not be used by the caller
+     * afterwards. When the pool is full the board is left to the garbage collector.
+     *
+     * @param board The board to recycle.
+     */
+    public static void release(Board board) {
+        Board[] pool = POOLS.get();
+        int free = -1;
+        for (int slot = 0; slot < pool.length; slot++) {
+            if (pool[slot] == board) {
+                throw new IllegalStateException("The board has already been released");
+            }
+            if (pool[slot] == null && free < 0) {
+                free = slot;
+            }
+        }
+        if (free >= 0) {
+            pool[free] = board;
+        }
+    }
+    /**
+     * Counts the boards kept by the pool of the calling thread.
+     *
+     * @return The number of pooled boards.
+     */
+    public static int size() {
+        int size = 0;
+        for (Board board : POOLS.get()) {
+            if (board != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+    /**
+     * Removes a board of the given variant and names from the pool of the calling thread.
+     *
+     * @return The board, or null if the pool holds none.
+     */
+    private static Board take(String firstPlayerName, String secondPlayerName, GameConfig config) {
+        Board[] pool = POOLS.get();
+        for (int slot = 0; slot < pool.length; slot++) {
+            Board board = pool[slot];
+            if (board != null && board.getConfig() == config
+                    && board.getFirstPlayer().getName().equals(firstPlayerName)
+                    && board.getSecondPlayer().getName().equals(secondPlayerName)) {
+                pool[slot] = null;
+                return board;
+            }
+        }
+        return null;
+    }
+}
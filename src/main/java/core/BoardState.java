@@ -0,0 +1,545 @@
+package core;
+
+import common.GameConfig;
+
+/**
+ * The `BoardState` class is a compact, primitive representation of a Mancala board. The whole board is
+ * held in a single `int` array, so moves can be applied without walking the `Pit` object graph and
+ * without allocating any objects. It follows the same rules as `Player.takeTurn`, `Player.canCapture`,
+ * `Player.capture` and `Game.nextPlayer`, which makes it suitable for replaying and analysing
+ * large numbers of positions.
+ *
+ * <p>The array is laid out in sowing order: the first player's regular pits, the first player's large
+ * pit, the second player's regular pits and finally the second player's large pit. Its length depends on
+ * the `GameConfig` of the state, which is why the index helpers are instance methods.</p>
+ *
+ * <p>The number of seeds in each side's regular pits and the mask of their non-empty pits are kept up to
+ * date by every change to the array, so checking for the end of the game or listing the legal moves does
+ * not scan the pits.</p>
+ */
+public class BoardState {
+    /**
+     * The side index of the first player.
+     */
+    public static final int FIRST_SIDE = 0;
+    /**
+     * The side index of the second player.
+     */
+    public static final int SECOND_SIDE = 1;
+
+    private final GameConfig config; // The variant played on this board.
+    private final int pitsPerPlayer; // Regular pits per player.
+    private final int size; // Total number of pits on the board.
+    private final int sowingLap; // Pits receiving a seed during one full lap.
+    private final int[] pits; // Seeds per pit, indexed in sowing order.
+    private final int[] regularSeeds = new int[2]; // Seeds in the regular pits of each side.
+    private final int[] legalMoves = new int[2]; // Bit mask of the non-empty regular pits of each side.
+    private int activeSide; // The side which is about to move.
+
+    /**
+     * Private constructor to restrict external instantiation. Instances of the `BoardState` class are
+     * created using the `create` methods.
+     *
+     * @param config The variant played on this board.
+     */
+    private BoardState(GameConfig config) {
+        this.config = config;
+        this.pitsPerPlayer = config.getPitsPerPlayer();
+        this.size = 2 * pitsPerPlayer + 2;
+        this.sowingLap = config.getSowingLap();
+        this.pits = new int[size];
+    }
+    /**
+     * Creates a new board state of the standard game holding the initial position, with the first player
+     * to move.
+     *
+     * @return A new board state with every regular pit filled with the initial number of seeds.
+     */
+    public static BoardState create() {
+        return create(GameConfig.DEFAULT);
+    }
+    /**
+     * Creates a new board state of the given variant holding the initial position, with the first player
+     * to move.
+     *
+     * @param config The variant to play.
+     * @return A new board state with every regular pit filled with the initial number of seeds.
+     */
+    public static BoardState create(GameConfig config) {
+        BoardState state = new BoardState(config);
+        state.reset();
+        return state;
+    }
+    /**
+     * Resets this board state to the initial position, with the first player to move.
+     */
+    public void reset() {
+        config.copyInitialPits(pits);
+        regularSeeds[FIRST_SIDE] = config.getPitsPerPlayer() * config.getSeedsPerPit();
+        regularSeeds[SECOND_SIDE] = regularSeeds[FIRST_SIDE];
+        recountLegalMoves();
+        activeSide = FIRST_SIDE;
+    }
+    /**
+     * Overwrites this board state with the contents of another one of the same variant.
+     *
+     * @param other The board state to copy from.
+     */
+    public void copyFrom(BoardState other) {
+        System.arraycopy(other.pits, 0, pits, 0, size);
+        regularSeeds[FIRST_SIDE] = other.regularSeeds[FIRST_SIDE];
+        regularSeeds[SECOND_SIDE] = other.regularSeeds[SECOND_SIDE];
+        legalMoves[FIRST_SIDE] = other.legalMoves[FIRST_SIDE];
+        legalMoves[SECOND_SIDE] = other.legalMoves[SECOND_SIDE];
+        activeSide = other.activeSide;
+    }
+    /**
+     * Swaps both sides of the board: every pit moves to the same place on the other side and the other side
+     * becomes the side to move. The mirrored position is equivalent to the original one for the side to
+     * move, so mirroring a position with the second side to move gives its canonical orientation.
+     */
+    public void mirror() {
+        int half = pitsPerPlayer + 1;
+        for (int index = 0; index < half; index++) {
+            int seeds = pits[index];
+            pits[index] = pits[index + half];
+            pits[index + half] = seeds;
+        }
+        int seeds = regularSeeds[FIRST_SIDE];
+        regularSeeds[FIRST_SIDE] = regularSeeds[SECOND_SIDE];
+        regularSeeds[SECOND_SIDE] = seeds;
+        int moves = legalMoves[FIRST_SIDE];
+        legalMoves[FIRST_SIDE] = legalMoves[SECOND_SIDE];
+        legalMoves[SECOND_SIDE] = moves;
+        activeSide = opponentOf(activeSide);
+    }
+    /**
+     * Applies a move for the active side: sows the seeds of the selected pit, captures when possible and
+     * passes the turn to the next side.
+     *
+     * @param pit The zero-based regular pit of the active side to sow from.
+     * @return The board index of the pit where the last seed was sown.
+     */
+    public int move(int pit) {
+        return MoveRecord.endIndex(makeMove(pit));
+    }
+    /**
+     * Applies a move for the active side like `move`, and returns what is needed to take it back with
+     * `unmakeMove`. Searches use this pair to walk the game tree on a single board state.
+     *
+     * @param pit The zero-based regular pit of the active side to sow from.
+     * @return The packed `MoveRecord` of the move.
+     */
+    public long makeMove(int pit) {
+        int side = activeSide;
+        int current = regularPitIndex(side, pit);
+        int skippedPit = largePitIndex(opponentOf(side));
+        int seeds = pits[current];
+        int sownSeeds = seeds;
+        pits[current] = 0;
+        regularSeeds[side] -= seeds;
+        legalMoves[side] &= ~(1 << pit);
+
+        // Full laps put one seed in every pit except the opponent's large pit and end at the selected pit.
+        int laps = seeds / sowingLap;
+        if (laps > 0) {
+            for (int index = 0; index < size; index++) {
+                pits[index] += laps;
+            }
+            pits[skippedPit] -= laps;
+            regularSeeds[FIRST_SIDE] += laps * pitsPerPlayer;
+            regularSeeds[SECOND_SIDE] += laps * pitsPerPlayer;
+            legalMoves[FIRST_SIDE] = (1 << pitsPerPlayer) - 1;
+            legalMoves[SECOND_SIDE] = legalMoves[FIRST_SIDE];
+            seeds -= laps * sowingLap;
+        }
+
+        while (seeds > 0) {
+            current = current == size - 1 ? 0 : current + 1;
+            if (current != skippedPit) {
+                pits[current]++;
+                seeds--;
+                addRegularSeeds(current, 1);
+            }
+        }
+
+        // The last seed landed in an empty pit owned by the player and the opposite pit has seeds.
+        int captured = -1;
+        if (isRegularPitOf(side, current) && pits[current] == 1) {
+            int opposite = oppositePitIndex(current);
+            if (pits[opposite] > 0) {
+                captured = pits[opposite];
+                pits[largePitIndex(side)] += 1 + captured;
+                regularSeeds[side]--;
+                regularSeeds[opponentOf(side)] -= captured;
+                pits[current] = 0;
+                pits[opposite] = 0;
+                legalMoves[side] &= ~(1 << current - regularPitIndex(side, 0));
+                legalMoves[opponentOf(side)] &= ~(1 << opposite - regularPitIndex(opponentOf(side), 0));
+            }
+        }
+
+        // The player only keeps the turn when the last seed lands in their own large pit.
+        boolean extraTurn = current == largePitIndex(side);
+        if (!extraTurn) {
+            activeSide = opponentOf(side);
+        }
+        return MoveRecord.pack(side, pit, sownSeeds, current, captured, extraTurn);
+    }
+    /**
+     * Takes back the last move made with `makeMove`, restoring every pit and the active side exactly.
+     * Moves must be taken back in the reverse order in which they were made.
+     *
+     * @param record The packed `MoveRecord` returned by `makeMove`.
+     */
+    public void unmakeMove(long record) {
+        int side = MoveRecord.side(record);
+        int start = regularPitIndex(side, MoveRecord.pit(record));
+        int skippedPit = largePitIndex(opponentOf(side));
+        int seeds = MoveRecord.seeds(record);
+
+        if (MoveRecord.isCapture(record)) {
+            int end = MoveRecord.endIndex(record);
+            int captured = MoveRecord.capturedSeeds(record);
+            pits[largePitIndex(side)] -= 1 + captured;
+            pits[end] = 1;
+            pits[oppositePitIndex(end)] = captured;
+            regularSeeds[side]++;
+            regularSeeds[opponentOf(side)] += captured;
+            legalMoves[side] |= 1 << end - regularPitIndex(side, 0);
+            legalMoves[opponentOf(side)] |= 1 << oppositePitIndex(end) - regularPitIndex(opponentOf(side), 0);
+        }
+
+        // Remove the sown seeds along the same path, then put them back into the selected pit
+        int laps = seeds / sowingLap;
+        if (laps > 0) {
+            for (int index = 0; index < size; index++) {
+                pits[index] -= laps;
+            }
+            pits[skippedPit] += laps;
+            regularSeeds[FIRST_SIDE] -= laps * pitsPerPlayer;
+            regularSeeds[SECOND_SIDE] -= laps * pitsPerPlayer;
+            recountLegalMoves();
+        }
+
+        int current = start;
+        for (int remaining = seeds - laps * sowingLap; remaining > 0; ) {
+            current = current == size - 1 ? 0 : current + 1;
+            if (current != skippedPit) {
+                pits[current]--;
+                remaining--;
+                addRegularSeeds(current, -1);
+            }
+        }
+
+        pits[start] = seeds;
+        regularSeeds[side] += seeds;
+        legalMoves[side] |= 1 << MoveRecord.pit(record);
+        activeSide = side;
+    }
+    /**
+     * Checks if the active side may sow from the given pit.
+     *
+     * @param pit The zero-based regular pit of the active side.
+     * @return `true` if the pit exists and is not empty, `false` otherwise.
+     */
+    public boolean isLegalMove(int pit) {
+        return pit >= 0 && pit < pitsPerPlayer && (legalMoves[activeSide] & 1 << pit) != 0;
+    }
+    /**
+     * Gets the legal moves of the active side, which are its non-empty regular pits. The mask is kept up
+     * to date by every move, so it is read without scanning the pits.
+     *
+     * @return A bit mask with bit `pit` set for every zero-based regular pit the active side may sow from.
+     */
+    public int getLegalMoves() {
+        return legalMoves[activeSide];
+    }
+    /**
+     * Gets the non-empty regular pits of the given side.
+     *
+     * @param side The side.
+     * @return A bit mask with bit `pit` set for every non-empty zero-based regular pit of the side.
+     */
+    public int getLegalMoves(int side) {
+        return legalMoves[side];
+    }
+    /**
+     * Gets the legal moves of the active side whose last seed lands in its own large pit.
+     *
+     * @return A bit mask with bit `pit` set for every move giving an extra turn.
+     */
+    public int getExtraTurnMoves() {
+        return getExtraTurnMoves(activeSide);
+    }
+    /**
+     * Gets the moves of the given side whose last seed would land in its own large pit, as if it were
+     * about to move.
+     *
+     * @param side The side.
+     * @return A bit mask with bit `pit` set for every move giving an extra turn.
+     */
+    public int getExtraTurnMoves(int side) {
+        int moves = 0;
+        for (int legal = legalMoves[side]; legal != 0; legal &= legal - 1) {
+            int pit = Integer.numberOfTrailingZeros(legal);
+            if (MoveMasks.isExtraTurn(pit, pits[regularPitIndex(side, pit)], pitsPerPlayer)) {
+                moves |= 1 << pit;
+            }
+        }
+        return moves;
+    }
+    /**
+     * Gets the legal moves of the active side which capture the seeds of an opposite pit.
+     *
+     * @return A bit mask with bit `pit` set for every capturing move.
+     */
+    public int getCaptureMoves() {
+        return getCaptureMoves(activeSide);
+    }
+    /**
+     * Gets the moves of the given side which would capture the seeds of an opposite pit, as if it were
+     * about to move.
+     *
+     * @param side The side.
+     * @return A bit mask with bit `pit` set for every capturing move.
+     */
+    public int getCaptureMoves(int side) {
+        int moves = 0;
+        for (int legal = legalMoves[side]; legal != 0; legal &= legal - 1) {
+            int pit = Integer.numberOfTrailingZeros(legal);
+            int seeds = pits[regularPitIndex(side, pit)];
+            int end = MoveMasks.sowingEnd(pit, seeds, pitsPerPlayer);
+            if (end < pitsPerPlayer) {
+                int endIndex = regularPitIndex(side, end);
+                if (MoveMasks.isCapture(pit, seeds, pitsPerPlayer, pits[endIndex], pits[oppositePitIndex(endIndex)])) {
+                    moves |= 1 << pit;
+                }
+            }
+        }
+        return moves;
+    }
+    /**
+     * Checks if the game is over, which happens when either side has no seeds left in its regular pits.
+     *
+     * @return `true` if the game is over, `false` otherwise.
+     */
+    public boolean isGameOver() {
+        return noSeedsLeft(FIRST_SIDE) || noSeedsLeft(SECOND_SIDE);
+    }
+    /**
+     * Checks if the given side has no seeds left in its regular pits.
+     *
+     * @param side The side to check.
+     * @return `true` if there are no seeds left, `false` otherwise.
+     */
+    public boolean noSeedsLeft(int side) {
+        assert hasConsistentSeedCount() : "Seed counts are out of sync with the pits";
+        return regularSeeds[side] == 0;
+    }
+    /**
+     * Gets the number of seeds in the regular pits of the given side.
+     *
+     * @param side The side.
+     * @return The number of seeds in the side's regular pits.
+     */
+    public int getRegularSeeds(int side) {
+        return regularSeeds[side];
+    }
+    /**
+     * Recounts the seeds and the non-empty pits of both sides and compares them with the running totals
+     * and the legal move masks. Meant to be used in assertions, so the full scan only runs when assertions
+     * are enabled.
+     *
+     * @return `true` if both running totals and masks match the pits, `false` otherwise.
+     */
+    public boolean hasConsistentSeedCount() {
+        for (int side = FIRST_SIDE; side <= SECOND_SIDE; side++) {
+            int first = regularPitIndex(side, 0);
+            int seeds = 0;
+            int moves = 0;
+            for (int index = first; index < first + pitsPerPlayer; index++) {
+                seeds += pits[index];
+                if (pits[index] > 0) {
+                    moves |= 1 << index - first;
+                }
+            }
+            if (seeds != regularSeeds[side] || moves != legalMoves[side]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    /**
+     * Rebuilds the legal move masks of both sides from the pits, after changes which touch every pit.
+     */
+    private void recountLegalMoves() {
+        for (int side = FIRST_SIDE; side <= SECOND_SIDE; side++) {
+            int first = regularPitIndex(side, 0);
+            int moves = 0;
+            for (int pit = 0; pit < pitsPerPlayer; pit++) {
+                if (pits[first + pit] > 0) {
+                    moves |= 1 << pit;
+                }
+            }
+            legalMoves[side] = moves;
+        }
+    }
+    /**
+     * Determines the result of the game by comparing the seeds in both large pits.
+     *
+     * @return The result of the game.
+     */
+    public GameResult getResult() {
+        int firstPlayerScore = pits[largePitIndex(FIRST_SIDE)];
+        int secondPlayerScore = pits[largePitIndex(SECOND_SIDE)];
+
+        if (firstPlayerScore == secondPlayerScore) {
+            return GameResult.DRAW;
+        }
+        return firstPlayerScore > secondPlayerScore ? GameResult.FIRST_PLAYER_WON : GameResult.SECOND_PLAYER_WON;
+    }
+    /**
+     * Gets the number of seeds in the pit at the given board index.
+     *
+     * @param index The board index of the pit.
+     * @return The number of seeds in the pit.
+     */
+    public int getSeeds(int index) {
+        return pits[index];
+    }
+    /**
+     * Sets the number of seeds in the pit at the given board index.
+     *
+     * @param index The board index of the pit.
+     * @param seeds The number of seeds to set.
+     */
+    public void setSeeds(int index, int seeds) {
+        int added = seeds - pits[index];
+        pits[index] = seeds;
+        addRegularSeeds(index, added);
+    }
+    /**
+     * Adjusts the running total and the legal move mask of the side owning the pit at the given board
+     * index, unless the pit is a large pit. The pit must already hold its new seeds.
+     */
+    private void addRegularSeeds(int index, int seeds) {
+        int side;
+        int pit;
+        if (index < pitsPerPlayer) {
+            side = FIRST_SIDE;
+            pit = index;
+        }
+        else if (index > pitsPerPlayer && index < size - 1) {
+            side = SECOND_SIDE;
+            pit = index - pitsPerPlayer - 1;
+        }
+        else {
+            return;
+        }
+        regularSeeds[side] += seeds;
+        if (pits[index] == 0) {
+            legalMoves[side] &= ~(1 << pit);
+        }
+        else {
+            legalMoves[side] |= 1 << pit;
+        }
+    }
+    /**
+     * Gets the side which is about to move.
+     *
+     * @return `FIRST_SIDE` or `SECOND_SIDE`.
+     */
+    public int getActiveSide() {
+        return activeSide;
+    }
+    /**
+     * Sets the side which is about to move.
+     *
+     * @param activeSide `FIRST_SIDE` or `SECOND_SIDE`.
+     */
+    public void setActiveSide(int activeSide) {
+        this.activeSide = activeSide;
+    }
+    /**
+     * Gets the variant played on this board.
+     *
+     * @return The game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+    /**
+     * Gets the number of regular pits per player.
+     *
+     * @return The number of regular pits per player.
+     */
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+    /**
+     * Gets the total number of pits on the board, including both large pits.
+     *
+     * @return The number of pits on the board.
+     */
+    public int size() {
+        return size;
+    }
+    /**
+     * Gets the board index of a regular pit.
+     *
+     * @param side The side owning the pit.
+     * @param pit  The zero-based regular pit of that side.
+     * @return The board index of the pit.
+     */
+    public int regularPitIndex(int side, int pit) {
+        return side * (pitsPerPlayer + 1) + pit;
+    }
+    /**
+     * Gets the board index of a side's large pit.
+     *
+     * @param side The side owning the large pit.
+     * @return The board index of the large pit.
+     */
+    public int largePitIndex(int side) {
+        return side * (pitsPerPlayer + 1) + pitsPerPlayer;
+    }
+    /**
+     * Gets the board index of the regular pit opposite to the given one.
+     *
+     * @param index The board index of a regular pit.
+     * @return The board index of the opposite regular pit.
+     */
+    public int oppositePitIndex(int index) {
+        return 2 * pitsPerPlayer - index;
+    }
+    /**
+     * Gets the opponent of the given side.
+     *
+     * @param side The side for which the opponent needs to be determined.
+     * @return The opponent side.
+     */
+    public static int opponentOf(int side) {
+        return 1 - side;
+    }
+    /**
+     * Checks if the given board index refers to a large pit.
+     *
+     * @param index The board index.
+     * @return `true` for large pits, `false` for regular pits.
+     */
+    public boolean isLargePit(int index) {
+        return index % (pitsPerPlayer + 1) == pitsPerPlayer;
+    }
+    /**
+     * Checks if the given board index refers to a regular pit owned by the given side.
+     *
+     * @param side  The side.
+     * @param index The board index.
+     * @return `true` if the pit is one of the side's regular pits, `false` otherwise.
+     */
+    public boolean isRegularPitOf(int side, int index) {
+        int first = regularPitIndex(side, 0);
+        return index >= first && index < first + pitsPerPlayer;
+    }
+}
@@ -0,0 +1,69 @@
+package core;
+
+import model.Player;
+
+import java.io.PrintStream;
+
+/**
+ * The `ConsoleGameObserver` class shows the events of a `Game` as text, which is how console games are
+ * played unless another observer is given.
+ */
+public class ConsoleGameObserver implements GameObserver {
+    private final PrintStream out; // Receives the text.
+
+    /**
+     * Constructs a `ConsoleGameObserver` printing to `System.out`.
+     */
+    public ConsoleGameObserver() {
+        this(System.out);
+    }
+    /**
+     * Constructs a `ConsoleGameObserver` printing to the given stream.
+     *
+     * @param out The stream to print to.
+     */
+    public ConsoleGameObserver(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onNameRequested(ConsoleInputReader.InputType inputType, boolean againstComputer) {
+        if (againstComputer) {
+            out.println("Please enter your name...");
+        }
+        else if (inputType == ConsoleInputReader.InputType.FIRST_PLAYER_NAME) {
+            out.println("Please enter the first player's name...");
+        }
+        else {
+            out.println("Please enter the second player's name...");
+        }
+    }
+    @Override
+    public void onNameRejected(ConsoleInputReader.InputType inputType, boolean againstComputer) {
+        out.printf("Please enter a different name than the %s...\n", againstComputer ? "computer" : "first player");
+    }
+    @Override
+    public void onBoardChanged(Board board) {
+        board.prettyPrint(out);
+    }
+    @Override
+    public void onTurn(Player player) {
+        out.printf("%s, it is your turn. Please enter a pit number to start your move...\n", player.getName());
+    }
+    @Override
+    public void onInvalidMove(Player player, String message) {
+        out.println(message);
+    }
+    @Override
+    public void onComputerMove(Player player, int pitNumber, String details) {
+        out.printf("%s selected pit %d (%s)\n", player.getName(), pitNumber, details);
+    }
+    @Override
+    public void onGameOver(Board board, GameResult result) {
+        switch (result) {
+            case DRAW -> out.println("Game over, it is a draw!");
+            case FIRST_PLAYER_WON -> out.printf("Game over, %s won!\n", board.getFirstPlayer().getName());
+            case SECOND_PLAYER_WON -> out.printf("Game over, %s won!\n", board.getSecondPlayer().getName());
+        }
+    }
+}
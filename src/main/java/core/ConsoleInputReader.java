@@ -6,9 +6,10 @@ import java.io.InputStreamReader;
 
 /**
  * The `ConsoleInputReader` class provides methods for reading input from the console during the Mancala game.
- * It includes methods to read different types of input, such as player names and pit numbers.
+ * It includes methods to read different types of input, such as player names and pit numbers, and is the
+ * default `MoveSource` of console games.
  */
-public class ConsoleInputReader {
+public class ConsoleInputReader implements MoveSource {
     /**
      * An enumeration representing the types of input that can be read using this input reader.
      */
@@ -33,6 +34,7 @@ public class ConsoleInputReader {
      * @param inputType The type of input being read (e.g., player name or pit number).
      * @return The input as a string provided by the user.
      */
+    @Override
     public String readLine(InputType inputType){
         try{
             return reader.readLine();
@@ -45,6 +47,7 @@ public class ConsoleInputReader {
     /**
      * Closes the input reader, releasing any associated resources.
      */
+    @Override
     public void close(){
         try {
             reader.close();
@@ -1,5 +1,6 @@
 package core;
 
+import common.GameConfig;
 import exception.EmptyPitSelectedException;
 import exception.InvalidPitNumberException;
 import model.LargePit;
@@ -13,61 +14,258 @@ import model.RegularPit;
  * handles user interactions to drive the gameplay.
  */
 public class Game {
+    public static final int INVALID_PIT_NUMBER = -1; // `checkMove` result of input which is not a pit number.
+    public static final int EMPTY_PIT = -2; // `checkMove` result of a pit with no seeds.
     private final Board board; // Represents the game board where the Mancala game is played.
     private Player activePlayer; // Represents the currently active player taking their turn.
-    private final ConsoleInputReader inputReader; // Reads user input to facilitate player interactions.
+    private final MoveSource moveSource; // Supplies the names and the first player's moves.
+    private final MoveSource secondMoveSource; // Supplies the moves of the second player, often `moveSource`.
+    private final GameObserver observer; // Receives the events of console games.
+    private boolean recyclable; // Set for games whose board came from the `BoardPool` and goes back to it.
 
     /**
      * Private constructor to restrict external instantiation. Instances of the `Game` class are created
-     * using the `newGame()` method.
+     * using the `create()` methods.
      *
-     * @param board        The game board where the Mancala game is played.
+     * @param board            The game board where the Mancala game is played.
+     * @param moveSource       Supplies the moves of the first player, or `null` for games driven through `step`.
+     * @param secondMoveSource Supplies the moves of the second player, or `null` for games driven through
+     *                         `step`.
+     * @param observer         Receives the events of the game.
      */
-    private Game(Board board, ConsoleInputReader inputReader){
+    private Game(Board board, MoveSource moveSource, MoveSource secondMoveSource, GameObserver observer){
         this.board = board;
         this.activePlayer = board.getFirstPlayer();
-        this.inputReader = inputReader;
+        this.moveSource = moveSource;
+        this.secondMoveSource = secondMoveSource;
+        this.observer = observer;
     }
     /**
      * Creates a new Mancala game by taking player names as input from the user and initializing
      * the game board. It then starts the game and manages the gameplay.
+     *
+     * @param moveSource Supplies the players' names and moves.
+     * @return A new game with the first player to move, showing its events on the console.
+     */
+    public static Game create(MoveSource moveSource){
+        return create(moveSource, new ConsoleGameObserver());
+    }
+    /**
+     * Creates a new Mancala game between two human players whose names and moves come from the given
+     * source.
+     *
+     * @param moveSource Supplies the players' names and moves.
+     * @param observer   Receives the events of the game.
+     * @return A new game with the first player to move.
      */
-    public static Game create(ConsoleInputReader inputReader){
-        System.out.println("Please enter the first player's name...");
-        String firstPlayerName = inputReader.readLine(ConsoleInputReader.InputType.FIRST_PLAYER_NAME);
+    public static Game create(MoveSource moveSource, GameObserver observer){
+        observer.onNameRequested(ConsoleInputReader.InputType.FIRST_PLAYER_NAME, false);
+        String firstPlayerName = moveSource.readLine(ConsoleInputReader.InputType.FIRST_PLAYER_NAME);
 
-        System.out.println("Please enter the second player's name...");
+        observer.onNameRequested(ConsoleInputReader.InputType.SECOND_PLAYER_NAME, false);
         String secondPlayerName;
-        while ((secondPlayerName = inputReader.readLine(ConsoleInputReader.InputType.SECOND_PLAYER_NAME))
+        while ((secondPlayerName = moveSource.readLine(ConsoleInputReader.InputType.SECOND_PLAYER_NAME))
                 .equals(firstPlayerName)){
-            System.out.println("Please enter a different name than the first player...");
+            observer.onNameRejected(ConsoleInputReader.InputType.SECOND_PLAYER_NAME, false);
         }
 
         // Prepare board
         Board board = Board.create(firstPlayerName, secondPlayerName);
-        return new Game(board, inputReader);
+        return new Game(board, moveSource, moveSource, observer);
+    }
+    /**
+     * Creates a new Mancala game between a human, whose name and moves come from the given source, and a
+     * second player with a name and a move source of its own, such as the computer.
+     *
+     * @param moveSource       Supplies the human player's name and moves.
+     * @param secondPlayerName The name of the second player, which the human player may not take.
+     * @param secondMoveSource Supplies the moves of the second player.
+     * @param observer         Receives the events of the game.
+     * @return A new game with the human player to move.
+     */
+    public static Game create(MoveSource moveSource, String secondPlayerName, MoveSource secondMoveSource,
+                              GameObserver observer){
+        observer.onNameRequested(ConsoleInputReader.InputType.FIRST_PLAYER_NAME, true);
+        String firstPlayerName;
+        while ((firstPlayerName = moveSource.readLine(ConsoleInputReader.InputType.FIRST_PLAYER_NAME))
+                .equals(secondPlayerName)){
+            observer.onNameRejected(ConsoleInputReader.InputType.FIRST_PLAYER_NAME, true);
+        }
+
+        Board board = Board.create(firstPlayerName, secondPlayerName);
+        return new Game(board, moveSource, secondMoveSource, observer);
+    }
+    /**
+     * Creates a new Mancala game without any console interaction. The game is driven by calling
+     * `step` for every move, which makes it suitable for bots and automated runs.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @return A new game with the first player to move.
+     */
+    public static Game create(String firstPlayerName, String secondPlayerName){
+        return create(firstPlayerName, secondPlayerName, GameConfig.DEFAULT);
+    }
+    /**
+     * Creates a new Mancala game of the given variant without any console interaction. The game is driven
+     * by calling `step` for every move.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param config           The variant to play.
+     * @return A new game with the first player to move.
+     */
+    public static Game create(String firstPlayerName, String secondPlayerName, GameConfig config){
+        checkNames(firstPlayerName, secondPlayerName);
+        return new Game(Board.create(firstPlayerName, secondPlayerName, config), null, null,
+                NoOpGameObserver.INSTANCE);
+    }
+    /**
+     * Creates a new Mancala game like `create`, whose board is taken from the `BoardPool` of the calling
+     * thread when a game of the same variant and players has been recycled there. Meant for loops which
+     * play many games on one long-lived thread and call `recycle` once each game is done.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param config           The variant to play.
+     * @return A new game with the first player to move.
+     */
+    public static Game createRecyclable(String firstPlayerName, String secondPlayerName, GameConfig config){
+        checkNames(firstPlayerName, secondPlayerName);
+        Game game = new Game(BoardPool.acquire(firstPlayerName, secondPlayerName, config), null, null,
+                NoOpGameObserver.INSTANCE);
+        game.recyclable = true;
+        return game;
+    }
+    private static void checkNames(String firstPlayerName, String secondPlayerName) {
+        if (firstPlayerName.equals(secondPlayerName)) {
+            throw new IllegalArgumentException("Players must have different names");
+        }
+    }
+
+    /**
+     * Creates a Mancala game which resumes from the given position without any console interaction, for
+     * games restored from a snapshot.
+     *
+     * @param firstPlayerName  The name of the first player.
+     * @param secondPlayerName The name of the second player.
+     * @param position         The position to resume from, including the player to move.
+     * @return A game at the given position.
+     */
+    public static Game create(String firstPlayerName, String secondPlayerName, PositionSnapshot position){
+        Game game = create(firstPlayerName, secondPlayerName, position.getConfig());
+        game.board.importFrom(position.copyTo(null));
+        game.activePlayer = game.board.getPlayer(position.getActiveSide());
+        return game;
+    }
+
+    /**
+     * Hands the board of this game back to the `BoardPool` of the calling thread, so the next game of the
+     * same variant and players created with `createRecyclable` on this thread does not build a new one.
+     * The game must not be used afterwards.
+     *
+     * @throws IllegalStateException If the game was not created with `createRecyclable`, or has already
+     *                               been recycled.
+     */
+    public void recycle(){
+        if (!recyclable) {
+            throw new IllegalStateException("Only games created with createRecyclable can be recycled");
+        }
+        recyclable = false;
+        BoardPool.release(board);
     }
 
     /**
-     * Starts the Mancala game by initiating the first player's turn and prompting them to play.
+     * Starts the Mancala game and keeps asking the active player to play until the game is over.
+     * Turns are played in a loop, so the stack depth does not grow with the length of the game.
      */
     public GameResult start(){
-        board.prettyPrint();
-        return move();
+        observer.onBoardChanged(board);
+
+        while (!isOver()) {
+            play(askActivePlayerToPlay());
+            observer.onBoardChanged(board);
+        }
+
+        return finalizeGame();
     }
 
     /**
-     * Initiates a player's turn, allowing them to select a pit and sowing seeds.
+     * Plays a single move for the active player without any console interaction.
+     *
+     * @param pitNumber The pit number (starting at 1) selected by the active player.
+     * @return The outcome of the move, or `INVALID_MOVE` if the pit does not exist or is empty
+     *         (the game is left untouched in that case).
      */
-    private GameResult move(){
-        // Check if game is over
-        if(board.getFirstPlayer().noSeedsLeft() || board.getSecondPlayer().noSeedsLeft()){
-            return finalizeGame();
+    public StepResult step(int pitNumber){
+        if (isOver()) {
+            return StepResult.GAME_OVER;
         }
+        int pit = checkMove(pitNumber);
+        if (pit < 0) {
+            return StepResult.INVALID_MOVE;
+        }
+
+        Player player = activePlayer;
+        play(activePlayer.getRegularPit(pit));
+
+        if (isOver()) {
+            return StepResult.GAME_OVER;
+        }
+        return activePlayer == player ? StepResult.EXTRA_TURN : StepResult.TURN_PASSED;
+    }
+
+    /**
+     * Plays a move for the active player and returns a record to take it back with `unmakeMove`, which
+     * lets analysis try moves on the game itself instead of replaying it on a new board.
+     *
+     * @param pit The zero-based regular pit of the active player to sow from.
+     * @return The packed `MoveRecord` of the move.
+     * @throws IllegalStateException    If the game is already over.
+     * @throws IllegalArgumentException If the pit does not exist or is empty.
+     */
+    public long makeMove(int pit){
+        if (isOver()) {
+            throw new IllegalStateException("The game is already over");
+        }
+        if (pit < 0 || pit >= activePlayer.getRegularPits().size() || (activePlayer.getLegalMoves() & 1 << pit) == 0) {
+            throw new IllegalArgumentException("Pit " + pit + " cannot be played");
+        }
+
+        long record = board.makeMove(sideOf(activePlayer), pit);
+        if (!MoveRecord.isExtraTurn(record)) {
+            activePlayer = getOpponent(activePlayer);
+        }
+        return record;
+    }
+    /**
+     * Takes back a move made with `makeMove`, restoring the board and the active player exactly. Moves
+     * must be taken back in the reverse order in which they were made.
+     *
+     * @param record The packed `MoveRecord` returned by `makeMove`.
+     */
+    public void unmakeMove(long record){
+        board.unmakeMove(record);
+        activePlayer = board.getPlayer(MoveRecord.side(record));
+    }
+
+    /**
+     * Checks if the game is over, which happens when either player has no seeds left in their regular pits.
+     *
+     * @return `true` if the game is over, `false` otherwise.
+     */
+    public boolean isOver(){
+        return board.getFirstPlayer().noSeedsLeft() || board.getSecondPlayer().noSeedsLeft();
+    }
 
+    /**
+     * Sows the seeds of the selected pit, captures when possible and hands the turn to the next player.
+     *
+     * @param selectedPit The regular pit selected by the active player.
+     */
+    private void play(RegularPit selectedPit){
         // Allow active player to take turn
-        Pit endPit = activePlayer.takeTurn(askActivePlayerToPlay());
-        board.prettyPrint();
+        Pit endPit = activePlayer.takeTurn(selectedPit);
 
         // If the last seed lands in an empty pit owned by the player, and the opposite pit contains seeds,
         // both the last seed and the opposite seeds are captured and placed into the player’s large pit.
@@ -78,31 +276,17 @@ public class Game {
         }
 
         activePlayer = nextPlayer(endPit);
-        return move();
     }
     /**
-     * Asks the active player to select a pit for their turn and validates the input.
+     * Asks the active player to select a pit for their turn, through the move source of that player.
      *
      * @return The selected regular pit for the active player's turn.
      */
     public RegularPit askActivePlayerToPlay(){
-        RegularPit selectedPit;
-        System.out.printf("%s, it is your turn. Please enter a pit number to start your move...\n",
-                activePlayer.getName());
-
-        while (true){
-            String selectedPitStr = inputReader.readLine(ConsoleInputReader.InputType.PIT_NUMBER);
-            try {
-                selectedPit = validateMove(selectedPitStr);
-                break;
-            }
-            catch (InvalidPitNumberException |
-                   EmptyPitSelectedException exception){
-                System.out.println(exception.getMessage());
-            }
-        }
-
-        return selectedPit;
+        MoveSource activeMoveSource = activePlayer.equals(board.getFirstPlayer())
+                ? moveSource
+                : secondMoveSource;
+        return activeMoveSource.choosePit(this, observer);
     }
 
     /**
@@ -124,7 +308,75 @@ public class Game {
     }
 
     /**
-     * Validates the pit number selected by the player to ensure it's a valid move.
+     * Checks the pit number typed by the active player without throwing or allocating, for bots and servers
+     * which may receive a flood of bad input.
+     *
+     * @param input The pit number (starting at 1) as typed, which must be ASCII digits only to be valid.
+     * @return The zero-based pit of the active player, `INVALID_PIT_NUMBER` if the input is not one of
+     *         their pit numbers, or `EMPTY_PIT` if the pit is empty.
+     */
+    public int checkMove(CharSequence input){
+        int length = input.length();
+        if (length == 0) {
+            return INVALID_PIT_NUMBER;
+        }
+
+        int pits = board.getConfig().getPitsPerPlayer();
+        int pitNumber = 0;
+        for (int index = 0; index < length; index++) {
+            char digit = input.charAt(index);
+            if (digit < '0' || digit > '9') {
+                return INVALID_PIT_NUMBER;
+            }
+            pitNumber = 10 * pitNumber + (digit - '0');
+            // Stop before long inputs can overflow, as they are out of range anyway
+            if (pitNumber > pits) {
+                return INVALID_PIT_NUMBER;
+            }
+        }
+        return checkMove(pitNumber);
+    }
+    /**
+     * Checks a pit number selected by the active player without throwing or allocating.
+     *
+     * @param pitNumber The pit number (starting at 1).
+     * @return The zero-based pit of the active player, `INVALID_PIT_NUMBER` if the pit does not exist, or
+     *         `EMPTY_PIT` if it is empty.
+     */
+    public int checkMove(int pitNumber){
+        if (pitNumber < 1 || pitNumber > board.getConfig().getPitsPerPlayer()) {
+            return INVALID_PIT_NUMBER;
+        }
+        return (activePlayer.getLegalMoves() & 1 << pitNumber - 1) == 0 ? EMPTY_PIT : pitNumber - 1;
+    }
+    /**
+     * Gets the legal moves of the active player, which are their non-empty regular pits.
+     *
+     * @return A bit mask with bit `pit` set for every zero-based pit the active player may sow from, or 0
+     *         once the game is over.
+     */
+    public int getLegalMoves() {
+        return isOver() ? 0 : activePlayer.getLegalMoves();
+    }
+    /**
+     * Gets the legal moves of the active player whose last seed lands in their own large pit.
+     *
+     * @return A bit mask with bit `pit` set for every move giving an extra turn, or 0 once the game is over.
+     */
+    public int getExtraTurnMoves() {
+        return isOver() ? 0 : board.getExtraTurnMoves(sideOf(activePlayer));
+    }
+    /**
+     * Gets the legal moves of the active player which capture the seeds of an opposite pit.
+     *
+     * @return A bit mask with bit `pit` set for every capturing move, or 0 once the game is over.
+     */
+    public int getCaptureMoves() {
+        return isOver() ? 0 : board.getCaptureMoves(sideOf(activePlayer));
+    }
+    /**
+     * Validates the pit number selected by the player to ensure it's a valid move. This wraps `checkMove`
+     * for the console, whose loop reports the exception messages.
      *
      * @param pitNumberStr  The pit number selected by the player as a string.
      * @return The selected regular pit for the player's turn.
@@ -134,48 +386,44 @@ public class Game {
     protected RegularPit validateMove(String pitNumberStr) throws
             InvalidPitNumberException,
             EmptyPitSelectedException {
-        // Validate that the user entered a valid number
-        if(!pitNumberStr.matches("^\\d+$")){
+        int pit = checkMove(pitNumberStr);
+        if (pit == INVALID_PIT_NUMBER) {
             throw new InvalidPitNumberException();
         }
-
-        // Validate that the selected pit number is within the player's pits
-        int pitNumber = Integer.parseInt(pitNumberStr);
-        if (pitNumber < 1 || pitNumber > activePlayer.getRegularPits().size()) {
-            throw new InvalidPitNumberException();
-        }
-
-        // Validate that the selected pit is not empty
-        RegularPit selectedPit = activePlayer.getRegularPits().get(pitNumber - 1);
-        if (selectedPit.isEmpty()) {
+        if (pit == EMPTY_PIT) {
             throw new EmptyPitSelectedException();
         }
-
-        return selectedPit;
+        return activePlayer.getRegularPit(pit);
     }
     /**
      * Ends the game by determining the winner or declaring a draw.
      */
     private GameResult finalizeGame(){
+        GameResult gameResult = getResult();
+
+        observer.onGameOver(board, gameResult);
+        moveSource.close();
+        if (secondMoveSource != moveSource) {
+            secondMoveSource.close();
+        }
+        return gameResult;
+    }
+    /**
+     * Determines the result of the game by comparing the seeds in both large pits.
+     *
+     * @return The result of the game, based on the current large pit contents.
+     */
+    public GameResult getResult(){
         int firstPlayerScore = board.getFirstPlayer().getLargePit().getSeeds();
         int secondPlayerScore = board.getSecondPlayer().getLargePit().getSeeds();
-        GameResult gameResult;
 
         if(firstPlayerScore == secondPlayerScore){
-            System.out.println("Game over, it is a draw!");
-            gameResult = GameResult.DRAW;
+            return GameResult.DRAW;
         }
         else if(firstPlayerScore > secondPlayerScore){
-            System.out.printf("Game over, %s won!\n", board.getFirstPlayer().getName());
-            gameResult = GameResult.FIRST_PLAYER_WON;
+            return GameResult.FIRST_PLAYER_WON;
         }
-        else{
-            System.out.printf("Game over, %s won!\n", board.getSecondPlayer().getName());
-            gameResult = GameResult.SECOND_PLAYER_WON;
-        }
-
-        inputReader.close();
-        return gameResult;
+        return GameResult.SECOND_PLAYER_WON;
     }
     /**
      * Determines the next active player based on the pit where the last seed lands.
@@ -191,6 +439,15 @@ public class Game {
 
         return getOpponent(activePlayer);
     }
+    /**
+     * Retrieves the side played by the given player.
+     *
+     * @param player The player.
+     * @return `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     */
+    private int sideOf(Player player){
+        return player.equals(board.getFirstPlayer()) ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE;
+    }
     /**
      * Retrieves the opponent player of the given player.
      *
@@ -205,7 +462,8 @@ public class Game {
         return board.getFirstPlayer();
     }
     /**
-     * Main method to start a new Mancala game.
+     * Main method to start a new Mancala game between two human players. Games against the computer are
+     * started by `ai.ComputerMoveSource`.
      *
      * @param args The command-line arguments.
      */
@@ -0,0 +1,59 @@
+package core;
+
+import model.Player;
+
+/**
+ * The `GameObserver` interface receives the events of a console-driven `Game`, which are otherwise shown
+ * on the console by `ConsoleGameObserver`. `NoOpGameObserver` ignores them, so automated runs pay for
+ * neither formatting nor output.
+ */
+public interface GameObserver {
+    /**
+     * Called before the name of a player is read.
+     *
+     * @param inputType       `FIRST_PLAYER_NAME` or `SECOND_PLAYER_NAME`.
+     * @param againstComputer Whether the other player is the computer.
+     */
+    void onNameRequested(ConsoleInputReader.InputType inputType, boolean againstComputer);
+    /**
+     * Called when a name is rejected because the other player already has it, before it is read again.
+     *
+     * @param inputType       `FIRST_PLAYER_NAME` or `SECOND_PLAYER_NAME`.
+     * @param againstComputer Whether the other player is the computer.
+     */
+    void onNameRejected(ConsoleInputReader.InputType inputType, boolean againstComputer);
+    /**
+     * Called when the game starts and after every move.
+     *
+     * @param board The board of the game.
+     */
+    void onBoardChanged(Board board);
+    /**
+     * Called before the pit number of a human player is read.
+     *
+     * @param player The player to move.
+     */
+    void onTurn(Player player);
+    /**
+     * Called when the input of a human player is not a move they can play, before it is read again.
+     *
+     * @param player  The player to move.
+     * @param message Why the input was rejected.
+     */
+    void onInvalidMove(Player player, String message);
+    /**
+     * Called when the computer has chosen its move.
+     *
+     * @param player    The player played by the computer.
+     * @param pitNumber The selected pit number (starting at 1).
+     * @param details   How the move was chosen, such as the search result behind it.
+     */
+    void onComputerMove(Player player, int pitNumber, String details);
+    /**
+     * Called once the game is over.
+     *
+     * @param board  The board of the game.
+     * @param result The result of the game.
+     */
+    void onGameOver(Board board, GameResult result);
+}
@@ -0,0 +1,79 @@
+package core;
+
+/**
+ * The `MoveMasks` class tells which moves give an extra turn or capture from the seeds of the selected
+ * pit alone, with arithmetic rather than by sowing, so `BoardState`, `Board` and `Game` can hand out
+ * their extra-turn and capture moves as bit masks with one bit per regular pit.
+ *
+ * <p>Sowing visits the mover's regular pits, their large pit and the opponent's regular pits over and
+ * over, so the pit where the last seed lands only depends on the selected pit and its seeds modulo that
+ * lap. A mask is walked with a loop such as</p>
+ *
+ * <pre>
+ * for (int moves = state.getLegalMoves(); moves != 0; moves &amp;= moves - 1) {
+ *     int pit = Integer.numberOfTrailingZeros(moves);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class MoveMasks {
+    /**
+     * Private constructor to prevent instantiation, since the class only holds static helpers.
+     */
+    private MoveMasks() {}
+    /**
+     * Finds where the last seed of a move lands, relative to the mover: `0` to `pitsPerPlayer - 1` are
+     * the mover's regular pits, `pitsPerPlayer` is their large pit and higher values are the opponent's
+     * regular pits.
+     *
+     * @param pit           The zero-based regular pit to sow from.
+     * @param seeds         The seeds in that pit, which must not be zero.
+     * @param pitsPerPlayer The number of regular pits per player.
+     * @return The position of the pit where the last seed lands.
+     */
+    public static int sowingEnd(int pit, int seeds, int pitsPerPlayer) {
+        int lap = 2 * pitsPerPlayer + 1;
+        int end = pit + seeds;
+        // Most moves do not go round the board, which saves the division
+        return end < lap ? end : end % lap;
+    }
+    /**
+     * Checks if a move ends in the mover's large pit.
+     *
+     * @param pit           The zero-based regular pit to sow from.
+     * @param seeds         The seeds in that pit, which must not be zero.
+     * @param pitsPerPlayer The number of regular pits per player.
+     * @return `true` if the mover keeps the turn, `false` otherwise.
+     */
+    public static boolean isExtraTurn(int pit, int seeds, int pitsPerPlayer) {
+        return sowingEnd(pit, seeds, pitsPerPlayer) == pitsPerPlayer;
+    }
+    /**
+     * Checks if a move captures: its last seed lands in an empty regular pit of the mover and the
+     * opposite pit holds seeds once the move has been sown.
+     *
+     * @param pit           The zero-based regular pit to sow from.
+     * @param seeds         The seeds in that pit, which must not be zero.
+     * @param pitsPerPlayer The number of regular pits per player.
+     * @param endSeeds      The seeds in the pit at `sowingEnd` before the move.
+     * @param oppositeSeeds The seeds in the pit opposite to it before the move.
+     * @return `true` if the move captures, `false` otherwise.
+     */
+    public static boolean isCapture(int pit, int seeds, int pitsPerPlayer, int endSeeds, int oppositeSeeds) {
+        int lap = 2 * pitsPerPlayer + 1;
+        // More than a lap puts at least two seeds in the last pit
+        if (seeds > lap) {
+            return false;
+        }
+        int end = pit + seeds < lap ? pit + seeds : pit + seeds - lap;
+        if (end >= pitsPerPlayer) {
+            return false;
+        }
+        if (end > pit) {
+            return endSeeds == 0 && oppositeSeeds > 0;
+        }
+        // The move went round the opponent's side, sowing a seed in the opposite pit. A full lap ends in
+        // the selected pit, which was emptied.
+        return end == pit || endSeeds == 0;
+    }
+}
@@ -0,0 +1,106 @@
+package core;
+
+/**
+ * The `MoveRecord` class packs everything needed to take a move back into a single `long`, so that
+ * `BoardState.makeMove`, `Board.makeMove` and `Game.makeMove` can hand out undo records without
+ * allocating. A record holds the side which moved, the selected pit and its seeds, the board index of
+ * the pit where the last seed was sown, whether the move captured and how many seeds were taken from the
+ * opposite pit, and whether the move gave an extra turn.
+ *
+ * <p>Board indexes follow the layout of `BoardState`. A move can be redone by making the move of
+ * `pit(record)` again.</p>
+ */
+public final class MoveRecord {
+    private static final int SIDE_SHIFT = 5;
+    private static final int SEEDS_SHIFT = 8;
+    private static final int END_SHIFT = 24;
+    private static final int CAPTURED_SHIFT = 32;
+    private static final long CAPTURE_FLAG = 1L << 48;
+    private static final long EXTRA_TURN_FLAG = 1L << 49;
+
+    /**
+     * Private constructor to prevent instantiation, since the class only holds static helpers.
+     */
+    private MoveRecord() {}
+    /**
+     * Packs a move into a record.
+     *
+     * @param side      The side which moved.
+     * @param pit       The zero-based regular pit the side sowed from.
+     * @param seeds     The seeds which were in the selected pit.
+     * @param endIndex  The board index of the pit where the last seed was sown.
+     * @param captured  The seeds taken from the opposite pit, or -1 if the move did not capture.
+     * @param extraTurn `true` if the side keeps the turn.
+     * @return The packed record.
+     */
+    static long pack(int side, int pit, int seeds, int endIndex, int captured, boolean extraTurn) {
+        long record = pit | (long) side << SIDE_SHIFT | (long) seeds << SEEDS_SHIFT | (long) endIndex << END_SHIFT;
+        if (captured >= 0) {
+            record |= CAPTURE_FLAG | (long) captured << CAPTURED_SHIFT;
+        }
+        return extraTurn ? record | EXTRA_TURN_FLAG : record;
+    }
+    /**
+     * Gets the side which made the move, and which is to move again once the move is taken back.
+     *
+     * @param record The packed record.
+     * @return `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     */
+    public static int side(long record) {
+        return (int) (record >>> SIDE_SHIFT) & 1;
+    }
+    /**
+     * Gets the regular pit the move sowed from.
+     *
+     * @param record The packed record.
+     * @return The zero-based regular pit of the side which moved.
+     */
+    public static int pit(long record) {
+        return (int) record & 0x1F;
+    }
+    /**
+     * Gets the number of seeds which were sown.
+     *
+     * @param record The packed record.
+     * @return The seeds which were in the selected pit before the move.
+     */
+    public static int seeds(long record) {
+        return (int) (record >>> SEEDS_SHIFT) & 0xFFFF;
+    }
+    /**
+     * Gets the pit where the last seed was sown.
+     *
+     * @param record The packed record.
+     * @return The board index of the pit.
+     */
+    public static int endIndex(long record) {
+        return (int) (record >>> END_SHIFT) & 0xFF;
+    }
+    /**
+     * Checks if the move captured.
+     *
+     * @param record The packed record.
+     * @return `true` if the last seed and the opposite seeds went to the mover's large pit.
+     */
+    public static boolean isCapture(long record) {
+        return (record & CAPTURE_FLAG) != 0;
+    }
+    /**
+     * Gets the seeds the move took from the opposite pit.
+     *
+     * @param record The packed record.
+     * @return The captured opposite seeds, or 0 if the move did not capture.
+     */
+    public static int capturedSeeds(long record) {
+        return (int) (record >>> CAPTURED_SHIFT) & 0xFFFF;
+    }
+    /**
+     * Checks if the move gave the mover an extra turn.
+     *
+     * @param record The packed record.
+     * @return `true` if the last seed landed in the mover's own large pit.
+     */
+    public static boolean isExtraTurn(long record) {
+        return (record & EXTRA_TURN_FLAG) != 0;
+    }
+}
@@ -0,0 +1,47 @@
+package core;
+
+import exception.EmptyPitSelectedException;
+import exception.InvalidPitNumberException;
+import model.Player;
+import model.RegularPit;
+
+/**
+ * The `MoveSource` interface supplies the input of a console-driven `Game`: the names of the players and
+ * the pits they select. Every player of a game has a move source, which both players may share.
+ * `ConsoleInputReader` reads the input from the console; other sources may replay scripted input, so games
+ * can be played without `System.in`, or choose the pits themselves, as `ai.ComputerMoveSource` does.
+ */
+public interface MoveSource {
+    /**
+     * Reads the next input of the given type.
+     *
+     * @param inputType The type of input being read (e.g., player name or pit number).
+     * @return The input as a string, to be validated by the game.
+     */
+    String readLine(ConsoleInputReader.InputType inputType);
+    /**
+     * Chooses the pit of the active player of a game, whom this source plays for. Sources reading input
+     * show the turn to the observer and read pit numbers until one can be played, reporting every other
+     * input as an invalid move.
+     *
+     * @param game     The game, whose active player is to move. It must not be modified.
+     * @param observer Receives the events of the turn.
+     * @return The regular pit the active player sows.
+     */
+    default RegularPit choosePit(Game game, GameObserver observer) {
+        Player player = game.getActivePlayer();
+        observer.onTurn(player);
+        while (true) {
+            try {
+                return game.validateMove(readLine(ConsoleInputReader.InputType.PIT_NUMBER));
+            }
+            catch (InvalidPitNumberException | EmptyPitSelectedException exception) {
+                observer.onInvalidMove(player, exception.getMessage());
+            }
+        }
+    }
+    /**
+     * Releases any resources held by the source once the game is over.
+     */
+    default void close() {}
+}
@@ -0,0 +1,31 @@
+package core;
+
+import model.Player;
+
+/**
+ * The `NoOpGameObserver` class ignores every event of a `Game`, for automated runs which need neither
+ * formatting nor output.
+ */
+public final class NoOpGameObserver implements GameObserver {
+    public static final NoOpGameObserver INSTANCE = new NoOpGameObserver(); // The only instance.
+
+    /**
+     * Private constructor to prevent instantiation, as the shared `INSTANCE` holds no state.
+     */
+    private NoOpGameObserver() {}
+
+    @Override
+    public void onNameRequested(ConsoleInputReader.InputType inputType, boolean againstComputer) {}
+    @Override
+    public void onNameRejected(ConsoleInputReader.InputType inputType, boolean againstComputer) {}
+    @Override
+    public void onBoardChanged(Board board) {}
+    @Override
+    public void onTurn(Player player) {}
+    @Override
+    public void onInvalidMove(Player player, String message) {}
+    @Override
+    public void onComputerMove(Player player, int pitNumber, String details) {}
+    @Override
+    public void onGameOver(Board board, GameResult result) {}
+}
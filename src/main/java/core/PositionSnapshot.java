@@ -0,0 +1,189 @@
+package core;
+
+import common.GameConfig;
+import model.Player;
+
+import java.util.Arrays;
+
+/**
+ * The `PositionSnapshot` class is an immutable copy of a position: the variant, the seeds of every pit in
+ * the `BoardState` layout and the side to move. Snapshots are cheap to pass between threads, which makes
+ * them the unit of work of batch analysis.
+ *
+ * <p>A snapshot also has a compact text form: the variant, the first player's regular pits and large pit,
+ * the second player's regular pits and large pit, and the side to move as `1` or `2`. The initial position
+ * of the standard game reads `6x4 4,4,4,4,4,4:0 4,4,4,4,4,4:0 1`.</p>
+ */
+public final class PositionSnapshot {
+    private final GameConfig config; // The variant of the position.
+    private final int[] pits; // Seeds per pit in the `BoardState` layout.
+    private final int activeSide; // The side to move.
+
+    private PositionSnapshot(GameConfig config, int[] pits, int activeSide) {
+        this.config = config;
+        this.pits = pits;
+        this.activeSide = activeSide;
+    }
+    /**
+     * Takes a snapshot of a board state.
+     *
+     * @param state The board state to copy.
+     * @return The snapshot.
+     */
+    public static PositionSnapshot of(BoardState state) {
+        int[] pits = new int[state.size()];
+        for (int index = 0; index < pits.length; index++) {
+            pits[index] = state.getSeeds(index);
+        }
+        return new PositionSnapshot(state.getConfig(), pits, state.getActiveSide());
+    }
+    /**
+     * Takes a snapshot of the pits of a board.
+     *
+     * @param board  The board to copy.
+     * @param toMove The player who is about to move.
+     * @return The snapshot.
+     */
+    public static PositionSnapshot of(Board board, Player toMove) {
+        BoardState state = BoardState.create(board.getConfig());
+        board.exportTo(state);
+        state.setActiveSide(toMove.equals(board.getFirstPlayer()) ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE);
+        return of(state);
+    }
+    /**
+     * Parses the compact text form of a position.
+     *
+     * @param text The compact form, as produced by `toString`.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If the text is not a valid position, or does not hold the seeds of
+     *                                  its variant.
+     */
+    public static PositionSnapshot parse(String text) {
+        String[] parts = text.strip().split("\\s+");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected a variant, two sides and the side to move: " + text);
+        }
+
+        try {
+            String[] variant = parts[0].split("x");
+            GameConfig config = GameConfig.of(Integer.parseInt(variant[0]), Integer.parseInt(variant[1]));
+            int half = config.getPitsPerPlayer() + 1;
+            int[] pits = new int[2 * half];
+            parseSide(parts[1], pits, 0, config);
+            parseSide(parts[2], pits, half, config);
+
+            int seeds = Arrays.stream(pits).sum();
+            if (seeds != config.getTotalSeeds()) {
+                throw new IllegalArgumentException("The position holds " + seeds + " seeds instead of "
+                        + config.getTotalSeeds() + ": " + text);
+            }
+
+            int activeSide = Integer.parseInt(parts[3]) - 1;
+            if (activeSide != BoardState.FIRST_SIDE && activeSide != BoardState.SECOND_SIDE) {
+                throw new IllegalArgumentException("The side to move must be 1 or 2: " + text);
+            }
+            return new PositionSnapshot(config, pits, activeSide);
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Not a position: " + text);
+        }
+    }
+    /**
+     * Overwrites a board state with this position, replacing it when it is of another variant.
+     *
+     * @param state The board state to reuse, or `null`.
+     * @return The given board state, or a new one of the snapshot's variant.
+     */
+    public BoardState copyTo(BoardState state) {
+        if (state == null || state.getConfig() != config) {
+            state = BoardState.create(config);
+        }
+        for (int index = 0; index < pits.length; index++) {
+            state.setSeeds(index, pits[index]);
+        }
+        state.setActiveSide(activeSide);
+        return state;
+    }
+    /**
+     * Gets the variant of the position.
+     *
+     * @return The game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+    /**
+     * Gets the side to move.
+     *
+     * @return `BoardState.FIRST_SIDE` or `BoardState.SECOND_SIDE`.
+     */
+    public int getActiveSide() {
+        return activeSide;
+    }
+    /**
+     * Gets the number of seeds in a pit.
+     *
+     * @param index The `BoardState` index of the pit.
+     * @return The number of seeds in the pit.
+     */
+    public int getSeeds(int index) {
+        return pits[index];
+    }
+
+    /**
+     * Compares this snapshot with another object for equality.
+     *
+     * @param obj The object to compare with this snapshot.
+     * @return `true` if the object is a snapshot of the same position, `false` otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof PositionSnapshot snapshot) {
+            return config == snapshot.config && activeSide == snapshot.activeSide
+                    && Arrays.equals(pits, snapshot.pits);
+        }
+        return false;
+    }
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(pits) + activeSide;
+    }
+    /**
+     * Formats the position in its compact text form.
+     *
+     * @return The compact form, which `parse` reads back.
+     */
+    @Override
+    public String toString() {
+        int half = config.getPitsPerPlayer() + 1;
+        StringBuilder text = new StringBuilder(config.toString());
+        for (int side = BoardState.FIRST_SIDE; side <= BoardState.SECOND_SIDE; side++) {
+            text.append(' ');
+            for (int pit = 0; pit < half - 1; pit++) {
+                text.append(pit == 0 ? "" : ",").append(pits[side * half + pit]);
+            }
+            text.append(':').append(pits[side * half + half - 1]);
+        }
+        return text.append(' ').append(activeSide + 1).toString();
+    }
+
+    private static void parseSide(String text, int[] pits, int offset, GameConfig config) {
+        String[] parts = text.split(":");
+        String[] regularPits = parts[0].split(",");
+        if (parts.length != 2 || regularPits.length != config.getPitsPerPlayer()) {
+            throw new IllegalArgumentException("Expected " + config.getPitsPerPlayer() + " pits and a large pit: "
+                    + text);
+        }
+        for (int pit = 0; pit < regularPits.length; pit++) {
+            pits[offset + pit] = parseSeeds(regularPits[pit]);
+        }
+        pits[offset + regularPits.length] = parseSeeds(parts[1]);
+    }
+    private static int parseSeeds(String text) {
+        int seeds = Integer.parseInt(text);
+        if (seeds < 0) {
+            throw new IllegalArgumentException("Negative number of seeds: " + text);
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,11 @@
+package core;
+
+/**
+ * The outcome of a single move played through `Game.step`.
+ */
+public enum StepResult {
+    INVALID_MOVE,
+    TURN_PASSED,
+    EXTRA_TURN,
+    GAME_OVER;
+}
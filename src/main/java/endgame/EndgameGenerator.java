@@ -0,0 +1,194 @@
+package endgame;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `EndgameGenerator` class solves every position with at most a given number of seeds in the regular
+ * pits and writes the results to an endgame tablebase file, which is read by `EndgameTablebase`.
+ *
+ * <p>For every position, relative to the side to move, the generator computes the best difference the
+ * side to move can add to the large pits (its own seeds gained minus the opponent's) until the game is
+ * over, and the number of plies until then. Since the large pits do not influence the rest of the game,
+ * this single value gives the exact outcome for any large pit contents.</p>
+ *
+ * <p>Positions are solved backwards from the finished games. A move either moves seeds off the board
+ * into a large pit, or keeps all seeds on the mover's side and moves them closer to the mover's large
+ * pit. Solving positions by increasing number of seeds, and within that by increasing total distance of
+ * the seeds to their large pits, therefore always finds the positions reached by a move already solved.
+ * </p>
+ */
+public class EndgameGenerator {
+    private static final int MAX_SUPPORTED_SEEDS = 20;
+
+    private final GameConfig config; // The variant whose pits are solved; the seeds per pit do not matter.
+    private final int pits; // Regular pits per player.
+    private final int maxSeeds; // The largest number of seeds in the regular pits which is solved.
+    private final EndgameIndex index; // Maps positions to their offset in the tablebase.
+
+    /**
+     * Constructs an `EndgameGenerator` of the standard game for positions with at most the given number of
+     * seeds on the board.
+     *
+     * @param maxSeeds The largest number of seeds in the regular pits.
+     */
+    public EndgameGenerator(int maxSeeds) {
+        this(GameConfig.DEFAULT, maxSeeds);
+    }
+    /**
+     * Constructs an `EndgameGenerator` of the given variant for positions with at most the given number of
+     * seeds on the board.
+     *
+     * @param config   The variant to solve.
+     * @param maxSeeds The largest number of seeds in the regular pits.
+     */
+    public EndgameGenerator(GameConfig config, int maxSeeds) {
+        if (maxSeeds < 0 || maxSeeds > MAX_SUPPORTED_SEEDS) {
+            throw new IllegalArgumentException("The number of seeds must be between 0 and " + MAX_SUPPORTED_SEEDS);
+        }
+        this.config = config;
+        this.pits = config.getPitsPerPlayer();
+        this.maxSeeds = maxSeeds;
+        this.index = new EndgameIndex(pits, maxSeeds);
+        if (index.size() > EndgameTablebase.MAX_POSITIONS) {
+            throw new IllegalArgumentException("Too many positions for " + config + " with " + maxSeeds + " seeds");
+        }
+    }
+    /**
+     * Solves every position and writes the tablebase file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void generate(Path path) throws IOException {
+        int size = (int) index.size();
+        byte[] values = new byte[size];
+        byte[] distances = new byte[size];
+        solve(values, distances);
+        write(path, values, distances);
+    }
+
+    private void solve(byte[] values, byte[] distances) {
+        int size = values.length;
+        int maxPotential = maxSeeds * pits;
+        BoardState position = BoardState.create(config);
+        BoardState child = BoardState.create(config);
+
+        // Sort the positions by seeds on the board and then by potential, using a counting sort
+        int[] bucketStarts = new int[(maxSeeds + 1) * (maxPotential + 1) + 1];
+        for (int rank = 0; rank < size; rank++) {
+            index.unrank(rank, position);
+            bucketStarts[order(position, maxPotential) + 1]++;
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++) {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+        int[] sortedRanks = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            index.unrank(rank, position);
+            sortedRanks[bucketStarts[order(position, maxPotential)]++] = rank;
+        }
+
+        for (int rank : sortedRanks) {
+            index.unrank(rank, position);
+            if (position.isGameOver()) {
+                continue;
+            }
+
+            int bestValue = Integer.MIN_VALUE;
+            int bestDistance = 0;
+            for (int pit = 0; pit < pits; pit++) {
+                if (!position.isLegalMove(pit)) {
+                    continue;
+                }
+
+                child.copyFrom(position);
+                child.move(pit);
+                int value = child.getSeeds(child.largePitIndex(BoardState.FIRST_SIDE));
+                int distance = 1;
+                if (!child.isGameOver()) {
+                    int childRank = (int) index.rank(child, child.getActiveSide());
+                    boolean extraTurn = child.getActiveSide() == BoardState.FIRST_SIDE;
+                    value += extraTurn ? values[childRank] : -values[childRank];
+                    distance += Byte.toUnsignedInt(distances[childRank]);
+                }
+
+                if (value > bestValue || (value == bestValue && distance < bestDistance)) {
+                    bestValue = value;
+                    bestDistance = distance;
+                }
+            }
+            values[rank] = (byte) bestValue;
+            distances[rank] = (byte) Math.min(bestDistance, 255);
+        }
+    }
+    /**
+     * Computes the solving order of a position: its seeds on the board, then the total distance of its
+     * seeds to the large pit of their owner.
+     */
+    private int order(BoardState position, int maxPotential) {
+        int seeds = 0;
+        int potential = 0;
+        for (int side = BoardState.FIRST_SIDE; side <= BoardState.SECOND_SIDE; side++) {
+            for (int pit = 0; pit < pits; pit++) {
+                int pitSeeds = position.getSeeds(position.regularPitIndex(side, pit));
+                seeds += pitSeeds;
+                potential += pitSeeds * (pits - pit);
+            }
+        }
+        return seeds * (maxPotential + 1) + potential;
+    }
+
+    private void write(Path path, byte[] values, byte[] distances) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(EndgameTablebase.MAGIC)
+                    .putInt(pits)
+                    .putInt(maxSeeds)
+                    .putLong(values.length);
+            while (buffer.position() < EndgameTablebase.HEADER_SIZE) {
+                buffer.put((byte) 0);
+            }
+
+            for (int rank = 0; rank < values.length; rank++) {
+                if (buffer.remaining() < EndgameTablebase.ENTRY_SIZE) {
+                    drain(channel, buffer);
+                }
+                buffer.put(values[rank]).put(distances[rank]);
+            }
+            drain(channel, buffer);
+        }
+    }
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    /**
+     * Generates a tablebase from the command line.
+     *
+     * @param args The largest number of seeds on the board, the file to write and the pits per player.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int maxSeeds = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        Path path = Paths.get(args.length > 1 ? args[1] : "endgame-" + maxSeeds + ".bin");
+        int pits = args.length > 2 ? Integer.parseInt(args[2]) : GameConfig.DEFAULT.getPitsPerPlayer();
+
+        long startTime = System.nanoTime();
+        new EndgameGenerator(GameConfig.of(pits, 1), maxSeeds).generate(path);
+        System.out.printf("Solved %d positions with up to %d seeds in %d ms, written to %s\n",
+                new EndgameIndex(pits, maxSeeds).size(), maxSeeds, (System.nanoTime() - startTime) / 1_000_000, path);
+    }
+}
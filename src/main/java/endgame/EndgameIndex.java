@@ -0,0 +1,108 @@
+package endgame;
+
+import core.BoardState;
+
+/**
+ * The `EndgameIndex` class maps every distribution of at most `maxSeeds` seeds over the regular pits of
+ * the board to a unique number between 0 and `size() - 1` (combinatorial ranking), and back.
+ *
+ * <p>Positions are always read relative to a side: that side's regular pits come first, followed by the
+ * opponent's regular pits. Large pits are not part of the index since they do not influence the rest of
+ * the game.</p>
+ */
+final class EndgameIndex {
+    private final int pitsPerPlayer; // Regular pits per player.
+    private final int pits; // Regular pits on the board.
+    private final int maxSeeds; // The largest number of seeds on the board which is indexed.
+    private final long[][] counts; // counts[pits][seeds] = number of ways to put at most `seeds` in `pits`.
+
+    /**
+     * Constructs an `EndgameIndex` for positions with at most the given number of seeds on the board.
+     *
+     * @param pitsPerPlayer The number of regular pits per player.
+     * @param maxSeeds      The largest number of seeds in the regular pits.
+     */
+    EndgameIndex(int pitsPerPlayer, int maxSeeds) {
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.pits = 2 * pitsPerPlayer;
+        this.maxSeeds = maxSeeds;
+        this.counts = new long[pits + 1][maxSeeds + 1];
+        for (int seeds = 0; seeds <= maxSeeds; seeds++) {
+            counts[0][seeds] = 1;
+        }
+        for (int pitCount = 1; pitCount <= pits; pitCount++) {
+            counts[pitCount][0] = 1;
+            for (int seeds = 1; seeds <= maxSeeds; seeds++) {
+                counts[pitCount][seeds] = counts[pitCount][seeds - 1] + counts[pitCount - 1][seeds];
+            }
+        }
+    }
+    /**
+     * Gets the number of indexed positions.
+     *
+     * @return The number of distributions of at most `maxSeeds` seeds over the regular pits.
+     */
+    long size() {
+        return counts[pits][maxSeeds];
+    }
+    /**
+     * Computes the index of a position, read relative to the given side.
+     *
+     * @param state The position, with at most `maxSeeds` seeds in the regular pits.
+     * @param side  The side whose regular pits come first.
+     * @return The index of the position.
+     */
+    long rank(BoardState state, int side) {
+        long rank = 0;
+        int remaining = maxSeeds;
+        for (int pit = 0; pit < pits; pit++) {
+            // Positions whose pit holds fewer seeds come before this one
+            int seeds = state.getSeeds(boardIndex(state, side, pit));
+            rank += counts[pits - pit][remaining] - counts[pits - pit][remaining - seeds];
+            remaining -= seeds;
+        }
+        return rank;
+    }
+    /**
+     * Writes the position with the given index into a board state, relative to the first side. Both
+     * large pits are emptied and the first side is to move.
+     *
+     * @param rank  The index of the position.
+     * @param state The board state to write to.
+     */
+    void unrank(long rank, BoardState state) {
+        int remaining = maxSeeds;
+        for (int pit = 0; pit < pits; pit++) {
+            // Take as many seeds as possible while the positions skipped stay below the index
+            long[] pitCounts = counts[pits - pit];
+            int seeds = 0;
+            while (seeds < remaining && pitCounts[remaining] - pitCounts[remaining - seeds - 1] <= rank) {
+                seeds++;
+            }
+            rank -= pitCounts[remaining] - pitCounts[remaining - seeds];
+            state.setSeeds(boardIndex(state, BoardState.FIRST_SIDE, pit), seeds);
+            remaining -= seeds;
+        }
+        state.setSeeds(state.largePitIndex(BoardState.FIRST_SIDE), 0);
+        state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), 0);
+        state.setActiveSide(BoardState.FIRST_SIDE);
+    }
+    /**
+     * Counts the seeds in the regular pits of a position from the running totals of both sides, so
+     * tablebase probes at every search node do not scan the pits.
+     *
+     * @param state The position.
+     * @return The number of seeds on the board, excluding the large pits.
+     */
+    static int seedsOnBoard(BoardState state) {
+        return state.getRegularSeeds(BoardState.FIRST_SIDE) + state.getRegularSeeds(BoardState.SECOND_SIDE);
+    }
+    /**
+     * Gets the board index of the n-th regular pit relative to a side.
+     */
+    private int boardIndex(BoardState state, int side, int pit) {
+        return pit < pitsPerPlayer
+                ? state.regularPitIndex(side, pit)
+                : state.regularPitIndex(BoardState.opponentOf(side), pit - pitsPerPlayer);
+    }
+}
@@ -0,0 +1,61 @@
+package endgame;
+
+import core.GameResult;
+
+/**
+ * The `EndgameSolution` class holds the perfect-play outcome of a position found in an endgame tablebase.
+ */
+public class EndgameSolution {
+    private final int bestMove; // The zero-based pit of the side to move.
+    private final int finalDifference; // The final large pit difference for the side to move.
+    private final int distance; // Plies until the game is over.
+    private final GameResult result; // The outcome of the game.
+
+    /**
+     * Constructs an `EndgameSolution`.
+     *
+     * @param bestMove        The best move, as a zero-based pit of the side to move.
+     * @param finalDifference The large pit difference for the side to move when the game is over.
+     * @param distance        The number of plies until the game is over.
+     * @param result          The outcome of the game.
+     */
+    public EndgameSolution(int bestMove, int finalDifference, int distance, GameResult result) {
+        this.bestMove = bestMove;
+        this.finalDifference = finalDifference;
+        this.distance = distance;
+        this.result = result;
+    }
+    /**
+     * Gets the best move.
+     *
+     * @return The zero-based pit of the side to move, or -1 if the game is already over.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+    /**
+     * Gets the difference between both large pits, from the point of view of the side to move, once the
+     * game is over with perfect play.
+     *
+     * @return The final large pit difference.
+     */
+    public int getFinalDifference() {
+        return finalDifference;
+    }
+    /**
+     * Gets the number of plies until the game is over with perfect play.
+     *
+     * @return The distance to the end of the game.
+     */
+    public int getDistance() {
+        return distance;
+    }
+    /**
+     * Gets the outcome of the game with perfect play.
+     *
+     * @return The result of the game.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+}
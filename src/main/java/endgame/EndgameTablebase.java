@@ -0,0 +1,176 @@
+package endgame;
+
+import common.GameConfig;
+import core.BoardState;
+import core.GameResult;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `EndgameTablebase` class answers perfect-play questions about positions with few seeds left on the
+ * board, using a file written by `EndgameGenerator`. The file is memory-mapped, so lookups read straight
+ * from the page cache without copying the tablebase onto the heap, and a lookup only costs computing
+ * the index of the position.
+ *
+ * <p>The file starts with a header holding the pits per player, the largest number of seeds and the
+ * number of positions. It is followed by two bytes per position, in index order: the best large pit
+ * difference the side to move can still add, and the number of plies until the game is over.</p>
+ *
+ * <p>A tablebase is read-only and may be shared by any number of threads.</p>
+ */
+public class EndgameTablebase {
+    static final int MAGIC = 0x4D4E4B54;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 2;
+    /**
+     * The largest number of positions of a tablebase, whose file must fit in one mapped buffer.
+     */
+    static final long MAX_POSITIONS = (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE;
+
+    private final MappedByteBuffer data; // The memory-mapped tablebase file.
+    private final int pitsPerPlayer; // The regular pits per player of the variant which was solved.
+    private final int maxSeeds; // The largest number of seeds in the regular pits which is covered.
+    private final EndgameIndex index; // Maps positions to their offset in the file.
+
+    private EndgameTablebase(MappedByteBuffer data, int pitsPerPlayer, int maxSeeds) {
+        this.data = data;
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.maxSeeds = maxSeeds;
+        this.index = new EndgameIndex(pitsPerPlayer, maxSeeds);
+    }
+    /**
+     * Opens a tablebase file.
+     *
+     * @param path The file written by `EndgameGenerator`.
+     * @return The tablebase.
+     * @throws IOException If the file cannot be read or is not a tablebase.
+     */
+    public static EndgameTablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > HEADER_SIZE + MAX_POSITIONS * ENTRY_SIZE) {
+                throw new IOException("The tablebase is too large: " + path);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (channel.size() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException("Not an endgame tablebase: " + path);
+            }
+            if (data.getInt(4) < 1 || data.getInt(4) > GameConfig.MAX_PITS_PER_PLAYER) {
+                throw new IOException("The tablebase was generated for " + data.getInt(4) + " pits per player");
+            }
+
+            EndgameTablebase tablebase = new EndgameTablebase(data, data.getInt(4), data.getInt(8));
+            if (data.getLong(12) != tablebase.index.size()
+                    || channel.size() != HEADER_SIZE + tablebase.index.size() * ENTRY_SIZE) {
+                throw new IOException("The tablebase is truncated: " + path);
+            }
+            return tablebase;
+        }
+    }
+    /**
+     * Gets the number of regular pits per player of the variant which was solved. The tablebase covers
+     * every variant with that many pits, whatever the initial number of seeds per pit.
+     *
+     * @return The number of regular pits per player.
+     */
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+    /**
+     * Gets the largest number of seeds in the regular pits for which positions are covered.
+     *
+     * @return The largest number of seeds on the board.
+     */
+    public int getMaxSeeds() {
+        return maxSeeds;
+    }
+    /**
+     * Checks if the tablebase holds the given position.
+     *
+     * @param state The position.
+     * @return `true` if the position has the solved number of pits and few enough seeds on the board,
+     *         `false` otherwise.
+     */
+    public boolean covers(BoardState state) {
+        return state.getPitsPerPlayer() == pitsPerPlayer && EndgameIndex.seedsOnBoard(state) <= maxSeeds;
+    }
+    /**
+     * Gets the best large pit difference the side to move can still add with perfect play: the seeds it
+     * will gain minus the seeds its opponent will gain until the game is over.
+     *
+     * @param state A position covered by the tablebase.
+     * @return The difference still to be gained by the side to move.
+     */
+    public int value(BoardState state) {
+        return data.get(offset(state));
+    }
+    /**
+     * Gets the number of plies until the game is over with perfect play.
+     *
+     * @param state A position covered by the tablebase.
+     * @return The distance to the end of the game.
+     */
+    public int distance(BoardState state) {
+        return Byte.toUnsignedInt(data.get(offset(state) + 1));
+    }
+    /**
+     * Solves a position: finds its best move and the outcome of the game with perfect play.
+     *
+     * @param state A position covered by the tablebase. It is not modified.
+     * @return The solution of the position.
+     */
+    public EndgameSolution solve(BoardState state) {
+        if (!covers(state)) {
+            throw new IllegalArgumentException("The position is not covered by the tablebase");
+        }
+
+        int side = state.getActiveSide();
+        int currentDifference = state.getSeeds(state.largePitIndex(side))
+                - state.getSeeds(state.largePitIndex(BoardState.opponentOf(side)));
+        if (state.isGameOver()) {
+            return new EndgameSolution(-1, currentDifference, 0, state.getResult());
+        }
+
+        BoardState child = BoardState.create(state.getConfig());
+        int bestMove = -1;
+        int bestValue = Integer.MIN_VALUE;
+        int bestDistance = 0;
+        for (int pit = 0; pit < pitsPerPlayer; pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+
+            child.copyFrom(state);
+            child.move(pit);
+            int value = child.getSeeds(state.largePitIndex(side)) - state.getSeeds(state.largePitIndex(side));
+            int distance = 1;
+            if (!child.isGameOver()) {
+                value += child.getActiveSide() == side ? value(child) : -value(child);
+                distance += distance(child);
+            }
+
+            if (value > bestValue || (value == bestValue && distance < bestDistance)) {
+                bestMove = pit;
+                bestValue = value;
+                bestDistance = distance;
+            }
+        }
+
+        int finalDifference = currentDifference + bestValue;
+        GameResult result = finalDifference == 0 ? GameResult.DRAW
+                : (finalDifference > 0) == (side == BoardState.FIRST_SIDE)
+                ? GameResult.FIRST_PLAYER_WON
+                : GameResult.SECOND_PLAYER_WON;
+        return new EndgameSolution(bestMove, finalDifference, bestDistance, result);
+    }
+
+    private int offset(BoardState state) {
+        return (int) (HEADER_SIZE + index.rank(state, state.getActiveSide()) * ENTRY_SIZE);
+    }
+}
@@ -1,6 +1,12 @@
 package exception;
 
 public class EmptyPitSelectedException extends Exception {
+    /**
+     * Constructs the exception without a stack trace, as it only reports bad console input.
+     */
+    public EmptyPitSelectedException() {
+        super(null, null, false, false);
+    }
     @Override
     public String getMessage() {
         return "Please select a pit which is not empty";
@@ -1,6 +1,12 @@
 package exception;
 
 public class InvalidPitNumberException extends Exception {
+    /**
+     * Constructs the exception without a stack trace, as it only reports bad console input.
+     */
+    public InvalidPitNumberException() {
+        super(null, null, false, false);
+    }
     @Override
     public String getMessage() {
         return "Please enter a valid pit number";
@@ -9,9 +9,10 @@ public class LargePit extends Pit {
      * Constructs a LargePit with an owner and initializes it with zero seeds.
      *
      * @param owner The player who owns the large pit.
+     * @param index The board index of the large pit.
      */
-    public LargePit(Player owner) {
-        super(owner, 0);
+    public LargePit(Player owner, int index) {
+        super(owner, 0, index);
     }
 
     /**
@@ -32,6 +33,6 @@ public class LargePit extends Pit {
      * @param seeds The number of seeds to add.
      */
     public void putMultipleSeeds(int seeds) {
-        this.seeds += seeds;
+        putSeeds(seeds);
     }
 }
@@ -3,21 +3,25 @@ package model;
 /**
  * The abstract Pit class represents a pit in the game board.
  * It can be a regular pit or a large pit.
+ * Pits hold no references to their neighbours: the next and opposite pits are looked up by board index
+ * in the tables of the variant and the pits of the owner's board.
  */
 public abstract class Pit {
-    protected Player owner;    // The player who owns the pit
-    protected int seeds;       // The number of seeds in the pit
-    protected Pit nextPit;     // The next pit in the player's sequence
+    protected final Player owner;    // The player who owns the pit
+    protected int seeds;             // The number of seeds in the pit
+    protected final int index;       // The board index of the pit, in board state order
 
     /**
-     * Constructs a Pit with an owner and an initial number of seeds.
+     * Constructs a Pit with an owner, an initial number of seeds and its place on the board.
      *
      * @param owner The player who owns the pit.
      * @param seeds The initial number of seeds in the pit.
+     * @param index The board index of the pit, in board state order.
      */
-    public Pit(Player owner, int seeds) {
+    public Pit(Player owner, int seeds, int index) {
         this.owner = owner;
         this.seeds = seeds;
+        this.index = index;
     }
 
     /**
@@ -35,6 +39,15 @@ public abstract class Pit {
         this.seeds++;
     }
 
+    /**
+     * Adds the given number of seeds to the pit.
+     *
+     * @param seeds The number of seeds to add.
+     */
+    public void putSeeds(int seeds) {
+        this.seeds += seeds;
+    }
+
     /**
      * Checks if the pit is empty (contains no seeds).
      *
@@ -45,21 +58,22 @@ public abstract class Pit {
     }
 
     /**
-     * Gets the next pit in the player's sequence.
+     * Gets the next pit in the sowing order.
      *
-     * @return The next pit.
+     * @return The next pit, or null if the owner has not been seated at a board with an opponent and the
+     *         next pit is theirs.
      */
     public Pit getNextPit() {
-        return this.nextPit;
+        return owner.pitAt(owner.getConfig().getNextIndex(index));
     }
 
     /**
-     * Sets the next pit in the player's sequence.
+     * Gets the board index of the pit.
      *
-     * @param nextPit The next pit to set.
+     * @return The index of the pit in board state order.
      */
-    public void setNextPit(Pit nextPit) {
-        this.nextPit = nextPit;
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -79,4 +93,13 @@ public abstract class Pit {
     public int getSeeds() {
         return seeds;
     }
+
+    /**
+     * Sets the number of seeds in the pit.
+     *
+     * @param seeds The number of seeds to set.
+     */
+    public void setSeeds(int seeds) {
+        this.seeds = seeds;
+    }
 }
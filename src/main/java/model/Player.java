@@ -1,10 +1,15 @@
 package model;
 
-import common.GameConstants;
+import common.GameConfig;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 /**
  * Represents a player in the Mancala game.
+ * Both players of a board share one array holding every pit in board state order, so the next and
+ * opposite pits are found through the index tables of the `GameConfig` rather than through references
+ * held by each pit.
  */
 public class Player {
     /**
@@ -12,34 +17,78 @@ public class Player {
      */
     private final String name;
     /**
-     * A linked list of regular pits owned by the player.
+     * The regular pits owned by the player.
      */
-    private LinkedList<RegularPit> regularPits;
+    private final RegularPit[] regularPits;
+    /**
+     * A read-only view of the regular pits, handed out by `getRegularPits`.
+     */
+    private final List<RegularPit> regularPitsView;
     /**
      * The player's large pit for collecting captured seeds.
      */
     private final LargePit largePit;
     /**
-     * Constructs a `Player` object with the specified name and initializes their pits.
+     * Every pit of the board in board state order, shared with the opponent. The opponent's entries stay
+     * null until a second player is seated opposite this one.
+     */
+    private final Pit[] boardPits;
+    /**
+     * The variant played by the player, which determines their pits and the length of a sowing lap.
+     */
+    private final GameConfig config;
+    /**
+     * The running total of seeds in the player's regular pits, kept up to date by the pits themselves.
+     */
+    private int regularSeeds;
+    /**
+     * The bit mask of the player's non-empty regular pits, kept up to date by the pits themselves.
+     */
+    private int legalMoves;
+    /**
+     * Constructs a `Player` object of the standard game with the specified name and initializes their pits.
      *
      * @param name The name of the player.
      */
     public Player(String name) {
-        this.name = name;
-        this.initRegularPits();
-        this.largePit = new LargePit(this);
+        this(name, GameConfig.DEFAULT);
     }
     /**
-     * Initializes the player's regular pits with the specified number of seeds.
+     * Constructs a `Player` object of the given variant with the specified name and initializes their pits.
+     *
+     * @param name   The name of the player.
+     * @param config The variant to play.
      */
-    private void initRegularPits() {
-        this.regularPits = new LinkedList<>();
-        regularPits.addLast(new RegularPit(this, GameConstants.SEEDS_PER_PIT));
-        while (regularPits.size() < GameConstants.PITS_PER_PLAYER) {
-            RegularPit newPit = new RegularPit(this, GameConstants.SEEDS_PER_PIT);
-            regularPits.getLast().setNextPit(newPit);
-            regularPits.addLast(newPit);
+    public Player(String name, GameConfig config) {
+        this(name, config, new Pit[config.getBoardSize()], 0);
+    }
+    /**
+     * Constructs the second `Player` of a board, seated opposite the given first player and playing the
+     * same variant.
+     *
+     * @param name     The name of the player.
+     * @param opponent The first player of the board.
+     */
+    public Player(String name, Player opponent) {
+        this(name, opponent.config, opponent.boardPits, opponent.config.getPitsPerPlayer() + 1);
+    }
+    /**
+     * Constructs a `Player` and puts their pits on the given board, starting at the given board index.
+     */
+    private Player(String name, GameConfig config, Pit[] boardPits, int firstIndex) {
+        this.name = name;
+        this.config = config;
+        this.boardPits = boardPits;
+        this.regularPits = new RegularPit[config.getPitsPerPlayer()];
+        for (int pit = 0; pit < regularPits.length; pit++) {
+            regularPits[pit] = new RegularPit(this, config.getSeedsPerPit(), firstIndex + pit);
+            boardPits[firstIndex + pit] = regularPits[pit];
         }
+        this.regularPitsView = Collections.unmodifiableList(Arrays.asList(regularPits));
+        this.largePit = new LargePit(this, firstIndex + regularPits.length);
+        boardPits[largePit.getIndex()] = largePit;
+        this.regularSeeds = config.getPitsPerPlayer() * config.getSeedsPerPit();
+        this.legalMoves = (1 << config.getPitsPerPlayer()) - 1;
     }
     /**
      * Takes a turn and sows seeds from the selected regular pit.
@@ -49,10 +98,27 @@ public class Player {
      */
     public Pit takeTurn(RegularPit selectedPit){
         int seeds = selectedPit.pickupSeeds();
+        int current = selectedPit.index;
         Pit currentPit = selectedPit;
 
+        // Every full lap puts one seed in each pit except the opponent's large pit, so all full laps are
+        // added in a single pass which ends back at the selected pit.
+        int sowingLap = config.getSowingLap();
+        int laps = seeds / sowingLap;
+        if (laps > 0) {
+            do {
+                current = config.getNextIndex(current);
+                currentPit = boardPits[current];
+                if (currentPit.canPutSeed(this)) {
+                    currentPit.putSeeds(laps);
+                }
+            } while (currentPit != selectedPit);
+            seeds -= laps * sowingLap;
+        }
+
         while (seeds > 0) {
-            currentPit = currentPit.getNextPit();
+            current = config.getNextIndex(current);
+            currentPit = boardPits[current];
             if (currentPit.canPutSeed(this)) {
                 seeds--;
                 currentPit.putSeed();
@@ -87,13 +153,58 @@ public class Player {
      * @return `true` if there are no seeds left, `false` otherwise.
      */
     public boolean noSeedsLeft(){
-        for (Pit pit : regularPits) {
-            if(pit.seeds > 0){
-                return false;
+        assert hasConsistentSeedCount() : "Seed count of " + name + " is out of sync with their pits";
+        return regularSeeds == 0;
+    }
+    /**
+     * Gets the number of seeds in the player's regular pits.
+     *
+     * @return The running total of seeds in the regular pits.
+     */
+    public int getRegularSeeds() {
+        return regularSeeds;
+    }
+    /**
+     * Gets the player's non-empty regular pits, which are the pits they may sow from.
+     *
+     * @return A bit mask with bit `pit` set for every non-empty zero-based regular pit.
+     */
+    public int getLegalMoves() {
+        return legalMoves;
+    }
+    /**
+     * Adjusts the running total of seeds in the player's regular pits and the mask of the non-empty ones.
+     * Called by `RegularPit` whenever its seeds change.
+     *
+     * @param pit   The pit which changed, already holding its new seeds.
+     * @param seeds The number of seeds added, negative when seeds are removed.
+     */
+    void addRegularSeeds(RegularPit pit, int seeds) {
+        this.regularSeeds += seeds;
+        if (pit.seeds == 0) {
+            legalMoves &= ~pit.mask;
+        }
+        else {
+            legalMoves |= pit.mask;
+        }
+    }
+    /**
+     * Recounts the seeds and the non-empty pits of the player and compares them with the running total and
+     * the legal move mask. Meant to be used in assertions, so the full scan only runs when assertions are
+     * enabled.
+     *
+     * @return `true` if the running total and the mask match the pits, `false` otherwise.
+     */
+    public boolean hasConsistentSeedCount() {
+        int seeds = 0;
+        int moves = 0;
+        for (RegularPit pit : regularPits) {
+            seeds += pit.seeds;
+            if (pit.seeds > 0) {
+                moves |= pit.mask;
             }
         }
-
-        return true;
+        return seeds == regularSeeds && moves == legalMoves;
     }
     /**
      * Gets the name of the player.
@@ -106,10 +217,36 @@ public class Player {
     /**
      * Gets the player's regular pits.
      *
-     * @return A linked list of regular pits owned by the player.
+     * @return A read-only list of the regular pits owned by the player, indexed by zero-based pit.
+     */
+    public List<RegularPit> getRegularPits() {
+        return regularPitsView;
+    }
+    /**
+     * Gets one of the player's regular pits.
+     *
+     * @param pit The zero-based regular pit.
+     * @return The regular pit.
+     */
+    public RegularPit getRegularPit(int pit) {
+        return regularPits[pit];
+    }
+    /**
+     * Finds the pit at the given board index on the board of this player.
+     *
+     * @param index The board index, or -1.
+     * @return The pit, or null if the index is -1 or no opponent has been seated yet.
+     */
+    Pit pitAt(int index) {
+        return index < 0 ? null : boardPits[index];
+    }
+    /**
+     * Gets the variant played by the player.
+     *
+     * @return The game configuration.
      */
-    public LinkedList<RegularPit> getRegularPits() {
-        return regularPits;
+    public GameConfig getConfig() {
+        return config;
     }
     /**
      * Gets the player's large pit.
@@ -2,18 +2,22 @@ package model;
 
 /**
  * The RegularPit class represents a regular pit in the game board.
+ * Every change to its seeds is reported to the owner, who keeps a running total of the seeds in their
+ * regular pits and a bit mask of the non-empty ones.
  */
 public class RegularPit extends Pit {
-    private RegularPit oppositePit;    // The opposite regular pit in the board.
+    final int mask;                    // The bit of this pit in the owner's legal move mask.
 
     /**
-     * Constructs a RegularPit with an owner and an initial number of seeds.
+     * Constructs a RegularPit with an owner, an initial number of seeds and its place on the board.
      *
      * @param owner The player who owns the pit.
      * @param seeds The initial number of seeds in the pit.
+     * @param index The board index of the pit.
      */
-    public RegularPit(Player owner, int seeds) {
-        super(owner, seeds);
+    public RegularPit(Player owner, int seeds, int index) {
+        super(owner, seeds, index);
+        this.mask = 1 << index % (owner.getConfig().getPitsPerPlayer() + 1);
     }
 
     /**
@@ -24,9 +28,42 @@ public class RegularPit extends Pit {
     public int pickupSeeds() {
         int currentSeeds = this.seeds;
         this.seeds = 0;
+        owner.addRegularSeeds(this, -currentSeeds);
         return currentSeeds;
     }
 
+    /**
+     * Adds one seed to the pit and to the owner's running total.
+     */
+    @Override
+    public void putSeed() {
+        this.seeds++;
+        owner.addRegularSeeds(this, 1);
+    }
+
+    /**
+     * Adds the given number of seeds to the pit and to the owner's running total.
+     *
+     * @param seeds The number of seeds to add.
+     */
+    @Override
+    public void putSeeds(int seeds) {
+        this.seeds += seeds;
+        owner.addRegularSeeds(this, seeds);
+    }
+
+    /**
+     * Sets the number of seeds in the pit and adjusts the owner's running total.
+     *
+     * @param seeds The number of seeds to set.
+     */
+    @Override
+    public void setSeeds(int seeds) {
+        int added = seeds - this.seeds;
+        this.seeds = seeds;
+        owner.addRegularSeeds(this, added);
+    }
+
     /**
      * Checks if the current player can put a seed in this pit.
      * Regular pits always allow seed placement.
@@ -42,18 +79,10 @@ public class RegularPit extends Pit {
     /**
      * Gets the opposite regular pit in the board.
      *
-     * @return The opposite regular pit.
+     * @return The opposite regular pit, or null if the owner has not been seated at a board with an
+     *         opponent.
      */
     public RegularPit getOppositePit() {
-        return oppositePit;
-    }
-
-    /**
-     * Sets the opposite regular pit in the board.
-     *
-     * @param oppositePit The opposite regular pit to set.
-     */
-    public void setOppositePit(RegularPit oppositePit) {
-        this.oppositePit = oppositePit;
+        return (RegularPit) owner.pitAt(owner.getConfig().getOppositeIndex(index));
     }
 }
@@ -0,0 +1,601 @@
+package server;
+
+import common.GameConfig;
+import core.Board;
+import core.BoardState;
+import core.Game;
+import core.PositionSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The `GameJournal` class makes the games of a `GameServer` survive a crash. Every game created, every
+ * move and every game ended is appended to a write-ahead log before the request is answered, and the
+ * games are periodically written to a snapshot, so recovery only replays the log written since the last
+ * snapshot.
+ *
+ * <p>Appends use group commit: requests add their records to a shared buffer and wait, while a single
+ * writer thread writes everything buffered so far and forces it to disk with one `FileChannel.force`, so
+ * concurrent requests share the cost of a force.</p>
+ *
+ * <p>The log is split in numbered segments. Taking a snapshot starts a new segment, writes every game to
+ * a snapshot file with the number of that segment and deletes the older segments and snapshots. Games are
+ * written while requests go on, so a snapshot may already hold moves logged in the new segment; every game
+ * keeps its number of moves, so those moves are skipped on recovery. Recovery reads the latest snapshot,
+ * replays the segments from its number on, and starts a new segment, so a record torn by the crash at the
+ * end of a segment is never appended to. A game whose moves cannot be replayed, such as one with a move
+ * missing from the log, is dropped and listed by `getDroppedGames` rather than failing the recovery of
+ * every other game.</p>
+ *
+ * <p>Log records hold the length of their payload and its CRC-32 in four bytes each, followed by the
+ * payload: a type byte and the fields of the record. All numbers are little-endian.</p>
+ */
+public class GameJournal implements AutoCloseable {
+    static final int SNAPSHOT_MAGIC = 0x4D4E534E;
+    static final int VERSION = 1;
+    static final byte CREATE = 1;
+    static final byte MOVES = 2;
+    static final byte DELETE = 3;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path directory; // Holds the segments and snapshots.
+    private final Object lock = new Object(); // Guards the buffers and the counters below.
+    private final Object snapshotLock = new Object(); // Lets one snapshot be taken at a time.
+    private final Map<String, GameSession> recoveredGames = new HashMap<>(); // The games found on opening.
+    private final Set<String> droppedGames = new TreeSet<>(); // The games which could not be recovered.
+    private Thread writer; // Writes and forces the buffered records.
+    private FileChannel channel; // The segment being written, only used by the writer.
+    private ByteBuffer pending; // Records appended since the writer took the last batch.
+    private ByteBuffer writing; // The batch being written, swapped with `pending`.
+    private long segment; // The number of the segment being written.
+    private long appended; // The number of records appended.
+    private long durable; // The number of records forced to disk.
+    private long commits; // The number of batches forced to disk.
+    private long sinceSnapshot; // The number of records appended since the last snapshot.
+    private boolean rotationRequested; // Whether the writer should start a new segment.
+    private boolean closed; // Whether the journal is closed.
+    private IOException failure; // The error which stopped the writer, or null.
+
+    private GameJournal(Path directory) {
+        this.directory = directory;
+        this.pending = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.writing = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    /**
+     * Opens the journal of a directory, recovering the games it holds, and starts a new segment.
+     *
+     * @param directory The directory of the journal, created if it does not exist.
+     * @return The journal, whose recovered games are handed out by `takeRecoveredGames`.
+     * @throws IOException If the directory cannot be read or a snapshot is corrupt.
+     */
+    public static GameJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = sequences(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        List<Long> snapshots = sequences(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long base = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+
+        GameJournal journal = new GameJournal(directory);
+        if (!snapshots.isEmpty()) {
+            journal.readSnapshot(journal.path(SNAPSHOT_PREFIX, base, SNAPSHOT_SUFFIX));
+        }
+        long last = base;
+        for (long sequence : segments) {
+            if (sequence >= base) {
+                journal.replaySegment(journal.path(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+            }
+            last = Math.max(last, sequence);
+        }
+
+        journal.segment = last + 1;
+        journal.channel = journal.openSegment(journal.segment);
+        journal.writer = new Thread(journal::writeLoop, "game-journal");
+        journal.writer.setDaemon(true);
+        journal.writer.start();
+        return journal;
+    }
+    /**
+     * Hands out the games recovered when the journal was opened, which then belong to the caller.
+     *
+     * @return The recovered games by id, which later calls find empty.
+     */
+    Map<String, GameSession> takeRecoveredGames() {
+        Map<String, GameSession> games = new HashMap<>(recoveredGames);
+        recoveredGames.clear();
+        return games;
+    }
+    /**
+     * Gets the ids of the games dropped when the journal was opened, because their moves could not be
+     * replayed.
+     *
+     * @return The ids, in ascending order.
+     */
+    public Set<String> getDroppedGames() {
+        return Collections.unmodifiableSet(droppedGames);
+    }
+    /**
+     * Logs a new game and waits until the record is on disk.
+     *
+     * @param session The new game, whose lock the caller holds.
+     */
+    void logCreate(GameSession session) {
+        Board board = session.getGame().getBoard();
+        byte[] firstName = board.getFirstPlayer().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] secondName = board.getSecondPlayer().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] id = session.getId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 2 + id.length + 3 + 4 + firstName.length + secondName.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        payload.put(CREATE).putShort((short) id.length).put(id)
+                .put((byte) board.getConfig().getPitsPerPlayer())
+                .put((byte) board.getConfig().getSeedsPerPit())
+                .put((byte) (session.isComputerOpponent() ? 1 : 0))
+                .putShort((short) firstName.length).put(firstName)
+                .putShort((short) secondName.length).put(secondName);
+        append(payload.array());
+    }
+    /**
+     * Logs the moves played by a request and waits until the record is on disk.
+     *
+     * @param id         The id of the game.
+     * @param firstPly   The number of moves played in the game before the first move.
+     * @param pitNumbers The pit numbers (starting at 1) of the moves, in the order they were played.
+     */
+    void logMoves(String id, int firstPly, int[] pitNumbers) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 2 + idBytes.length + 4 + 2 + pitNumbers.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        payload.put(MOVES).putShort((short) idBytes.length).put(idBytes)
+                .putInt(firstPly).putShort((short) pitNumbers.length);
+        for (int pitNumber : pitNumbers) {
+            payload.put((byte) pitNumber);
+        }
+        append(payload.array());
+    }
+    /**
+     * Logs the end of a game and waits until the record is on disk.
+     *
+     * @param id The id of the game.
+     */
+    void logDelete(String id) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 2 + idBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        payload.put(DELETE).putShort((short) idBytes.length).put(idBytes);
+        append(payload.array());
+    }
+    /**
+     * Writes every game to a new snapshot and deletes the segments and snapshots it replaces. Requests
+     * may go on while the snapshot is taken.
+     *
+     * @param sessions The games of the server.
+     * @return The number of games in the snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    int snapshot(Collection<GameSession> sessions) throws IOException {
+        synchronized (snapshotLock) {
+            long sequence = rotate();
+            Path path = path(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX);
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            int games = writeSnapshot(sessions, temporary);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+
+            for (long older : sequences(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                if (older < sequence) {
+                    Files.deleteIfExists(path(SEGMENT_PREFIX, older, SEGMENT_SUFFIX));
+                }
+            }
+            for (long older : sequences(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                if (older < sequence) {
+                    Files.deleteIfExists(path(SNAPSHOT_PREFIX, older, SNAPSHOT_SUFFIX));
+                }
+            }
+            return games;
+        }
+    }
+    /**
+     * Gets the number of records appended since the journal was opened.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        synchronized (lock) {
+            return appended;
+        }
+    }
+    /**
+     * Gets the number of batches forced to disk since the journal was opened, which is below the number of
+     * records when appends were grouped.
+     *
+     * @return The number of forces.
+     */
+    public long getCommitCount() {
+        synchronized (lock) {
+            return commits;
+        }
+    }
+    /**
+     * Gets the number of records appended since the last snapshot.
+     *
+     * @return The number of records the next recovery would replay.
+     */
+    public long getRecordsSinceSnapshot() {
+        synchronized (lock) {
+            return sinceSnapshot;
+        }
+    }
+    /**
+     * Writes the records appended so far and closes the journal.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Buffers a record for the writer and waits until it is on disk. Appenders wait without holding the
+     * lock, so records appended while the writer forces a batch all go to the next batch.
+     */
+    private void append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (lock) {
+            if (closed || failure != null) {
+                throw new IllegalStateException("The journal is closed", failure);
+            }
+            if (pending.remaining() < RECORD_HEADER_SIZE + payload.length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(2 * pending.capacity(),
+                        pending.position() + RECORD_HEADER_SIZE + payload.length)).order(ByteOrder.LITTLE_ENDIAN);
+                pending = grown.put(pending.flip());
+            }
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            long sequence = ++appended;
+            sinceSnapshot++;
+            lock.notifyAll();
+
+            try {
+                while (durable < sequence && failure == null) {
+                    lock.wait();
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the journal", exception);
+            }
+            if (durable < sequence) {
+                throw new UncheckedIOException("The journal could not be written", failure);
+            }
+        }
+    }
+    /**
+     * Asks the writer to start a new segment once the records buffered so far are written, and waits
+     * until it has.
+     */
+    private long rotate() throws IOException {
+        synchronized (lock) {
+            rotationRequested = true;
+            lock.notifyAll();
+            try {
+                while (rotationRequested && failure == null) {
+                    lock.wait();
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while starting a segment", exception);
+            }
+            if (failure != null) {
+                throw new IOException("The journal could not be written", failure);
+            }
+            sinceSnapshot = appended - durable;
+            return segment;
+        }
+    }
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer batch;
+                long target;
+                boolean rotate;
+                synchronized (lock) {
+                    while (pending.position() == 0 && !rotationRequested && !closed) {
+                        lock.wait();
+                    }
+                    if (pending.position() == 0 && !rotationRequested) {
+                        return;
+                    }
+                    batch = pending;
+                    pending = writing;
+                    writing = batch;
+                    target = appended;
+                    rotate = rotationRequested;
+                }
+
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                batch.clear();
+                if (target > durable) {
+                    channel.force(false);
+                }
+                if (rotate) {
+                    channel.close();
+                    channel = openSegment(segment + 1);
+                }
+
+                synchronized (lock) {
+                    if (target > durable) {
+                        commits++;
+                    }
+                    durable = target;
+                    if (rotate) {
+                        segment++;
+                        rotationRequested = false;
+                    }
+                    lock.notifyAll();
+                }
+            }
+        }
+        catch (IOException exception) {
+            synchronized (lock) {
+                failure = exception;
+                lock.notifyAll();
+            }
+        }
+        catch (InterruptedException exception) {
+            synchronized (lock) {
+                failure = new IOException("The journal writer was interrupted", exception);
+                lock.notifyAll();
+            }
+        }
+    }
+    private FileChannel openSegment(long sequence) throws IOException {
+        return FileChannel.open(path(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+    /**
+     * Replays the records of a segment, stopping at the first record which is truncated or fails its
+     * checksum, as only the record being written during a crash can be.
+     */
+    private void replaySegment(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+        }
+        data.order(ByteOrder.LITTLE_ENDIAN);
+
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= RECORD_HEADER_SIZE) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < 1 || length > data.remaining()) {
+                return;
+            }
+            ByteBuffer payload = data.slice(data.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return;
+            }
+            data.position(data.position() + length);
+            try {
+                replay(payload);
+            }
+            catch (RuntimeException exception) {
+                throw new IOException("Corrupt record in " + path, exception);
+            }
+        }
+    }
+    private void replay(ByteBuffer payload) {
+        byte type = payload.get();
+        String id = readString(payload);
+        switch (type) {
+            case CREATE -> {
+                GameConfig config = GameConfig.of(payload.get(), payload.get());
+                boolean computer = payload.get() != 0;
+                String firstName = readString(payload);
+                String secondName = readString(payload);
+                recoveredGames.putIfAbsent(id, new GameSession(id, Game.create(firstName, secondName, config),
+                        computer, this, 0));
+            }
+            case MOVES -> {
+                int firstPly = payload.getInt();
+                int count = payload.getShort() & 0xFFFF;
+                GameSession session = recoveredGames.get(id);
+                try {
+                    for (int move = 0; move < count && session != null; move++) {
+                        session.replay(firstPly + move, payload.get());
+                    }
+                }
+                catch (IllegalStateException exception) {
+                    // Later records of the game build on the missing move, so they are ignored as well
+                    recoveredGames.remove(id);
+                    droppedGames.add(id);
+                }
+            }
+            case DELETE -> {
+                recoveredGames.remove(id);
+                droppedGames.remove(id);
+            }
+            default -> throw new IllegalArgumentException("Unknown record type " + type);
+        }
+    }
+    /**
+     * Writes a snapshot: a header holding a magic number and the format version, then every game as a
+     * marker byte of 1, its id, its variant, whether the computer plays, the player names, its number of
+     * moves, the side to move and the seeds of every pit in the `BoardState` layout, then a marker byte of
+     * 0 and the number of games.
+     */
+    private int writeSnapshot(Collection<GameSession> sessions, Path path) throws IOException {
+        int games = 0;
+        try (FileChannel snapshotChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(VERSION);
+            BoardState state = BoardState.create();
+            for (GameSession session : sessions) {
+                byte[] id = session.getId().getBytes(StandardCharsets.UTF_8);
+                byte[] firstName;
+                byte[] secondName;
+                boolean firstToMove;
+                int plies;
+                synchronized (session) {
+                    if (session.isDeleted()) {
+                        continue;
+                    }
+                    Board board = session.getGame().getBoard();
+                    if (state.getConfig() != board.getConfig()) {
+                        state = BoardState.create(board.getConfig());
+                    }
+                    board.exportTo(state);
+                    firstName = board.getFirstPlayer().getName().getBytes(StandardCharsets.UTF_8);
+                    secondName = board.getSecondPlayer().getName().getBytes(StandardCharsets.UTF_8);
+                    firstToMove = session.getGame().getActivePlayer().equals(board.getFirstPlayer());
+                    plies = session.getPlies();
+                }
+
+                int size = 1 + 2 + id.length + 3 + 4 + firstName.length + secondName.length + 4 + 1 + 2 * state.size();
+                if (buffer.remaining() < size) {
+                    drain(snapshotChannel, buffer);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+                    }
+                }
+                buffer.put((byte) 1).putShort((short) id.length).put(id)
+                        .put((byte) state.getPitsPerPlayer())
+                        .put((byte) state.getConfig().getSeedsPerPit())
+                        .put((byte) (session.isComputerOpponent() ? 1 : 0))
+                        .putShort((short) firstName.length).put(firstName)
+                        .putShort((short) secondName.length).put(secondName)
+                        .putInt(plies)
+                        .put((byte) (firstToMove ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE));
+                for (int index = 0; index < state.size(); index++) {
+                    buffer.putShort((short) state.getSeeds(index));
+                }
+                games++;
+            }
+
+            if (buffer.remaining() < 5) {
+                drain(snapshotChannel, buffer);
+            }
+            buffer.put((byte) 0).putInt(games);
+            drain(snapshotChannel, buffer);
+            snapshotChannel.force(false);
+        }
+        return games;
+    }
+    private void readSnapshot(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel snapshotChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = snapshotChannel.map(FileChannel.MapMode.READ_ONLY, 0, snapshotChannel.size());
+        }
+        data.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            if (data.getInt() != SNAPSHOT_MAGIC || data.getInt() != VERSION) {
+                throw new IOException("Not a game snapshot: " + path);
+            }
+            int games = 0;
+            BoardState state = BoardState.create();
+            while (data.get() == 1) {
+                String id = readString(data);
+                GameConfig config = GameConfig.of(data.get(), data.get());
+                boolean computer = data.get() != 0;
+                String firstName = readString(data);
+                String secondName = readString(data);
+                int plies = data.getInt();
+                if (state.getConfig() != config) {
+                    state = BoardState.create(config);
+                }
+                state.setActiveSide(data.get());
+                for (int index = 0; index < state.size(); index++) {
+                    state.setSeeds(index, data.getShort());
+                }
+
+                Game game = Game.create(firstName, secondName, PositionSnapshot.of(state));
+                recoveredGames.put(id, new GameSession(id, game, computer, this, plies));
+                games++;
+            }
+            if (data.getInt() != games) {
+                throw new IOException("The game snapshot is incomplete: " + path);
+            }
+        }
+        catch (RuntimeException exception) {
+            throw new IOException("Corrupt game snapshot: " + path, exception);
+        }
+    }
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    private Path path(String prefix, long sequence, String suffix) {
+        return directory.resolve(String.format("%s%016d%s", prefix, sequence, suffix));
+    }
+    /**
+     * Lists the numbers of the files of a directory with the given prefix and suffix, in ascending order.
+     */
+    private static List<Long> sequences(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    try {
+                        sequences.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                    }
+                    catch (NumberFormatException exception) {
+                        // Not a file of the journal
+                    }
+                }
+            }
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+}
@@ -0,0 +1,402 @@
+package server;
+
+import ai.ComputerPlayer;
+import ai.Evaluator;
+import ai.OpeningBook;
+import ai.SearchLimits;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import common.GameConfig;
+import core.Game;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The `GameServer` class serves many simultaneous games over HTTP, exchanging moves and board views as
+ * JSON in place of the console. Games are kept in a concurrent map keyed by game id, so an idle game costs
+ * no more than its board, and any number of players may share a server. The computer may play for the
+ * second player of a game; its moves are searched by a small pool of `ComputerPlayer`s, so searches never
+ * take more threads than the pool holds however many games are played.
+ *
+ * <p>With a `GameJournal`, every game created, move played and game ended is logged before it is answered,
+ * and the games are written to a snapshot at a fixed interval, so a restarted server resumes every game.
+ * A snapshot which fails is kept for `getSnapshotFailure` and retried at the next interval.</p>
+ *
+ * <p>Every exchange runs on its own thread: a virtual thread when the runtime has them, or a thread of a
+ * cached pool otherwise, so a slow client or a long search never holds up other games.</p>
+ *
+ * <p>The server answers the following requests, with errors as `{"error": message}`:</p>
+ * <ul>
+ *     <li>`POST /games` with `first`, `second`, `pits`, `seeds` and `computer`, all optional, creates a
+ *     game and answers its board view.</li>
+ *     <li>`GET /games` answers the number of games.</li>
+ *     <li>`GET /games/{id}` answers the board view of a game.</li>
+ *     <li>`POST /games/{id}/moves` with `pit`, the pit number starting at 1, plays the move of the player
+ *     to move, followed by the replies of the computer, and answers the board view.</li>
+ *     <li>`DELETE /games/{id}` ends a game and answers its last board view.</li>
+ * </ul>
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_MAX_GAMES = 100_000;
+    private static final String GAMES_PATH = "/games";
+    private static final String MOVES = "moves";
+    private static final int MAX_BODY_SIZE = 4096;
+    private static final long SNAPSHOT_MILLIS = 60_000;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    // The server runs several computer players, each with its own transposition table of 2^18 entries
+    private static final int TABLE_SIZE_LOG2 = 18;
+
+    private final HttpServer server; // Accepts the connections.
+    private final ExecutorService executor; // Runs every exchange on its own thread.
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>(); // The games by id.
+    private final List<ComputerPlayer> allComputerPlayers = new ArrayList<>(); // Closed with the server.
+    private final BlockingQueue<ComputerPlayer> computerPlayers; // The computer players not searching.
+    private final int maxGames; // The number of games above which new games are refused.
+    private GameJournal journal; // Logs every change to the games, or null.
+    private ScheduledExecutorService snapshots; // Takes the snapshots of the journal, or null.
+    private volatile Exception snapshotFailure; // Why the last snapshot failed, or null if it succeeded.
+
+    /**
+     * Constructs a `GameServer` listening on the loopback address.
+     *
+     * @param port            The port to listen on, or 0 for any free port.
+     * @param limits          The limits of the search of every computer move.
+     * @param computerPlayers The number of computer moves searched at the same time.
+     * @param maxGames        The maximum number of games served at the same time.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(int port, SearchLimits limits, int computerPlayers, int maxGames) throws IOException {
+        if (computerPlayers < 1) {
+            throw new IllegalArgumentException("At least one computer player is required");
+        }
+        this.maxGames = maxGames;
+        this.computerPlayers = new ArrayBlockingQueue<>(computerPlayers);
+        for (int index = 0; index < computerPlayers; index++) {
+            ComputerPlayer computerPlayer = new ComputerPlayer(limits, 1, TABLE_SIZE_LOG2);
+            allComputerPlayers.add(computerPlayer);
+            this.computerPlayers.add(computerPlayer);
+        }
+
+        this.executor = newExchangeExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.createContext(GAMES_PATH, this::handle);
+        this.server.setExecutor(executor);
+    }
+    /**
+     * Starts answering requests.
+     */
+    public void start() {
+        server.start();
+    }
+    /**
+     * Uses an opening book to play the first moves of the computer without searching.
+     *
+     * @param openingBook The book to consult before every search, or `null` to search every position.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        for (ComputerPlayer computerPlayer : allComputerPlayers) {
+            computerPlayer.setOpeningBook(openingBook);
+        }
+    }
+    /**
+     * Scores the positions at the horizon of every computer search with the given evaluator.
+     *
+     * @param evaluator The evaluator to use, or `null` to score by the large pits alone.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        for (ComputerPlayer computerPlayer : allComputerPlayers) {
+            computerPlayer.setEvaluator(evaluator);
+        }
+    }
+    /**
+     * Logs every change to the games to a journal, resuming the games it recovered, and snapshots the games
+     * at a fixed interval. The journal is not closed with the server.
+     *
+     * @param journal        The journal, freshly opened.
+     * @param snapshotMillis The interval between snapshots in milliseconds; intervals with no change are
+     *                       skipped unless the last snapshot failed.
+     */
+    public void setJournal(GameJournal journal, long snapshotMillis) {
+        if (this.journal != null) {
+            throw new IllegalStateException("The server already has a journal");
+        }
+        this.journal = journal;
+        sessions.putAll(journal.takeRecoveredGames());
+
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshots.scheduleWithFixedDelay(this::snapshot, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+    /**
+     * Gets the error of the last snapshot of the journal. Until a snapshot succeeds, the log replayed on
+     * recovery keeps growing.
+     *
+     * @return The error which made the last snapshot fail, or `null` if it succeeded or none was taken.
+     */
+    public Exception getSnapshotFailure() {
+        return snapshotFailure;
+    }
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port, which is the bound port when the server was asked for any free port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    /**
+     * Gets the number of games being served.
+     *
+     * @return The number of games.
+     */
+    public int getGameCount() {
+        return sessions.size();
+    }
+    /**
+     * Stops the server, dropping every game and closing the computer players.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+        }
+        sessions.clear();
+        allComputerPlayers.forEach(ComputerPlayer::close);
+    }
+
+    /**
+     * Creates an executor running every task on a new virtual thread, found by reflection so the server
+     * also runs on releases without them, where a cached pool of platform threads is used instead.
+     */
+    private static ExecutorService newExchangeExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    /**
+     * Takes a snapshot of the journal when records were logged since the last one or the last one failed.
+     * Errors are kept rather than thrown, as a task which throws is never scheduled again.
+     */
+    private void snapshot() {
+        if (snapshotFailure == null && journal.getRecordsSinceSnapshot() == 0) {
+            return;
+        }
+        try {
+            journal.snapshot(sessions.values());
+            snapshotFailure = null;
+        }
+        catch (IOException | RuntimeException exception) {
+            snapshotFailure = exception;
+        }
+    }
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            try {
+                if (path.equals(GAMES_PATH) || path.equals(GAMES_PATH + "/")) {
+                    switch (method) {
+                        case "POST" -> send(exchange, 201, createGame(readBody(exchange)));
+                        case "GET" -> send(exchange, 200, "{\"games\":" + sessions.size() + "}");
+                        default -> send(exchange, 405, Json.error("Method not allowed: " + method));
+                    }
+                    return;
+                }
+
+                String[] parts = path.substring(GAMES_PATH.length() + 1).split("/", -1);
+                GameSession session = sessions.get(parts[0]);
+                if (session == null || parts.length > 2 || (parts.length == 2 && !parts[1].equals(MOVES))) {
+                    send(exchange, 404, Json.error("No such game: " + path));
+                }
+                else if (parts.length == 2) {
+                    if (method.equals("POST")) {
+                        send(exchange, 200, session.play(pitNumber(readBody(exchange)), this::computerMove));
+                    }
+                    else {
+                        send(exchange, 405, Json.error("Method not allowed: " + method));
+                    }
+                }
+                else {
+                    switch (method) {
+                        case "GET" -> send(exchange, 200, session.view());
+                        case "DELETE" -> {
+                            send(exchange, 200, deleteGame(session));
+                        }
+                        default -> send(exchange, 405, Json.error("Method not allowed: " + method));
+                    }
+                }
+            }
+            catch (IllegalArgumentException exception) {
+                send(exchange, 400, Json.error(exception.getMessage()));
+            }
+            catch (IllegalStateException exception) {
+                send(exchange, 409, Json.error(exception.getMessage()));
+            }
+            catch (UncheckedIOException exception) {
+                send(exchange, 500, Json.error(exception.getMessage()));
+            }
+        }
+    }
+    private String createGame(Map<String, Object> request) {
+        boolean computer = Boolean.TRUE.equals(request.get("computer"));
+        String first = string(request, "first", "Player 1");
+        String second = string(request, "second", computer ? "Computer" : "Player 2");
+        GameConfig config = GameConfig.of(
+                integer(request, "pits", GameConfig.DEFAULT.getPitsPerPlayer()),
+                integer(request, "seeds", GameConfig.DEFAULT.getSeedsPerPit()));
+
+        if (sessions.size() >= maxGames) {
+            throw new IllegalStateException("The server already serves " + maxGames + " games");
+        }
+        Game game = Game.create(first, second, config);
+        while (true) {
+            String id = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+            GameSession session = new GameSession(id, game, computer, journal, 0);
+            // The game is logged while its lock is held, so a snapshot cannot see it before it is logged
+            synchronized (session) {
+                if (sessions.putIfAbsent(id, session) == null) {
+                    if (journal != null) {
+                        journal.logCreate(session);
+                    }
+                    return session.view();
+                }
+            }
+        }
+    }
+    private String deleteGame(GameSession session) {
+        synchronized (session) {
+            if (sessions.remove(session.getId(), session) && journal != null) {
+                journal.logDelete(session.getId());
+            }
+            String view = session.view();
+            session.delete();
+            return view;
+        }
+    }
+    /**
+     * Chooses the zero-based pit of the active player with a computer player of the pool, waiting for one
+     * to be free.
+     */
+    private int computerMove(Game game) {
+        ComputerPlayer computerPlayer;
+        try {
+            computerPlayer = computerPlayers.take();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a computer player", exception);
+        }
+        try {
+            return computerPlayer.chooseMove(game.getBoard(), game.getActivePlayer()).getBestMove();
+        }
+        finally {
+            computerPlayers.add(computerPlayer);
+        }
+    }
+    private static int pitNumber(Map<String, Object> request) {
+        if (!(request.get("pit") instanceof Long pit)) {
+            throw new IllegalArgumentException("Expected a pit number");
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, pit));
+    }
+    private static String string(Map<String, Object> request, String name, String defaultValue) {
+        Object value = request.getOrDefault(name, defaultValue);
+        if (!(value instanceof String text) || text.isBlank()) {
+            throw new IllegalArgumentException("Expected a name for " + name);
+        }
+        return text;
+    }
+    private static int integer(Map<String, Object> request, String name, int defaultValue) {
+        Object value = request.getOrDefault(name, (long) defaultValue);
+        if (!(value instanceof Long number) || number != number.intValue()) {
+            throw new IllegalArgumentException("Expected a number for " + name);
+        }
+        return number.intValue();
+    }
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_BODY_SIZE + 1);
+            if (bytes.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("The request is larger than " + MAX_BODY_SIZE + " bytes");
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+    /**
+     * Runs a server until the process is stopped.
+     *
+     * @param args The port, the time budget of every computer move in milliseconds, the number of
+     *             computer moves searched at the same time, an optional journal directory, an optional
+     *             opening book file and an optional evaluator weights file.
+     * @throws IOException If the port cannot be bound, or the journal, the opening book or the weights
+     *                     cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int computerPlayers = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        // Small responses would otherwise wait for delayed acknowledgements, adding about 40 ms to every request
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+
+        GameServer server = new GameServer(port, SearchLimits.millis(millis), computerPlayers, DEFAULT_MAX_GAMES);
+        if (args.length > 3) {
+            long startTime = System.nanoTime();
+            GameJournal journal = GameJournal.open(Paths.get(args[3]));
+            server.setJournal(journal, SNAPSHOT_MILLIS);
+            System.out.printf("Recovered %d games in %d ms\n", server.getGameCount(),
+                    (System.nanoTime() - startTime) / 1_000_000);
+            if (!journal.getDroppedGames().isEmpty()) {
+                System.out.println("Dropped games which could not be replayed: " + journal.getDroppedGames());
+            }
+        }
+        if (args.length > 4) {
+            server.setOpeningBook(OpeningBook.open(Paths.get(args[4])));
+        }
+        if (args.length > 5) {
+            server.setEvaluator(Evaluator.load(Paths.get(args[5])));
+        }
+        server.start();
+        System.out.printf("Serving games on http://localhost:%d%s\n", server.getPort(), GAMES_PATH);
+    }
+}
@@ -0,0 +1,210 @@
+package server;
+
+import core.Board;
+import core.Game;
+import core.StepResult;
+import model.Player;
+import model.RegularPit;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * The `GameSession` class is a game served by `GameServer`, along with its id and whether the computer
+ * plays for the second player. Requests for the same game may arrive on several threads at once, so every
+ * method holds the session's lock for as long as it touches the game. When the server keeps a
+ * `GameJournal`, the moves of a request are logged before the request is answered, while the lock is
+ * still held, so snapshots never see a move which is not in the journal. The moves already played are
+ * logged even when the computer fails to reply, so the journal never skips a move. Once deleted, a session
+ * refuses every further request.
+ */
+final class GameSession {
+    private final String id; // The id of the game in the server's sessions.
+    private final Game game; // The game, driven through `step`.
+    private final boolean computerOpponent; // Whether the computer plays for the second player.
+    private final GameJournal journal; // Logs every move, or null.
+    private int plies; // The number of moves played, including the moves of extra turns.
+    private boolean deleted; // Whether the game has been deleted.
+
+    /**
+     * Constructs a `GameSession`.
+     *
+     * @param id               The id of the game.
+     * @param game             The game, which must not have been started from the console.
+     * @param computerOpponent Whether the computer plays for the second player.
+     * @param journal          Logs every move, or `null`.
+     * @param plies            The number of moves already played in the game.
+     */
+    GameSession(String id, Game game, boolean computerOpponent, GameJournal journal, int plies) {
+        this.id = id;
+        this.game = game;
+        this.computerOpponent = computerOpponent;
+        this.journal = journal;
+        this.plies = plies;
+    }
+    /**
+     * Plays a move for the active player, followed by the replies of the computer opponent until a human
+     * player is to move again or the game is over.
+     *
+     * @param pitNumber The pit number (starting at 1) selected by the active player.
+     * @param computer  Chooses the zero-based pit of the computer for a game whose second player is to move.
+     * @return The board view after the moves, listing the moves played by the request.
+     * @throws IllegalStateException    If the game is over or has been deleted.
+     * @throws IllegalArgumentException If the pit does not exist or is empty.
+     * @throws RuntimeException         If the computer fails to choose a move, once the moves already played
+     *                                  are logged.
+     */
+    synchronized String play(int pitNumber, ToIntFunction<Game> computer) {
+        checkNotDeleted();
+        if (game.isOver()) {
+            throw new IllegalStateException("The game is already over");
+        }
+
+        StringBuilder moves = new StringBuilder();
+        appendMove(moves, pitNumber);
+        if (game.step(pitNumber) == StepResult.INVALID_MOVE) {
+            throw new IllegalArgumentException("Pit " + pitNumber + " cannot be played");
+        }
+        int firstPly = plies;
+        int[] pitNumbers = {pitNumber};
+        plies++;
+        try {
+            while (computerOpponent && !game.isOver() && isComputerToMove()) {
+                int computerPitNumber = computer.applyAsInt(game) + 1;
+                appendMove(moves, computerPitNumber);
+                game.step(computerPitNumber);
+                pitNumbers = Arrays.copyOf(pitNumbers, pitNumbers.length + 1);
+                pitNumbers[pitNumbers.length - 1] = computerPitNumber;
+                plies++;
+            }
+        }
+        finally {
+            if (journal != null) {
+                journal.logMoves(id, firstPly, pitNumbers);
+            }
+        }
+        return view(moves);
+    }
+    /**
+     * Replays a move read from the journal, unless the game already holds it.
+     *
+     * @param ply       The number of moves played before the move.
+     * @param pitNumber The pit number (starting at 1) of the move.
+     * @throws IllegalStateException If moves are missing before the move, or the move cannot be played.
+     */
+    synchronized void replay(int ply, int pitNumber) {
+        if (ply < plies) {
+            return;
+        }
+        if (ply > plies || game.step(pitNumber) == StepResult.INVALID_MOVE) {
+            throw new IllegalStateException("Move " + ply + " of game " + id + " cannot be replayed");
+        }
+        plies++;
+    }
+    /**
+     * Formats the board as a JSON view.
+     *
+     * @return The board view, with no moves listed.
+     * @throws IllegalStateException If the game has been deleted.
+     */
+    synchronized String view() {
+        checkNotDeleted();
+        return view(new StringBuilder());
+    }
+    /**
+     * Marks the game as deleted. Later requests which still hold the session are refused rather than
+     * playing a game which is no longer served.
+     */
+    synchronized void delete() {
+        deleted = true;
+    }
+    /**
+     * Checks whether the game has been deleted. Callers must hold the session's lock while they use it.
+     *
+     * @return `true` once `delete` has been called, `false` otherwise.
+     */
+    boolean isDeleted() {
+        return deleted;
+    }
+    /**
+     * Gets the id of the game.
+     *
+     * @return The id.
+     */
+    String getId() {
+        return id;
+    }
+    /**
+     * Gets the game. Callers must hold the session's lock while they use it.
+     *
+     * @return The game.
+     */
+    Game getGame() {
+        return game;
+    }
+    /**
+     * Checks whether the computer plays for the second player.
+     *
+     * @return `true` if the second player is the computer, `false` otherwise.
+     */
+    boolean isComputerOpponent() {
+        return computerOpponent;
+    }
+    /**
+     * Gets the number of moves played. Callers must hold the session's lock while they use it.
+     *
+     * @return The number of moves, including the moves of extra turns.
+     */
+    int getPlies() {
+        return plies;
+    }
+
+    private void checkNotDeleted() {
+        if (deleted) {
+            throw new IllegalStateException("Game " + id + " has been deleted");
+        }
+    }
+    private boolean isComputerToMove() {
+        return game.getActivePlayer().equals(game.getBoard().getSecondPlayer());
+    }
+    /**
+     * Appends a move of the active player to the JSON array of moves played by a request.
+     */
+    private void appendMove(StringBuilder moves, int pitNumber) {
+        int player = game.getActivePlayer().equals(game.getBoard().getFirstPlayer()) ? 1 : 2;
+        moves.append(moves.length() == 0 ? "" : ",")
+                .append("{\"player\":").append(player).append(",\"pit\":").append(pitNumber).append('}');
+    }
+    /**
+     * Formats the board, whose pits are listed for every player in the order in which they are sown.
+     */
+    private String view(StringBuilder moves) {
+        Board board = game.getBoard();
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":");
+        Json.quote(json, id);
+        json.append(",\"variant\":\"").append(board.getConfig()).append("\",\"players\":[");
+        appendPlayer(json, board.getFirstPlayer(), false);
+        json.append(',');
+        appendPlayer(json, board.getSecondPlayer(), computerOpponent);
+        json.append("],\"toMove\":");
+        if (game.isOver()) {
+            json.append("null,\"result\":\"").append(game.getResult()).append('"');
+        }
+        else {
+            json.append(game.getActivePlayer().equals(board.getFirstPlayer()) ? 1 : 2).append(",\"result\":null");
+        }
+        return json.append(",\"moves\":[").append(moves).append("]}").toString();
+    }
+    private static void appendPlayer(StringBuilder json, Player player, boolean computer) {
+        json.append("{\"name\":");
+        Json.quote(json, player.getName());
+        json.append(",\"computer\":").append(computer).append(",\"pits\":[");
+        boolean first = true;
+        for (RegularPit pit : player.getRegularPits()) {
+            json.append(first ? "" : ",").append(pit.getSeeds());
+            first = false;
+        }
+        json.append("],\"store\":").append(player.getLargePit().getSeeds()).append('}');
+    }
+}
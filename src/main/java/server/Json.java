@@ -0,0 +1,198 @@
+package server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The `Json` class reads and writes the small JSON documents exchanged by `GameServer`. Requests are flat
+ * objects whose values are strings, integers, booleans or `null`, which is all the server accepts, so no
+ * JSON library is needed.
+ */
+final class Json {
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private Json() {}
+
+    /**
+     * Parses a flat JSON object.
+     *
+     * @param text The JSON text, which may be blank for an empty object.
+     * @return The members of the object in their order, with strings as `String`, integers as `Long`,
+     *         booleans as `Boolean` and `null` as `null`.
+     * @throws IllegalArgumentException If the text is not a flat object of supported values.
+     */
+    static Map<String, Object> parseObject(String text) {
+        Map<String, Object> members = new LinkedHashMap<>();
+        if (text.isBlank()) {
+            return members;
+        }
+
+        Parser parser = new Parser(text);
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                members.put(name, parser.value());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        return members;
+    }
+    /**
+     * Appends a string as a quoted JSON string.
+     *
+     * @param json  The JSON being written.
+     * @param value The string to append.
+     * @return The JSON being written.
+     */
+    static StringBuilder quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char c = value.charAt(index);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+    /**
+     * Formats an error message as a JSON object.
+     *
+     * @param message The message.
+     * @return The object `{"error": message}`.
+     */
+    static String error(String message) {
+        return quote(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    /**
+     * Reads the tokens of a JSON text from left to right.
+     */
+    private static final class Parser {
+        private final String text; // The JSON text.
+        private int position; // The index of the next character to read.
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Expected a value");
+            }
+            char c = text.charAt(position);
+            if (c == '"') {
+                return string();
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return number();
+            }
+            for (String literal : new String[]{"true", "false", "null"}) {
+                if (text.startsWith(literal, position)) {
+                    position += literal.length();
+                    return literal.equals("null") ? null : Boolean.valueOf(literal);
+                }
+            }
+            throw error("Unsupported value");
+        }
+        String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case '"', '\\', '/' -> value.append(escape);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("Truncated escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        }
+                        catch (NumberFormatException exception) {
+                            throw error("Invalid escape");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("Invalid escape");
+                }
+            }
+            throw error("Unterminated string");
+        }
+        Long number() {
+            int start = position;
+            if (text.charAt(position) == '-') {
+                position++;
+            }
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            try {
+                return Long.parseLong(text.substring(start, position));
+            }
+            catch (NumberFormatException exception) {
+                throw error("Only integers are supported");
+            }
+        }
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+        void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+        void end() {
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("Unexpected trailing characters");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + position);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package server;
+
+import common.GameConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The `LoadTestClient` class loads a `GameServer` on localhost: it opens many games, leaves them idle and
+ * plays random moves in them from several client threads, then reports the throughput and the latencies
+ * of the requests. Only human games are opened, so the figures measure the server rather than the search.
+ */
+public class LoadTestClient {
+    private final HttpClient client = HttpClient.newHttpClient(); // Sends the requests.
+    private final URI games; // The games resource of the server.
+    private final int threads; // The number of requests in flight at the same time.
+
+    /**
+     * Constructs a `LoadTestClient`.
+     *
+     * @param port    The port of a server on localhost.
+     * @param threads The number of requests to keep in flight at the same time.
+     */
+    public LoadTestClient(int port, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.games = URI.create("http://localhost:" + port + "/games");
+        this.threads = threads;
+    }
+    /**
+     * Opens games on the server.
+     *
+     * @param count The number of games to open.
+     * @return The ids of the games, followed by the latencies of the requests.
+     * @throws IOException If a request fails.
+     */
+    public Phase openGames(int count) throws IOException {
+        String[] ids = new String[count];
+        Phase phase = run(count, index -> {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(games)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"first\":\"Load " + index + "\"}")));
+            if (response.statusCode() != 201) {
+                throw new IOException("Could not open a game: " + response.body());
+            }
+            ids[index] = idOf(response.body());
+        });
+        phase.ids = ids;
+        return phase;
+    }
+    /**
+     * Plays one random move in every game, trying other pits when the chosen one is empty. Games which are
+     * over are left alone.
+     *
+     * @param ids  The ids of the games.
+     * @param seed The seed of the random pits.
+     * @return The latencies of the requests.
+     * @throws IOException If a request fails.
+     */
+    public Phase playMoves(String[] ids, long seed) throws IOException {
+        return run(ids.length, index -> {
+            URI moves = URI.create(games + "/" + ids[index] + "/moves");
+            Random random = new Random(seed + index);
+            int pits = GameConfig.DEFAULT.getPitsPerPlayer();
+            int firstPit = random.nextInt(pits);
+            for (int offset = 0; offset < pits; offset++) {
+                int pit = 1 + (firstPit + offset) % pits;
+                HttpResponse<String> response = send(HttpRequest.newBuilder(moves)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"pit\":" + pit + "}")));
+                if (response.statusCode() == 200 || response.statusCode() == 409) {
+                    return;
+                }
+                if (response.statusCode() != 400) {
+                    throw new IOException("Could not play a move: " + response.body());
+                }
+            }
+        });
+    }
+    /**
+     * Ends every game.
+     *
+     * @param ids The ids of the games.
+     * @return The latencies of the requests.
+     * @throws IOException If a request fails.
+     */
+    public Phase closeGames(String[] ids) throws IOException {
+        return run(ids.length, index -> send(HttpRequest.newBuilder(URI.create(games + "/" + ids[index])).DELETE()));
+    }
+
+    /**
+     * The requests of one phase of a load test, measured per game.
+     */
+    public static final class Phase {
+        private final long[] latencies; // The latency of the requests of every game in nanoseconds, sorted.
+        private final long elapsedNanos; // The duration of the phase.
+        private String[] ids; // The ids of the games opened by the phase, or null.
+
+        private Phase(long[] latencies, long elapsedNanos) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+        /**
+         * Gets the ids of the games opened by the phase.
+         *
+         * @return The ids, or `null` if the phase did not open games.
+         */
+        public String[] getIds() {
+            return ids;
+        }
+        /**
+         * Gets the number of games handled by the phase, whose requests are measured together.
+         *
+         * @return The number of games.
+         */
+        public int getGames() {
+            return latencies.length;
+        }
+        /**
+         * Gets a percentile of the latencies.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The latency in microseconds.
+         */
+        public long getLatencyMicros(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile / 100 * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1000;
+        }
+        /**
+         * Gets the number of games handled per second.
+         *
+         * @return The throughput.
+         */
+        public double getGamesPerSecond() {
+            return latencies.length * 1e9 / Math.max(1, elapsedNanos);
+        }
+        @Override
+        public String toString() {
+            return String.format("%d games, %.0f/s, p50 %d us, p99 %d us, max %d us", getGames(),
+                    getGamesPerSecond(), getLatencyMicros(50), getLatencyMicros(99), getLatencyMicros(100));
+        }
+    }
+
+    /**
+     * A request of a phase, identified by its index.
+     */
+    private interface Task {
+        void run(int index) throws IOException, InterruptedException;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+    /**
+     * Runs a task for every index on the client threads and measures every run, which may send several
+     * requests.
+     */
+    private Phase run(int count, Task task) throws IOException {
+        List<long[]> latencies = new ArrayList<>();
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long startTime = System.nanoTime();
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(workers.submit(() -> {
+                    long[] threadLatencies = new long[count];
+                    int runs = 0;
+                    for (int index; (index = next.getAndIncrement()) < count; ) {
+                        long requestTime = System.nanoTime();
+                        task.run(index);
+                        threadLatencies[runs++] = System.nanoTime() - requestTime;
+                    }
+                    return Arrays.copyOf(threadLatencies, runs);
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during the load test", exception);
+        }
+        catch (ExecutionException exception) {
+            throw new IOException("A request failed", exception.getCause());
+        }
+        finally {
+            workers.shutdownNow();
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Phase(all, elapsedNanos);
+    }
+    private static String idOf(String view) {
+        int start = view.indexOf("\"id\":\"") + 6;
+        return view.substring(start, view.indexOf('"', start));
+    }
+    /**
+     * Runs a load test against a server on localhost.
+     *
+     * @param args The port of the server, the number of games to open, the number of client threads and
+     *             the number of moves to play in every game.
+     * @throws IOException If a request fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        int moves = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        LoadTestClient client = new LoadTestClient(port, threads);
+
+        Phase open = client.openGames(games);
+        System.out.println("Opened " + games + " games: " + open);
+        for (int move = 0; move < moves; move++) {
+            System.out.println("Move " + (move + 1) + ": " + client.playMoves(open.getIds(), move));
+        }
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%d games idle, client heap %d MB\n", games,
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        System.out.println("Closed every game: " + client.closeGames(open.getIds()));
+    }
+}
@@ -0,0 +1,55 @@
+package simulation;
+
+import core.BoardState;
+
+import java.util.Random;
+
+/**
+ * The `GreedyStrategy` class selects the move which maximizes the active side's large pit lead right after
+ * the move, preferring moves which give an extra turn. Ties are broken at random.
+ */
+public class GreedyStrategy implements MoveStrategy {
+    private BoardState scratch = BoardState.create(); // Reused to try every move without allocating.
+
+    /**
+     * Selects the move with the best immediate outcome for the active side.
+     *
+     * @param state  The current board state.
+     * @param random The random generator of the current game.
+     * @return The zero-based regular pit of the active side to sow from.
+     */
+    @Override
+    public int selectMove(BoardState state, Random random) {
+        int side = state.getActiveSide();
+        int bestPit = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        if (scratch.getConfig() != state.getConfig()) {
+            scratch = BoardState.create(state.getConfig());
+        }
+
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+
+            scratch.copyFrom(state);
+            scratch.move(pit);
+            int score = 2 * (scratch.getSeeds(state.largePitIndex(side))
+                    - scratch.getSeeds(state.largePitIndex(BoardState.opponentOf(side))));
+            if (scratch.getActiveSide() == side) {
+                score++;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestPit = pit;
+                ties = 1;
+            }
+            else if (score == bestScore && random.nextInt(++ties) == 0) {
+                bestPit = pit;
+            }
+        }
+        return bestPit;
+    }
+}
@@ -0,0 +1,20 @@
+package simulation;
+
+import core.BoardState;
+
+import java.util.Random;
+
+/**
+ * The `MoveStrategy` interface selects the move of the active side in a `BoardState`. Strategies may keep
+ * scratch state between calls, so every worker of the `Simulator` uses its own instances.
+ */
+public interface MoveStrategy {
+    /**
+     * Selects a move for the active side of the given board state. The board state must not be modified.
+     *
+     * @param state  The current board state, which is not over yet.
+     * @param random The random generator of the current game, used for tie-breaking and random choices.
+     * @return The zero-based regular pit of the active side to sow from.
+     */
+    int selectMove(BoardState state, Random random);
+}
@@ -0,0 +1,31 @@
+package simulation;
+
+import core.BoardState;
+
+import java.util.Random;
+
+/**
+ * The `RandomStrategy` class selects one of the legal moves uniformly at random.
+ */
+public class RandomStrategy implements MoveStrategy {
+    /**
+     * Selects a random non-empty pit of the active side.
+     *
+     * @param state  The current board state.
+     * @param random The random generator of the current game.
+     * @return The zero-based regular pit of the active side to sow from.
+     */
+    @Override
+    public int selectMove(BoardState state, Random random) {
+        int legalMoves = state.getLegalMoves();
+        if (legalMoves == 0) {
+            throw new IllegalStateException("No legal move available");
+        }
+
+        // Drop a random number of the lowest legal pits and play the next one
+        for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+            legalMoves &= legalMoves - 1;
+        }
+        return Integer.numberOfTrailingZeros(legalMoves);
+    }
+}
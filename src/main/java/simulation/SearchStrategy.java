@@ -0,0 +1,87 @@
+package simulation;
+
+import core.BoardState;
+
+import java.util.Random;
+
+/**
+ * The `SearchStrategy` class selects moves with a fixed-depth minimax search over `BoardState`, scoring
+ * positions by the difference between both large pits. Every move, including an extra turn, uses one ply
+ * of depth. Moves are tried and taken back on a single board state with `makeMove` and `unmakeMove`.
+ */
+public class SearchStrategy implements MoveStrategy {
+    private final int depth; // The number of plies searched below the root.
+    private BoardState position = BoardState.create(); // The position being searched.
+
+    /**
+     * Constructs a `SearchStrategy` searching the given number of plies.
+     *
+     * @param depth The search depth in plies, at least 1.
+     */
+    public SearchStrategy(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The search depth must be at least 1");
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * Selects the move with the best minimax score for the active side. Ties are broken at random.
+     *
+     * @param state  The current board state.
+     * @param random The random generator of the current game.
+     * @return The zero-based regular pit of the active side to sow from.
+     */
+    @Override
+    public int selectMove(BoardState state, Random random) {
+        int side = state.getActiveSide();
+        int bestPit = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        if (position.getConfig() != state.getConfig()) {
+            position = BoardState.create(state.getConfig());
+        }
+        position.copyFrom(state);
+
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+
+            long record = position.makeMove(pit);
+            int score = search(position, 1, side);
+            position.unmakeMove(record);
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestPit = pit;
+                ties = 1;
+            }
+            else if (score == bestScore && random.nextInt(++ties) == 0) {
+                bestPit = pit;
+            }
+        }
+        return bestPit;
+    }
+
+    private int search(BoardState state, int ply, int side) {
+        if (ply == depth || state.isGameOver()) {
+            return state.getSeeds(state.largePitIndex(side))
+                    - state.getSeeds(state.largePitIndex(BoardState.opponentOf(side)));
+        }
+
+        boolean maximizing = state.getActiveSide() == side;
+        int bestScore = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+
+            long record = state.makeMove(pit);
+            int score = search(state, ply + 1, side);
+            state.unmakeMove(record);
+            bestScore = maximizing ? Math.max(bestScore, score) : Math.min(bestScore, score);
+        }
+        return bestScore;
+    }
+}
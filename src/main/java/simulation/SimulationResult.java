@@ -0,0 +1,71 @@
+package simulation;
+
+import core.GameResult;
+
+/**
+ * The `SimulationResult` class aggregates the outcomes of the games played by a `Simulator` run.
+ */
+public class SimulationResult {
+    private final long firstPlayerWins; // Games won by the first player.
+    private final long secondPlayerWins; // Games won by the second player.
+    private final long draws; // Games which ended in a draw.
+    private final long elapsedNanos; // Wall-clock time of the run.
+
+    /**
+     * Constructs a `SimulationResult` from the aggregated counters of a run.
+     *
+     * @param firstPlayerWins  The number of games won by the first player.
+     * @param secondPlayerWins The number of games won by the second player.
+     * @param draws            The number of games which ended in a draw.
+     * @param elapsedNanos     The wall-clock time of the run in nanoseconds.
+     */
+    public SimulationResult(long firstPlayerWins, long secondPlayerWins, long draws, long elapsedNanos) {
+        this.firstPlayerWins = firstPlayerWins;
+        this.secondPlayerWins = secondPlayerWins;
+        this.draws = draws;
+        this.elapsedNanos = elapsedNanos;
+    }
+    /**
+     * Gets the number of games which ended with the given result.
+     *
+     * @param gameResult The result to count.
+     * @return The number of games with that result.
+     */
+    public long getCount(GameResult gameResult) {
+        return switch (gameResult) {
+            case FIRST_PLAYER_WON -> firstPlayerWins;
+            case SECOND_PLAYER_WON -> secondPlayerWins;
+            case DRAW -> draws;
+        };
+    }
+    /**
+     * Gets the total number of games played.
+     *
+     * @return The number of games played.
+     */
+    public long getGames() {
+        return firstPlayerWins + secondPlayerWins + draws;
+    }
+    /**
+     * Gets the wall-clock time of the run.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    /**
+     * Gets the throughput of the run.
+     *
+     * @return The number of games played per second.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games: first player won %d, second player won %d, %d draws (%.0f games/s)",
+                getGames(), firstPlayerWins, secondPlayerWins, draws, getGamesPerSecond());
+    }
+}
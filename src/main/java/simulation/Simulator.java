@@ -0,0 +1,152 @@
+package simulation;
+
+import common.GameConfig;
+import core.BoardState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The `Simulator` class plays many Mancala games between two move strategies without any console
+ * interaction. Games are split into chunks which are picked up by workers on a `ForkJoinPool`. Every
+ * worker owns its board state and strategy instances, so the game loop itself does not allocate.
+ *
+ * <p>Each game draws its random numbers from a seed derived from the simulation seed and the game
+ * number, so the results of a run do not depend on the number of workers or on scheduling.</p>
+ */
+public class Simulator {
+    private static final int CHUNK_SIZE = 256; // Games handed to a worker at a time.
+
+    private final GameConfig config; // The variant played in every game.
+    private final Supplier<MoveStrategy> firstPlayerStrategy; // Creates the first player's strategy per worker.
+    private final Supplier<MoveStrategy> secondPlayerStrategy; // Creates the second player's strategy per worker.
+    private final int parallelism; // The number of workers.
+
+    /**
+     * Constructs a `Simulator` of the standard game for the given strategies.
+     *
+     * @param firstPlayerStrategy  Creates the strategy of the first player, once per worker.
+     * @param secondPlayerStrategy Creates the strategy of the second player, once per worker.
+     * @param parallelism          The number of workers to run the games on.
+     */
+    public Simulator(Supplier<MoveStrategy> firstPlayerStrategy,
+                     Supplier<MoveStrategy> secondPlayerStrategy,
+                     int parallelism) {
+        this(GameConfig.DEFAULT, firstPlayerStrategy, secondPlayerStrategy, parallelism);
+    }
+    /**
+     * Constructs a `Simulator` of the given variant for the given strategies.
+     *
+     * @param config               The variant played in every game.
+     * @param firstPlayerStrategy  Creates the strategy of the first player, once per worker.
+     * @param secondPlayerStrategy Creates the strategy of the second player, once per worker.
+     * @param parallelism          The number of workers to run the games on.
+     */
+    public Simulator(GameConfig config,
+                     Supplier<MoveStrategy> firstPlayerStrategy,
+                     Supplier<MoveStrategy> secondPlayerStrategy,
+                     int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.config = config;
+        this.firstPlayerStrategy = firstPlayerStrategy;
+        this.secondPlayerStrategy = secondPlayerStrategy;
+        this.parallelism = parallelism;
+    }
+    /**
+     * Plays the given number of games and aggregates their results.
+     *
+     * @param games The number of games to play.
+     * @param seed  The seed from which every game's random generator is derived.
+     * @return The aggregated results of all games.
+     */
+    public SimulationResult run(long games, long seed) {
+        AtomicLong nextChunk = new AtomicLong();
+        long[] counts = new long[3];
+        long startTime = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<long[]>> workers = new ArrayList<>();
+            for (int worker = 0; worker < parallelism; worker++) {
+                workers.add(pool.submit(() -> playChunks(nextChunk, games, seed)));
+            }
+            for (Future<long[]> worker : workers) {
+                long[] workerCounts = worker.get();
+                for (int index = 0; index < counts.length; index++) {
+                    counts[index] += workerCounts[index];
+                }
+            }
+        }
+        catch (Exception exception) {
+            throw new IllegalStateException("Simulation failed", exception);
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        return new SimulationResult(counts[0], counts[1], counts[2], System.nanoTime() - startTime);
+    }
+
+    private long[] playChunks(AtomicLong nextChunk, long games, long seed) {
+        MoveStrategy[] strategies = {firstPlayerStrategy.get(), secondPlayerStrategy.get()};
+        BoardState state = BoardState.create(config);
+        Random random = new Random();
+        long[] counts = new long[3];
+
+        long chunkStart;
+        while ((chunkStart = nextChunk.getAndAdd(CHUNK_SIZE)) < games) {
+            long chunkEnd = Math.min(games, chunkStart + CHUNK_SIZE);
+            for (long game = chunkStart; game < chunkEnd; game++) {
+                random.setSeed(gameSeed(seed, game));
+                state.reset();
+                while (!state.isGameOver()) {
+                    state.move(strategies[state.getActiveSide()].selectMove(state, random));
+                }
+                counts[state.getResult().ordinal()]++;
+            }
+        }
+        return counts;
+    }
+    /**
+     * Derives the seed of a single game, mixing the bits so that consecutive games are uncorrelated.
+     */
+    private static long gameSeed(long seed, long game) {
+        long mixed = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+    /**
+     * Runs a simulation from the command line and prints its statistics.
+     *
+     * @param args Optional arguments: number of games, seed, number of workers, first and second strategy
+     *             (`random`, `greedy` or `search`), pits per player and seeds per pit.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Supplier<MoveStrategy> first = strategy(args.length > 3 ? args[3] : "random");
+        Supplier<MoveStrategy> second = strategy(args.length > 4 ? args[4] : "random");
+        GameConfig config = args.length > 6 ? GameConfig.of(Integer.parseInt(args[5]), Integer.parseInt(args[6]))
+                : GameConfig.DEFAULT;
+
+        System.out.println(config + ": " + new Simulator(config, first, second, parallelism).run(games, seed));
+    }
+
+    private static Supplier<MoveStrategy> strategy(String name) {
+        return switch (name) {
+            case "random" -> RandomStrategy::new;
+            case "greedy" -> GreedyStrategy::new;
+            case "search" -> () -> new SearchStrategy(4);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+}
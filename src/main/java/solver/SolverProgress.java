@@ -0,0 +1,105 @@
+package solver;
+
+/**
+ * The `SolverProgress` class is a snapshot of the work done by a `StrongSolver`, including the work done
+ * by earlier runs which were resumed from a checkpoint.
+ */
+public class SolverProgress {
+    private final long nodes; // Number of positions visited.
+    private final long tableProbes; // Number of transposition table lookups.
+    private final long tableHits; // Number of lookups which found an entry.
+    private final long elapsedNanos; // Time spent solving.
+    private final int lowerBound; // The proven lower bound of the root value.
+    private final int upperBound; // The proven upper bound of the root value.
+
+    /**
+     * Constructs a `SolverProgress`.
+     *
+     * @param nodes        The number of positions visited.
+     * @param tableProbes  The number of transposition table lookups.
+     * @param tableHits    The number of lookups which found an entry.
+     * @param elapsedNanos The time spent solving, in nanoseconds.
+     * @param lowerBound   The proven lower bound of the root value.
+     * @param upperBound   The proven upper bound of the root value.
+     */
+    public SolverProgress(long nodes, long tableProbes, long tableHits, long elapsedNanos, int lowerBound,
+                          int upperBound) {
+        this.nodes = nodes;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.elapsedNanos = elapsedNanos;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+    /**
+     * Gets the number of positions visited.
+     *
+     * @return The number of nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+    /**
+     * Gets the number of transposition table lookups.
+     *
+     * @return The number of probes.
+     */
+    public long getTableProbes() {
+        return tableProbes;
+    }
+    /**
+     * Gets the number of transposition table lookups which found an entry.
+     *
+     * @return The number of hits.
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+    /**
+     * Gets the share of transposition table lookups which found an entry.
+     *
+     * @return The hit rate between 0 and 1.
+     */
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+    /**
+     * Gets the time spent solving.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    /**
+     * Gets the number of positions visited per second.
+     *
+     * @return The solving speed.
+     */
+    public double getPositionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000.0 / elapsedNanos;
+    }
+    /**
+     * Gets the proven lower bound of the root value.
+     *
+     * @return The lower bound.
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+    /**
+     * Gets the proven upper bound of the root value.
+     *
+     * @return The upper bound.
+     */
+    public int getUpperBound() {
+        return upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("bounds [%d, %d], %d nodes, %.1f%% table hits, %.0f positions/s, %.1f s",
+                lowerBound, upperBound, nodes, 100 * getTableHitRate(), getPositionsPerSecond(),
+                elapsedNanos / 1e9);
+    }
+}
@@ -0,0 +1,77 @@
+package solver;
+
+import core.GameResult;
+
+/**
+ * The `SolverResult` class holds the exact game-theoretic value of a position found by a `StrongSolver`.
+ */
+public class SolverResult {
+    private final int bestMove; // A zero-based pit reaching the value, or -1 when the game is over.
+    private final int value; // The best difference the side to move can still add to the large pits.
+    private final int finalDifference; // The final large pit difference from the side to move's view.
+    private final GameResult result; // The result of the game with perfect play.
+    private final SolverProgress progress; // The work it took to find the value.
+
+    /**
+     * Constructs a `SolverResult`.
+     *
+     * @param bestMove        A zero-based pit reaching the value, or -1 when the game is over.
+     * @param value           The best difference the side to move can still add to the large pits.
+     * @param finalDifference The final large pit difference from the side to move's point of view.
+     * @param result          The result of the game with perfect play.
+     * @param progress        The work it took to find the value.
+     */
+    public SolverResult(int bestMove, int value, int finalDifference, GameResult result, SolverProgress progress) {
+        this.bestMove = bestMove;
+        this.value = value;
+        this.finalDifference = finalDifference;
+        this.result = result;
+        this.progress = progress;
+    }
+    /**
+     * Gets a zero-based pit of the side to move which reaches the value.
+     *
+     * @return The best move, or -1 when the game is over.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+    /**
+     * Gets the best difference the side to move can still add to the large pits with perfect play.
+     *
+     * @return The value of the position.
+     */
+    public int getValue() {
+        return value;
+    }
+    /**
+     * Gets the final large pit difference from the side to move's point of view with perfect play.
+     *
+     * @return The final difference.
+     */
+    public int getFinalDifference() {
+        return finalDifference;
+    }
+    /**
+     * Gets the result of the game with perfect play.
+     *
+     * @return The result of the game.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+    /**
+     * Gets the work it took to find the value.
+     *
+     * @return The solver progress.
+     */
+    public SolverProgress getProgress() {
+        return progress;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s with final difference %d (move %d), %s", result, finalDifference, bestMove,
+                progress);
+    }
+}
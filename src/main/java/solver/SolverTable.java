@@ -0,0 +1,211 @@
+package solver;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The `SolverTable` class caches proven bounds on position values for the `StrongSolver`. It has two
+ * tiers: a direct-mapped table on the heap, and a much larger direct-mapped table in a memory-mapped
+ * file. Entries pushed out of the heap table are spilled to the file, and file entries are promoted
+ * back to the heap when probed, so the solver can keep far more positions than fit on the heap.
+ *
+ * <p>Every entry holds a lower and an upper bound of the value of a position. Both bounds are proven
+ * facts which do not depend on the search window they were found with, so entries remain valid across
+ * MTD(f) passes and across runs of the solver on the same file. File slots store the key XOR-ed with
+ * the bounds, so a slot half-written during a crash reads as a miss.</p>
+ */
+class SolverTable implements AutoCloseable {
+    private static final int SLOT_SIZE = 16;
+    private static final int SEGMENT_SLOTS_LOG2 = 26;
+
+    private final long[] keys; // The key of each heap slot, 0 when empty.
+    private final int[] bounds; // The packed bounds of each heap slot.
+    private final int mask; // Maps a key to a heap slot.
+    private final FileChannel channel; // The file holding the disk tier, or null.
+    private final MappedByteBuffer[] segments; // The disk tier, mapped in segments of at most 1 GiB.
+    private final long diskMask; // Maps a key to a disk slot.
+
+    private long probes; // Number of lookups.
+    private long hits; // Number of lookups which found an entry.
+
+    /**
+     * Constructs a `SolverTable`.
+     *
+     * @param memorySizeLog2 The base-2 logarithm of the number of heap slots.
+     * @param file           The file of the disk tier, created if missing, or `null` for no disk tier.
+     * @param diskSizeLog2   The base-2 logarithm of the number of disk slots.
+     * @throws IOException If the file cannot be opened or has a different size.
+     */
+    SolverTable(int memorySizeLog2, Path file, int diskSizeLog2) throws IOException {
+        this.keys = new long[1 << memorySizeLog2];
+        this.bounds = new int[1 << memorySizeLog2];
+        this.mask = (1 << memorySizeLog2) - 1;
+
+        if (file == null) {
+            this.channel = null;
+            this.segments = new MappedByteBuffer[0];
+            this.diskMask = 0;
+            return;
+        }
+
+        long slots = 1L << diskSizeLog2;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() != 0 && channel.size() != slots * SLOT_SIZE) {
+            channel.close();
+            throw new IOException("The solver table " + file + " was created with a different size");
+        }
+
+        int segmentSlotsLog2 = Math.min(diskSizeLog2, SEGMENT_SLOTS_LOG2);
+        this.segments = new MappedByteBuffer[(int) (slots >> segmentSlotsLog2)];
+        long segmentSize = (1L << segmentSlotsLog2) * SLOT_SIZE;
+        for (int segment = 0; segment < segments.length; segment++) {
+            segments[segment] = channel.map(FileChannel.MapMode.READ_WRITE, segment * segmentSize, segmentSize);
+            segments[segment].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.diskMask = slots - 1;
+    }
+    /**
+     * Looks up the bounds of a position.
+     *
+     * @param key The non-zero key of the position.
+     * @return The packed bounds, or `Integer.MIN_VALUE` if the position is unknown.
+     */
+    int probe(long key) {
+        probes++;
+        int slot = (int) key & mask;
+        if (keys[slot] == key) {
+            hits++;
+            return bounds[slot];
+        }
+
+        long diskSlot = key & diskMask;
+        if (segments.length > 0) {
+            MappedByteBuffer segment = segment(diskSlot);
+            int offset = offset(diskSlot);
+            long packed = segment.getLong(offset + 8);
+            if ((segment.getLong(offset) ^ packed) == key) {
+                hits++;
+                put(key, (int) packed);
+                return (int) packed;
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+    /**
+     * Stores new bounds of a position, tightening the bounds already known.
+     *
+     * @param key   The non-zero key of the position.
+     * @param lower The proven lower bound.
+     * @param upper The proven upper bound.
+     */
+    void store(long key, int lower, int upper) {
+        int slot = (int) key & mask;
+        if (keys[slot] == key) {
+            lower = Math.max(lower, lower(bounds[slot]));
+            upper = Math.min(upper, upper(bounds[slot]));
+        }
+        put(key, pack(lower, upper));
+    }
+    /**
+     * Writes every heap entry to the disk tier and flushes the file, so that all work done so far
+     * survives a crash.
+     */
+    void flush() {
+        if (segments.length == 0) {
+            return;
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                spill(keys[slot], bounds[slot]);
+            }
+        }
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+    /**
+     * Gets the number of lookups.
+     *
+     * @return The number of probes.
+     */
+    long getProbes() {
+        return probes;
+    }
+    /**
+     * Gets the number of lookups which found an entry, in memory or on disk.
+     *
+     * @return The number of hits.
+     */
+    long getHits() {
+        return hits;
+    }
+    /**
+     * Restores the lookup counters of an earlier run.
+     */
+    void restoreCounters(long probes, long hits) {
+        this.probes = probes;
+        this.hits = hits;
+    }
+    /**
+     * Flushes and closes the disk tier.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void put(long key, int packed) {
+        int slot = (int) key & mask;
+        if (keys[slot] != 0 && keys[slot] != key) {
+            spill(keys[slot], bounds[slot]);
+        }
+        keys[slot] = key;
+        bounds[slot] = packed;
+    }
+    private void spill(long key, int packed) {
+        if (segments.length == 0) {
+            return;
+        }
+        long diskSlot = key & diskMask;
+        MappedByteBuffer segment = segment(diskSlot);
+        int offset = offset(diskSlot);
+        long stored = packed & 0xFFFFFFFFL;
+        segment.putLong(offset, key ^ stored);
+        segment.putLong(offset + 8, stored);
+    }
+    private MappedByteBuffer segment(long diskSlot) {
+        return segments[(int) (diskSlot >>> SEGMENT_SLOTS_LOG2)];
+    }
+    private static int offset(long diskSlot) {
+        return (int) (diskSlot & ((1L << SEGMENT_SLOTS_LOG2) - 1)) * SLOT_SIZE;
+    }
+
+    /**
+     * Packs a lower and an upper bound into an `int`.
+     */
+    static int pack(int lower, int upper) {
+        return (lower << 16) | (upper & 0xFFFF);
+    }
+    /**
+     * Extracts the lower bound of packed bounds.
+     */
+    static int lower(int packed) {
+        return packed >> 16;
+    }
+    /**
+     * Extracts the upper bound of packed bounds.
+     */
+    static int upper(int packed) {
+        return (short) packed;
+    }
+}
@@ -0,0 +1,397 @@
+package solver;
+
+import common.GameConfig;
+import core.BoardState;
+import core.GameResult;
+import endgame.EndgameTablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The `StrongSolver` class computes the exact game-theoretic value of a position by searching every line
+ * to the end of the game. Like the endgame tablebase, the value of a position is the best difference the
+ * side to move can still add to the large pits, which does not depend on the large pits themselves. Two
+ * positions with the same regular pits, seen from the side to move, therefore share one table entry.
+ *
+ * <p>The value is found with MTD(f): a sequence of null-window alpha-beta searches which narrow the
+ * bounds of the root value until they meet. Proven bounds are kept in a `SolverTable`, which spills to a
+ * memory-mapped file, and positions covered by an `EndgameTablebase` are looked up instead of searched.</p>
+ *
+ * <p>Solving a full game can take hours, so the solver writes a checkpoint at regular intervals: it
+ * flushes the table to disk and records the root bounds found so far. Solving the same position again
+ * with the same directory resumes from the checkpoint, and the table entries of the earlier run make the
+ * searches already done cheap to repeat.</p>
+ */
+public class StrongSolver {
+    private static final int CHECKPOINT_MAGIC = 0x4D4E4350;
+    private static final int CHECKPOINT_SIZE = 64;
+    private static final long CHECK_INTERVAL_NODES = 1 << 20;
+    private static final String TABLE_FILE = "table.bin";
+    private static final String CHECKPOINT_FILE = "checkpoint.bin";
+
+    private final Path directory; // Holds the disk table and the checkpoint, or null to stay in memory.
+    private final int memorySizeLog2; // The base-2 logarithm of the number of heap table slots.
+    private final int diskSizeLog2; // The base-2 logarithm of the number of disk table slots.
+    private final long checkpointNanos; // Time between two checkpoints.
+
+    private EndgameTablebase tablebase; // Solves positions with few seeds, or null.
+    private Consumer<SolverProgress> progressListener = progress -> { }; // Receives progress at checkpoints.
+    private SolverTable table; // The table of the current solve.
+    private GameConfig config; // The variant of the position being solved.
+    private int pits; // Regular pits per player of the variant.
+    private BoardState board; // The position being searched, changed with makeMove and unmakeMove.
+    private int[][] moves = new int[0][]; // Ordered moves per ply.
+    private long[][] pitKeys = new long[0][]; // Hash keys per relative regular pit and seed count.
+    private long nodes; // Nodes visited, including earlier runs.
+    private long startTime; // System.nanoTime of the start of the current run.
+    private long previousNanos; // Time spent by earlier runs.
+    private long lastCheckpoint; // System.nanoTime of the last checkpoint.
+    private long rootKey; // The key of the position being solved.
+    private int lowerBound; // The proven lower bound of the root value.
+    private int upperBound; // The proven upper bound of the root value.
+    private int guess; // The next MTD(f) guess.
+    private int rootBestMove; // The best root move of the last search.
+
+    /**
+     * Constructs a `StrongSolver` which keeps its table on the heap only and writes no checkpoints.
+     *
+     * @param memorySizeLog2 The base-2 logarithm of the number of table entries.
+     */
+    public StrongSolver(int memorySizeLog2) {
+        this(null, memorySizeLog2, 0, Long.MAX_VALUE);
+    }
+    /**
+     * Constructs a `StrongSolver` which spills its table to a file and writes checkpoints.
+     *
+     * @param directory       The directory holding the disk table and the checkpoint, used for a single
+     *                        variant.
+     * @param memorySizeLog2  The base-2 logarithm of the number of heap table entries.
+     * @param diskSizeLog2    The base-2 logarithm of the number of disk table entries.
+     * @param checkpointMillis The time between two checkpoints in milliseconds.
+     */
+    public StrongSolver(Path directory, int memorySizeLog2, int diskSizeLog2, long checkpointMillis) {
+        this.directory = directory;
+        this.memorySizeLog2 = memorySizeLog2;
+        this.diskSizeLog2 = diskSizeLog2;
+        this.checkpointNanos = checkpointMillis == Long.MAX_VALUE ? Long.MAX_VALUE : checkpointMillis * 1_000_000;
+    }
+    /**
+     * Sets the endgame tablebase used to solve positions with few seeds without searching them.
+     *
+     * @param tablebase The tablebase, or `null` to search every position.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+    /**
+     * Sets the listener receiving the progress of the solver at every checkpoint and after every search.
+     *
+     * @param progressListener The progress listener.
+     */
+    public void setProgressListener(Consumer<SolverProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+    /**
+     * Solves a position, resuming from the checkpoint of an earlier run on the same position if there is
+     * one.
+     *
+     * @param root The position to solve. It is not modified.
+     * @return The exact value of the position and the work it took to find it.
+     * @throws IOException If the disk table or the checkpoint cannot be read or written.
+     */
+    public SolverResult solve(BoardState root) throws IOException {
+        int seedsOnBoard = seedsOnBoard(root);
+        prepare(root.getConfig(), seedsOnBoard);
+        board.copyFrom(root);
+        rootKey = key(root);
+        lowerBound = -seedsOnBoard;
+        upperBound = seedsOnBoard;
+        guess = 0;
+        nodes = 0;
+        previousNanos = 0;
+
+        SolverProgress progress;
+        Path tableFile = directory == null ? null : directory.resolve(TABLE_FILE);
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (SolverTable solverTable = new SolverTable(memorySizeLog2, tableFile, diskSizeLog2)) {
+            table = solverTable;
+            readCheckpoint();
+            startTime = System.nanoTime();
+            lastCheckpoint = startTime;
+
+            if (!root.isGameOver()) {
+                // MTD(f): every null-window search moves one of the bounds until they meet
+                while (lowerBound < upperBound) {
+                    int beta = guess == lowerBound ? guess + 1 : guess;
+                    guess = search(0, beta - 1, beta);
+                    if (guess < beta) {
+                        upperBound = guess;
+                    }
+                    else {
+                        lowerBound = guess;
+                    }
+                    progressListener.accept(progress());
+                }
+
+                // The value is known, so this search only has to find a move reaching it
+                search(0, lowerBound - 1, lowerBound + 1);
+            }
+            else {
+                lowerBound = 0;
+                upperBound = 0;
+                rootBestMove = -1;
+            }
+            writeCheckpoint();
+            progress = progress();
+        }
+        finally {
+            table = null;
+        }
+
+        int side = root.getActiveSide();
+        int finalDifference = lowerBound + root.getSeeds(root.largePitIndex(side))
+                - root.getSeeds(root.largePitIndex(BoardState.opponentOf(side)));
+        GameResult result = finalDifference == 0 ? GameResult.DRAW
+                : (finalDifference > 0) == (side == BoardState.FIRST_SIDE)
+                ? GameResult.FIRST_PLAYER_WON
+                : GameResult.SECOND_PLAYER_WON;
+        return new SolverResult(rootBestMove, lowerBound, finalDifference, result, progress);
+    }
+
+    /**
+     * Fail-soft alpha-beta search of the future large pit difference of the position at the given ply.
+     */
+    private int search(int ply, int alpha, int beta) throws IOException {
+        BoardState state = board;
+        if (++nodes % CHECK_INTERVAL_NODES == 0 && System.nanoTime() - lastCheckpoint >= checkpointNanos) {
+            writeCheckpoint();
+        }
+        if (state.isGameOver()) {
+            return 0;
+        }
+        if (ply > 0 && tablebase != null && tablebase.covers(state)) {
+            return tablebase.value(state);
+        }
+
+        long key = ply == 0 ? rootKey : key(state);
+        int packed = table.probe(key);
+        if (packed != Integer.MIN_VALUE && ply > 0) {
+            int lower = SolverTable.lower(packed);
+            int upper = SolverTable.upper(packed);
+            if (lower >= beta || lower == upper) {
+                return lower;
+            }
+            if (upper <= alpha) {
+                return upper;
+            }
+            alpha = Math.max(alpha, lower);
+            beta = Math.min(beta, upper);
+        }
+
+        ensureCapacity(ply + 1);
+        int originalAlpha = alpha;
+        int side = state.getActiveSide();
+        int store = state.getSeeds(state.largePitIndex(side));
+        int moveCount = orderMoves(state, moves[ply]);
+        int bestValue = Integer.MIN_VALUE;
+
+        for (int index = 0; index < moveCount; index++) {
+            int move = moves[ply][index];
+            long record = state.makeMove(move);
+
+            int gain = state.getSeeds(state.largePitIndex(side)) - store;
+            int value = state.getActiveSide() == side
+                    ? gain + search(ply + 1, alpha - gain, beta - gain)
+                    : gain - search(ply + 1, gain - beta, gain - alpha);
+            state.unmakeMove(record);
+
+            if (value > bestValue) {
+                bestValue = value;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int seeds = seedsOnBoard(state);
+        if (bestValue <= originalAlpha) {
+            table.store(key, -seeds, bestValue);
+        }
+        else if (bestValue >= beta) {
+            table.store(key, bestValue, seeds);
+        }
+        else {
+            table.store(key, bestValue, bestValue);
+        }
+        return bestValue;
+    }
+    /**
+     * Orders the legal moves: moves giving an extra turn first, then captures, then the remaining moves,
+     * each group in pit order.
+     *
+     * @return The number of legal moves.
+     */
+    private static int orderMoves(BoardState state, int[] plyMoves) {
+        int legal = state.getLegalMoves();
+        int extraTurns = state.getExtraTurnMoves();
+        int captures = state.getCaptureMoves() & ~extraTurns;
+        int count = addMoves(plyMoves, 0, extraTurns);
+        count = addMoves(plyMoves, count, captures);
+        return addMoves(plyMoves, count, legal & ~extraTurns & ~captures);
+    }
+    /**
+     * Appends the moves of a mask to a move list in pit order.
+     *
+     * @return The new number of moves in the list.
+     */
+    private static int addMoves(int[] plyMoves, int count, int moves) {
+        for (; moves != 0; moves &= moves - 1) {
+            plyMoves[count++] = Integer.numberOfTrailingZeros(moves);
+        }
+        return count;
+    }
+    /**
+     * Hashes the regular pits of a position as seen from the side to move.
+     */
+    private long key(BoardState state) {
+        int side = state.getActiveSide();
+        long key = 0;
+        for (int pit = 0; pit < 2 * pits; pit++) {
+            int relativeSide = pit < pits ? side : BoardState.opponentOf(side);
+            key ^= pitKeys[pit][state.getSeeds(state.regularPitIndex(relativeSide, pit % pits))];
+        }
+        return key == 0 ? 1 : key;
+    }
+    private void prepare(GameConfig rootConfig, int seedsOnBoard) {
+        if (rootConfig != config) {
+            config = rootConfig;
+            pits = rootConfig.getPitsPerPlayer();
+            board = BoardState.create(rootConfig);
+            moves = new int[0][];
+        }
+
+        // The keys only depend on the pit and the seeds, so disk tables stay valid across runs
+        pitKeys = new long[2 * pits][seedsOnBoard + 1];
+        for (int pit = 0; pit < 2 * pits; pit++) {
+            for (int seeds = 1; seeds <= seedsOnBoard; seeds++) {
+                pitKeys[pit][seeds] = mix(((long) pit << 32) | seeds);
+            }
+        }
+        ensureCapacity(0);
+    }
+    private void ensureCapacity(int ply) {
+        if (ply < moves.length) {
+            return;
+        }
+        int oldLength = moves.length;
+        int newLength = Math.max(64, 2 * oldLength);
+        moves = Arrays.copyOf(moves, newLength);
+        for (int index = oldLength; index < newLength; index++) {
+            moves[index] = new int[pits];
+        }
+    }
+    private SolverProgress progress() {
+        long elapsedNanos = previousNanos + System.nanoTime() - startTime;
+        return new SolverProgress(nodes, table.getProbes(), table.getHits(), elapsedNanos, lowerBound, upperBound);
+    }
+    private void readCheckpoint() throws IOException {
+        if (directory == null || !Files.exists(directory.resolve(CHECKPOINT_FILE))) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(CHECKPOINT_FILE)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() != CHECKPOINT_SIZE || buffer.getInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("Not a solver checkpoint: " + directory.resolve(CHECKPOINT_FILE));
+        }
+        if (buffer.getLong() != rootKey) {
+            // The table entries still hold for the new position, only the root bounds are lost
+            return;
+        }
+        lowerBound = buffer.getInt();
+        upperBound = buffer.getInt();
+        guess = buffer.getInt();
+        nodes = buffer.getLong();
+        long probes = buffer.getLong();
+        long hits = buffer.getLong();
+        table.restoreCounters(probes, hits);
+        previousNanos = buffer.getLong();
+    }
+    private void writeCheckpoint() throws IOException {
+        lastCheckpoint = System.nanoTime();
+        if (directory == null) {
+            return;
+        }
+        table.flush();
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CHECKPOINT_MAGIC)
+                .putLong(rootKey)
+                .putInt(lowerBound)
+                .putInt(upperBound)
+                .putInt(guess)
+                .putLong(nodes)
+                .putLong(table.getProbes())
+                .putLong(table.getHits())
+                .putLong(previousNanos + lastCheckpoint - startTime);
+
+        // Replace the checkpoint atomically, so a crash leaves either the old or the new one
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temporary, buffer.array());
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        progressListener.accept(progress());
+    }
+    private static int seedsOnBoard(BoardState state) {
+        return state.getRegularSeeds(BoardState.FIRST_SIDE) + state.getRegularSeeds(BoardState.SECOND_SIDE);
+    }
+    /**
+     * The SplitMix64 finalizer, which turns consecutive inputs into well-distributed keys.
+     */
+    private static long mix(long value) {
+        value += 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Solves the initial position, printing the progress at every checkpoint.
+     *
+     * @param args The directory for the table and the checkpoint, and optionally the base-2 logarithms of
+     *             the heap and disk table sizes, the checkpoint interval in seconds, the pits per player,
+     *             the seeds per pit and an endgame tablebase file.
+     * @throws IOException If the files cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "solver");
+        int memorySizeLog2 = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int diskSizeLog2 = args.length > 2 ? Integer.parseInt(args[2]) : 28;
+        long checkpointSeconds = args.length > 3 ? Long.parseLong(args[3]) : 300;
+
+        GameConfig config = args.length > 5 ? GameConfig.of(Integer.parseInt(args[4]), Integer.parseInt(args[5]))
+                : GameConfig.DEFAULT;
+
+        StrongSolver solver = new StrongSolver(directory, memorySizeLog2, diskSizeLog2, checkpointSeconds * 1000);
+        if (args.length > 6) {
+            solver.setTablebase(EndgameTablebase.open(Paths.get(args[6])));
+        }
+        solver.setProgressListener(System.out::println);
+        System.out.println(config + ": " + solver.solve(BoardState.create(config)));
+    }
+}
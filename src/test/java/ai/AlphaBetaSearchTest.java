@@ -0,0 +1,170 @@
+package ai;
+
+import common.GameConfig;
+import common.GameConstants;
+import core.BoardState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlphaBetaSearchTest {
+    private final AlphaBetaSearch search = new AlphaBetaSearch(16);
+
+    @Test
+    public void searchShouldReturnALegalMove(){
+        BoardState state = BoardState.create();
+        SearchResult result = search.search(state, SearchLimits.depth(6));
+
+        assertTrue(state.isLegalMove(result.getBestMove()));
+        assertEquals(6, result.getDepth());
+        assertTrue(result.getNodes() > 0);
+    }
+
+    @Test
+    public void searchShouldNotModifyTheRootPosition(){
+        BoardState state = BoardState.create();
+        BoardState copy = BoardState.create();
+        copy.copyFrom(state);
+
+        search.search(state, SearchLimits.depth(5));
+
+        for (int index = 0; index < state.size(); index++) {
+            assertEquals(copy.getSeeds(index), state.getSeeds(index));
+        }
+        assertEquals(copy.getActiveSide(), state.getActiveSide());
+    }
+
+    @Test
+    public void searchShouldFindTheBestWinningLine(){
+        // Sowing the last pit gives an extra turn, after which the first pit captures the opponent's seeds
+        BoardState state = emptyState();
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, 0), 1);
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, GameConstants.PITS_PER_PLAYER - 1), 1);
+        state.setSeeds(state.oppositePitIndex(state.regularPitIndex(BoardState.FIRST_SIDE, 1)), 5);
+        state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), 3);
+
+        SearchResult result = search.search(state, SearchLimits.depth(8));
+
+        assertEquals(GameConstants.PITS_PER_PLAYER - 1, result.getBestMove());
+        assertEquals(AlphaBetaSearch.WIN_SCORE + 4, result.getScore());
+    }
+
+    @Test
+    public void searchShouldMatchAPlainMinimax(){
+        BoardState state = BoardState.create();
+        for (int depth = 1; depth <= 5; depth++) {
+            search.clear();
+            assertEquals(minimax(state, depth), search.search(state, SearchLimits.depth(depth)).getScore());
+        }
+    }
+
+    @Test
+    public void searchShouldStopAtTheNodeBudget(){
+        SearchResult result = search.search(BoardState.create(), SearchLimits.nodes(5_000));
+
+        assertTrue(result.getNodes() <= 5_000 + 1024);
+        assertTrue(BoardState.create().isLegalMove(result.getBestMove()));
+    }
+
+    @Test
+    public void variantsShouldMatchAPlainMinimax(){
+        for (GameConfig config : new GameConfig[] {GameConfig.of(4, 3), GameConfig.of(9, 2)}) {
+            BoardState state = BoardState.create(config);
+            state.move(0);
+            state.move(1);
+
+            AlphaBetaSearch variantSearch = new AlphaBetaSearch(16);
+            assertEquals(minimax(state, 6), variantSearch.search(state, SearchLimits.depth(6)).getScore());
+        }
+    }
+
+    @Test
+    public void searchShouldRejectFinishedGames(){
+        assertThrows(IllegalArgumentException.class, () -> search.search(emptyState(), SearchLimits.depth(1)));
+    }
+
+    @Test
+    public void mirroredPositionsShouldShareTableEntries(){
+        BoardState state = BoardState.create();
+        state.move(0);
+        BoardState mirrored = BoardState.create();
+        mirrored.copyFrom(state);
+        mirrored.mirror();
+
+        assertEquals(Zobrist.canonicalHash(state), Zobrist.canonicalHash(mirrored));
+        assertNotEquals(Zobrist.hash(state), Zobrist.hash(mirrored));
+
+        SearchResult result = search.search(state, SearchLimits.depth(8));
+        SearchResult mirroredResult = search.search(mirrored, SearchLimits.depth(8));
+
+        assertEquals(result.getBestMove(), mirroredResult.getBestMove());
+        assertEquals(result.getScore(), mirroredResult.getScore());
+        // Every iteration of the mirrored search starts from the entries of the first search
+        assertTrue(mirroredResult.getNodes() < result.getNodes());
+    }
+
+    @Test
+    public void transpositionTableShouldKeepDeeperEntriesOfTheCurrentSearch(){
+        TranspositionTable table = new TranspositionTable(4);
+        table.newSearch();
+        table.store(1, 5, TranspositionTable.EXACT, 42, 3);
+        long entry = table.probe(1);
+
+        assertEquals(42, TranspositionTable.score(entry));
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.EXACT, TranspositionTable.bound(entry));
+        assertEquals(3, TranspositionTable.move(entry));
+
+        // A shallower entry for another position in the same slot does not replace it
+        table.store(1 + 16, 2, TranspositionTable.LOWER_BOUND, -7, -1);
+        assertEquals(0, table.probe(1 + 16));
+        assertEquals(42, TranspositionTable.score(table.probe(1)));
+
+        // After a new search started, the old entry can be replaced
+        table.newSearch();
+        table.store(1 + 16, 2, TranspositionTable.LOWER_BOUND, -7, -1);
+        assertEquals(-7, TranspositionTable.score(table.probe(1 + 16)));
+        assertEquals(-1, TranspositionTable.move(table.probe(1 + 16)));
+        assertEquals(0, table.probe(1));
+    }
+
+    private static BoardState emptyState() {
+        BoardState state = BoardState.create();
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        return state;
+    }
+
+    /**
+     * A reference minimax without pruning, ordering or transposition table.
+     */
+    private static int minimax(BoardState state, int depth) {
+        int side = state.getActiveSide();
+        int difference = state.getSeeds(state.largePitIndex(side))
+                - state.getSeeds(state.largePitIndex(BoardState.opponentOf(side)));
+        if (state.isGameOver()) {
+            return difference > 0 ? AlphaBetaSearch.WIN_SCORE + difference
+                    : difference < 0 ? -AlphaBetaSearch.WIN_SCORE + difference : 0;
+        }
+        if (depth == 0) {
+            return difference;
+        }
+
+        int best = Integer.MIN_VALUE;
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+            BoardState child = BoardState.create(state.getConfig());
+            child.copyFrom(state);
+            child.move(pit);
+            int score = child.getActiveSide() == side ? minimax(child, depth - 1) : -minimax(child, depth - 1);
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,97 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+import core.PositionSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchEvaluatorTest {
+    private static final GameConfig CONFIG = GameConfig.of(4, 3);
+    private static final int SOLVING_DEPTH = 40;
+
+    @Test
+    public void resultsShouldFollowTheSubmissionOrder(){
+        List<PositionSnapshot> positions = randomPositions(200, new Random(17));
+        AlphaBetaSearch search = new AlphaBetaSearch(16);
+
+        try (BatchEvaluator evaluator = new BatchEvaluator(3, 16)) {
+            List<PositionEvaluation> evaluations = evaluator.evaluateAll(positions, SOLVING_DEPTH);
+
+            assertEquals(positions.size(), evaluations.size());
+            for (int index = 0; index < positions.size(); index++) {
+                PositionEvaluation evaluation = evaluations.get(index);
+                BoardState state = positions.get(index).copyTo(null);
+                assertEquals(index, evaluation.getIndex());
+                assertEquals(positions.get(index), evaluation.getPosition());
+
+                // Every search reaches the end of the 4x3 game, so scores do not depend on the thread
+                if (state.isGameOver()) {
+                    assertEquals(-1, evaluation.getBestMove());
+                    assertEquals(AlphaBetaSearch.finalScore(AlphaBetaSearch.evaluate(state)), evaluation.getScore());
+                }
+                else {
+                    assertTrue(state.isLegalMove(evaluation.getBestMove()));
+                    assertEquals(search.search(state, SearchLimits.depth(SOLVING_DEPTH)).getScore(),
+                            evaluation.getScore());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resultsShouldStreamInCompletionOrder(){
+        List<PositionSnapshot> positions = randomPositions(300, new Random(18));
+        boolean[] seen = new boolean[positions.size()];
+        List<Thread> threads = new ArrayList<>();
+
+        try (BatchEvaluator evaluator = new BatchEvaluator(4, 12)) {
+            evaluator.evaluateAll(positions, 6, BatchEvaluator.Order.COMPLETION, evaluation -> {
+                assertFalse(seen[evaluation.getIndex()]);
+                seen[evaluation.getIndex()] = true;
+                threads.add(Thread.currentThread());
+            });
+        }
+
+        for (boolean positionSeen : seen) {
+            assertTrue(positionSeen);
+        }
+        threads.forEach(thread -> assertEquals(Thread.currentThread(), thread));
+    }
+
+    @Test
+    public void failuresShouldReachTheCaller(){
+        List<PositionSnapshot> positions = new ArrayList<>(randomPositions(5, new Random(19)));
+        positions.add(null);
+
+        try (BatchEvaluator evaluator = new BatchEvaluator(2, 12)) {
+            assertThrows(NullPointerException.class, () -> evaluator.evaluateAll(positions, 4));
+        }
+    }
+
+    private static List<PositionSnapshot> randomPositions(int count, Random random) {
+        List<PositionSnapshot> positions = new ArrayList<>();
+        BoardState state = BoardState.create(CONFIG);
+        while (positions.size() < count) {
+            if (state.isGameOver()) {
+                positions.add(PositionSnapshot.of(state));
+                state.reset();
+            }
+            int pit;
+            do {
+                pit = random.nextInt(CONFIG.getPitsPerPlayer());
+            } while (!state.isLegalMove(pit));
+            state.move(pit);
+            positions.add(PositionSnapshot.of(state));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,87 @@
+package ai;
+
+import core.Board;
+import core.ConsoleInputReader;
+import core.Game;
+import core.GameObserver;
+import core.GameResult;
+import core.MoveSource;
+import core.NoOpGameObserver;
+import model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComputerMoveSourceTest {
+    @Test
+    public void computerShouldPlayTheSecondPlayer(){
+        List<ConsoleInputReader.InputType> reads = new ArrayList<>();
+        int[] nextPit = {0};
+        // The human player takes the computer's name first, then tries every pit in turn
+        MoveSource humanSource = inputType -> {
+            reads.add(inputType);
+            if (inputType == ConsoleInputReader.InputType.FIRST_PLAYER_NAME) {
+                return reads.size() == 1 ? ComputerMoveSource.COMPUTER_NAME : "Player 1";
+            }
+            return String.valueOf(nextPit[0]++ % 6 + 1);
+        };
+
+        try (ComputerPlayer computerPlayer = new ComputerPlayer(SearchLimits.depth(2))) {
+            Game game = Game.create(humanSource, ComputerMoveSource.COMPUTER_NAME,
+                    new ComputerMoveSource(computerPlayer), NoOpGameObserver.INSTANCE);
+            assertEquals("Player 1", game.getBoard().getFirstPlayer().getName());
+            assertEquals(ComputerMoveSource.COMPUTER_NAME, game.getBoard().getSecondPlayer().getName());
+
+            assertNotNull(game.start());
+            assertTrue(game.isOver());
+        }
+        assertTrue(reads.stream().noneMatch(inputType -> inputType == ConsoleInputReader.InputType.SECOND_PLAYER_NAME));
+    }
+
+    @Test
+    public void computerMovesShouldBeReportedWithTheirSearch(){
+        List<String> details = new ArrayList<>();
+        GameObserver observer = new RecordingObserver(details);
+        try (ComputerPlayer computerPlayer = new ComputerPlayer(SearchLimits.depth(2))) {
+            Game game = Game.create(inputType -> "Player 1", ComputerMoveSource.COMPUTER_NAME,
+                    new ComputerMoveSource(computerPlayer), observer);
+            // The first pit ends in the fifth pit of the human player, so the computer moves next
+            game.step(1);
+            assertTrue(game.getBoard().getSecondPlayer().getRegularPits().contains(game.askActivePlayerToPlay()));
+        }
+        assertEquals(1, details.size());
+        assertTrue(details.get(0).contains("depth 2"));
+    }
+
+    /**
+     * Records the details of every computer move and ignores the other events.
+     */
+    private static final class RecordingObserver implements GameObserver {
+        private final List<String> details;
+
+        private RecordingObserver(List<String> details) {
+            this.details = details;
+        }
+        @Override
+        public void onNameRequested(ConsoleInputReader.InputType inputType, boolean againstComputer) {}
+        @Override
+        public void onNameRejected(ConsoleInputReader.InputType inputType, boolean againstComputer) {}
+        @Override
+        public void onBoardChanged(Board board) {}
+        @Override
+        public void onTurn(Player player) {}
+        @Override
+        public void onInvalidMove(Player player, String message) {}
+        @Override
+        public void onComputerMove(Player player, int pitNumber, String details) {
+            this.details.add(details);
+        }
+        @Override
+        public void onGameOver(Board board, GameResult result) {}
+    }
+}
@@ -0,0 +1,201 @@
+package ai;
+
+import archive.GameRecord;
+import archive.GameRecordWriter;
+import common.GameConfig;
+import core.BoardState;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EvaluatorTest {
+    @Test
+    public void defaultEvaluatorShouldScoreTheLargePits(){
+        Random random = new Random(1);
+        for (int game = 0; game < 50; game++) {
+            for (BoardState state : randomPositions(GameConfig.DEFAULT, random)) {
+                assertEquals(AlphaBetaSearch.evaluate(state), Evaluator.DEFAULT.evaluate(state));
+            }
+        }
+    }
+
+    @Test
+    public void featuresShouldBeScoredForTheSideToMove(){
+        BoardState state = BoardState.create();
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        // Sowing the single seed of the first pit lands in the empty second pit, opposite four seeds
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, 0), 1);
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 4), 4);
+        state.setSeeds(state.largePitIndex(BoardState.FIRST_SIDE), 2);
+
+        assertEquals(5, new Evaluator(0, 0, 1, 0, 0).evaluate(state));
+        assertEquals(-3, new Evaluator(0, 1, 0, 0, 0).evaluate(state));
+        assertEquals(0, new Evaluator(0, 0, 0, 0, 1).evaluate(state));
+        assertEquals(2 * 3 + 5 * 5, new Evaluator(3, 0, 5, 7, 11).evaluate(state));
+
+        state.setActiveSide(BoardState.SECOND_SIDE);
+        assertEquals(-2 * 3 - 5 * 5, new Evaluator(3, 0, 5, 7, 11).evaluate(state));
+
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 4), 2);
+        assertEquals(1, new Evaluator(0, 0, 0, 1, 0).evaluate(state));
+    }
+
+    @Test
+    public void batchScoresShouldMatchSingleScores(){
+        Random random = new Random(2);
+        Evaluator evaluator = new Evaluator(7, 3, 5, 11, -2);
+        for (GameConfig config : List.of(GameConfig.DEFAULT, GameConfig.of(4, 3))) {
+            PackedPositions positions = new PackedPositions(1000);
+            List<BoardState> states = new ArrayList<>();
+            while (!positions.isFull()) {
+                for (BoardState state : randomPositions(config, random)) {
+                    if (!positions.isFull()) {
+                        positions.add(state);
+                        states.add(state);
+                    }
+                }
+            }
+
+            int[] scores = new int[positions.size()];
+            evaluator.evaluateAll(positions, scores);
+            for (int position = 0; position < states.size(); position++) {
+                assertEquals(evaluator.evaluate(states.get(position)), scores[position]);
+            }
+        }
+    }
+
+    @Test
+    public void packedPositionsShouldHoldTheFeaturesOfTheSideToMove(){
+        BoardState state = BoardState.create(GameConfig.of(4, 3));
+        state.move(1);
+        state.move(0);
+        PackedPositions positions = new PackedPositions(2);
+        assertEquals(0, positions.add(state));
+        assertEquals(-1, positions.getFeature(0, Evaluator.STORE));
+        assertEquals(1, positions.getFeature(0, Evaluator.SEEDS));
+        assertEquals(1, positions.getFeature(0, Evaluator.MOBILITY));
+
+        // The mirrored position is the same one for its side to move
+        state.mirror();
+        assertEquals(1, positions.add(state));
+        for (int feature = 0; feature < Evaluator.FEATURES; feature++) {
+            assertEquals(positions.getFeature(0, feature), positions.getFeature(1, feature));
+        }
+
+        assertThrows(IllegalStateException.class, () -> positions.add(state));
+        positions.clear();
+        assertEquals(0, positions.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> positions.getFeature(0, Evaluator.STORE));
+    }
+
+    @Test
+    public void savedWeightsShouldBeLoadedBack() throws IOException {
+        Path path = Files.createTempFile("evaluator", ".properties");
+        try {
+            Evaluator evaluator = new Evaluator(100, -4, 12, 30, 1);
+            evaluator.save(path);
+            assertEquals(evaluator, Evaluator.load(path));
+
+            Files.writeString(path, "# Only the captures\ncaptures = 9\n");
+            assertEquals(Evaluator.DEFAULT.withWeight(Evaluator.CAPTURES, 9), Evaluator.load(path));
+
+            Files.writeString(path, "mobility=many\n");
+            assertThrows(IllegalArgumentException.class, () -> Evaluator.load(path));
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void heuristicScoresShouldStayBelowWins(){
+        AlphaBetaSearch search = new AlphaBetaSearch(12);
+        search.setEvaluator(new Evaluator(1_000_000, 0, 0, 0, 0));
+        BoardState state = BoardState.create();
+        state.move(2);
+
+        SearchResult result = search.search(state, SearchLimits.depth(3));
+        assertTrue(state.isLegalMove(result.getBestMove()));
+        assertTrue(Math.abs(result.getScore()) < AlphaBetaSearch.WIN_SCORE);
+    }
+
+    @Test
+    public void tuningShouldNotIncreaseTheError() throws IOException {
+        Path path = Files.createTempFile("games", ".bin");
+        Random random = new Random(3);
+        int moves = 0;
+        try {
+            try (GameRecordWriter writer = new GameRecordWriter(path)) {
+                for (int game = 0; game < 100; game++) {
+                    int[] played = randomGame(GameConfig.DEFAULT, random);
+                    writer.write(new GameRecord(GameConfig.DEFAULT, "First", "Second", played));
+                    moves += played.length;
+                }
+            }
+
+            try (EvaluatorTuner tuner = new EvaluatorTuner(2)) {
+                assertEquals(moves, tuner.addGames(path));
+                assertEquals(moves, tuner.getPositionCount());
+
+                Evaluator start = new Evaluator(100, 0, 0, 0, 0);
+                double scale = tuner.fitScale(start);
+                assertTrue(scale > 0);
+                double error = tuner.error(start, scale);
+                assertTrue(error < 0.25);
+
+                Evaluator tuned = tuner.tune(start, scale, 5);
+                assertTrue(tuner.error(tuned, scale) <= error);
+            }
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void tunerShouldRequirePositions(){
+        try (EvaluatorTuner tuner = new EvaluatorTuner(1)) {
+            assertThrows(IllegalStateException.class, () -> tuner.error(Evaluator.DEFAULT, 1));
+        }
+    }
+
+    private static int[] randomGame(GameConfig config, Random random) {
+        BoardState state = BoardState.create(config);
+        List<Integer> moves = new ArrayList<>();
+        while (!state.isGameOver()) {
+            int pit = randomMove(state, random);
+            moves.add(pit);
+            state.move(pit);
+        }
+        return moves.stream().mapToInt(Integer::intValue).toArray();
+    }
+    private static List<BoardState> randomPositions(GameConfig config, Random random) {
+        List<BoardState> positions = new ArrayList<>();
+        BoardState state = BoardState.create(config);
+        while (!state.isGameOver()) {
+            BoardState position = BoardState.create(config);
+            position.copyFrom(state);
+            positions.add(position);
+            state.move(randomMove(state, random));
+        }
+        return positions;
+    }
+    private static int randomMove(BoardState state, Random random) {
+        int moves = state.getLegalMoves();
+        for (int skip = random.nextInt(Integer.bitCount(moves)); skip > 0; skip--) {
+            moves &= moves - 1;
+        }
+        return Integer.numberOfTrailingZeros(moves);
+    }
+}
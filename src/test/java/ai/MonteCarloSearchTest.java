@@ -0,0 +1,89 @@
+package ai;
+
+import common.GameConfig;
+import core.BoardState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MonteCarloSearchTest {
+    @Test
+    public void searchShouldFindTheOnlyWinningMove(){
+        // Capturing with the first pit wins; every other move loses
+        BoardState state = emptyState();
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, 0), 1);
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, 3), 2);
+        state.setSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, 5), 3);
+        state.setSeeds(state.oppositePitIndex(state.regularPitIndex(BoardState.FIRST_SIDE, 1)), 9);
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 0), 2);
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 5), 1);
+        state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), 6);
+
+        try (MonteCarloSearch search = new MonteCarloSearch(1, 1 << 16, 7)) {
+            MonteCarloResult result = search.search(state, SearchLimits.nodes(20_000));
+
+            assertEquals(0, result.getBestMove());
+            assertTrue(result.getWinRate() > 0.9);
+        }
+    }
+
+    @Test
+    public void playoutBudgetShouldBeSplitOverTheThreads(){
+        try (MonteCarloSearch search = new MonteCarloSearch(3, 1 << 12, 1)) {
+            MonteCarloResult result = search.search(BoardState.create(), SearchLimits.nodes(3_000));
+
+            assertEquals(3_000, result.getPlayouts());
+            assertTrue(result.getTreeNodes() > 3);
+            assertTrue(result.getPlayoutsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    public void searchShouldStopAtTheTimeBudget(){
+        try (MonteCarloSearch search = new MonteCarloSearch(2, 1 << 16, 1)) {
+            long startTime = System.nanoTime();
+            MonteCarloResult result = search.search(BoardState.create(), SearchLimits.millis(100));
+            long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+            assertTrue(result.getPlayouts() > 0);
+            assertTrue(elapsedMillis < 1_000);
+            assertTrue(BoardState.create().isLegalMove(result.getBestMove()));
+        }
+    }
+
+    @Test
+    public void fullTreesShouldKeepRunningPlayouts(){
+        try (MonteCarloSearch search = new MonteCarloSearch(1, GameConfig.MAX_PITS_PER_PLAYER + 1, 1)) {
+            MonteCarloResult result = search.search(BoardState.create(), SearchLimits.nodes(500));
+
+            assertEquals(500, result.getPlayouts());
+            assertTrue(result.getTreeNodes() <= GameConfig.MAX_PITS_PER_PLAYER + 1);
+        }
+    }
+
+    @Test
+    public void variantsShouldBeSearched(){
+        BoardState state = BoardState.create(GameConfig.of(12, 10));
+        try (MonteCarloSearch search = new MonteCarloSearch(1, 1 << 14, 3)) {
+            assertTrue(state.isLegalMove(search.search(state, SearchLimits.nodes(200)).getBestMove()));
+        }
+    }
+
+    @Test
+    public void searchShouldRequireABudgetAndAGameInProgress(){
+        try (MonteCarloSearch search = new MonteCarloSearch(1, 1 << 10, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> search.search(BoardState.create(), SearchLimits.depth(4)));
+            assertThrows(IllegalArgumentException.class, () -> search.search(emptyState(), SearchLimits.nodes(10)));
+        }
+    }
+
+    private static BoardState emptyState() {
+        BoardState state = BoardState.create();
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,99 @@
+package ai;
+
+import common.GameConfig;
+import core.Board;
+import core.BoardState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpeningBookTest {
+    private static final GameConfig CONFIG = GameConfig.of(4, 3);
+    private static final int PLIES = 3;
+
+    private Path path;
+    private int positions;
+
+    @BeforeEach
+    public void buildBook() throws IOException {
+        path = Files.createTempFile("opening", ".bin");
+        positions = new OpeningBookBuilder(PLIES, SearchLimits.depth(40), 1).build(CONFIG, path);
+    }
+
+    @AfterEach
+    public void deleteBook() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void everyPositionWithinThePliesShouldMatchTheSearch() throws IOException {
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(positions, book.size());
+        assertEquals(CONFIG, book.getConfig());
+
+        // The 4x3 game is small enough for every search to reach the end of the game, so scores are exact
+        assertCovered(book, BoardState.create(CONFIG), 0, new AlphaBetaSearch(16));
+    }
+
+    @Test
+    public void positionsOutsideTheBookShouldNotBeFound() throws IOException {
+        OpeningBook book = OpeningBook.open(path);
+
+        assertNull(book.lookup(BoardState.create()));
+        BoardState state = BoardState.create(CONFIG);
+        state.setSeeds(0, 0);
+        state.setSeeds(1, 6);
+        assertNull(book.lookup(state));
+    }
+
+    @Test
+    public void computerPlayersShouldPlayFromTheBook() throws IOException {
+        try (ComputerPlayer computerPlayer = new ComputerPlayer(SearchLimits.depth(2))) {
+            Board board = Board.create("Player 1", "Player 2", CONFIG);
+
+            computerPlayer.setOpeningBook(OpeningBook.open(path));
+            SearchResult result = computerPlayer.chooseMove(board, board.getFirstPlayer());
+
+            assertEquals(0, result.getNodes());
+            assertEquals(OpeningBook.open(path).lookup(BoardState.create(CONFIG)).getBestMove(), result.getBestMove());
+        }
+    }
+
+    @Test
+    public void otherFilesShouldBeRejected() throws IOException {
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+
+    private void assertCovered(OpeningBook book, BoardState state, int ply, AlphaBetaSearch search) {
+        if (state.isGameOver()) {
+            return;
+        }
+        SearchResult expected = search.search(state, SearchLimits.depth(40));
+        SearchResult result = book.lookup(state);
+        assertNotNull(result);
+        assertEquals(expected.getScore(), result.getScore());
+        assertTrue(state.isLegalMove(result.getBestMove()));
+        if (ply == PLIES) {
+            return;
+        }
+
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            if (state.isLegalMove(pit)) {
+                long record = state.makeMove(pit);
+                assertCovered(book, state, ply + 1, search);
+                state.unmakeMove(record);
+            }
+        }
+    }
+}
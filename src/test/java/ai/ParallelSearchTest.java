@@ -0,0 +1,63 @@
+package ai;
+
+import core.BoardState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelSearchTest {
+    @Test
+    public void singleThreadShouldMatchAlphaBetaSearch(){
+        BoardState state = BoardState.create();
+        try (ParallelSearch parallelSearch = new ParallelSearch(1, 16)) {
+            SearchResult expected = new AlphaBetaSearch(16).search(state, SearchLimits.depth(8));
+            SearchResult result = parallelSearch.search(state, SearchLimits.depth(8));
+
+            assertEquals(expected.getBestMove(), result.getBestMove());
+            assertEquals(expected.getScore(), result.getScore());
+            assertEquals(expected.getNodes(), result.getNodes());
+        }
+    }
+
+    @Test
+    public void severalThreadsShouldCompleteTheRequestedDepth(){
+        BoardState state = BoardState.create();
+        try (ParallelSearch parallelSearch = new ParallelSearch(4, 16)) {
+            for (int search = 0; search < 5; search++) {
+                SearchResult result = parallelSearch.search(state, SearchLimits.depth(10));
+
+                assertEquals(10, result.getDepth());
+                assertTrue(state.isLegalMove(result.getBestMove()));
+                state.move(result.getBestMove());
+            }
+        }
+    }
+
+    @Test
+    public void severalThreadsShouldRespectTheTimeBudget(){
+        try (ParallelSearch parallelSearch = new ParallelSearch(4, 16)) {
+            SearchResult result = parallelSearch.search(BoardState.create(), SearchLimits.millis(50));
+
+            assertTrue(result.getElapsedNanos() < 2_000_000_000L);
+            assertTrue(result.getDepth() > 0);
+        }
+    }
+
+    @Test
+    public void searchShouldRequireAThread(){
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(0, 16));
+    }
+
+    @Test
+    public void otherPositionsInTheSameSlotShouldReadAsMisses(){
+        TranspositionTable table = new TranspositionTable(4);
+        table.newSearch();
+        table.store(3, 4, TranspositionTable.EXACT, 10, 2);
+        assertEquals(10, TranspositionTable.score(table.probe(3)));
+
+        // A different position hashing to the same slot is not mistaken for the stored one
+        assertEquals(0, table.probe(3 + 16));
+    }
+}
@@ -0,0 +1,213 @@
+package archive;
+
+import common.GameConfig;
+import core.BoardState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GameRecordTest {
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("records");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void recordsShouldReplayTheirGame() {
+        GameRecord record = new GameRecord(GameConfig.DEFAULT, "Alice", "Bob", new int[]{2, 5});
+
+        assertEquals(2, record.getMoveCount());
+        assertNull(record.getResult());
+        // The first move ends in the large pit, so the first player also plays the second move
+        BoardState state = record.replay();
+        assertEquals(BoardState.SECOND_SIDE, state.getActiveSide());
+        assertEquals(2, state.getSeeds(state.largePitIndex(BoardState.FIRST_SIDE)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameRecord(GameConfig.DEFAULT, "Alice", "Bob", new int[]{2, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameRecord(GameConfig.DEFAULT, "Alice", "Bob", new int[]{6}));
+    }
+
+    @Test
+    public void binaryFilesShouldRoundTrip() throws IOException {
+        List<GameRecord> records = randomGames(3000, new Random(5));
+        Path path = directory.resolve("games.bin");
+
+        try (GameRecordWriter writer = new GameRecordWriter(path)) {
+            for (GameRecord record : records) {
+                writer.write(record);
+            }
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            for (GameRecord record : records) {
+                assertSameRecord(record, reader.next());
+            }
+            assertFalse(reader.hasNext());
+            assertEquals(records.size(), reader.getRecordCount());
+        }
+    }
+
+    @Test
+    public void movesShouldTakeFourBitsEach() throws IOException {
+        GameRecord record = randomGames(1, new Random(8)).get(0);
+        Path path = directory.resolve("game.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(path)) {
+            writer.write(record);
+        }
+
+        int names = record.getFirstPlayerName().getBytes(StandardCharsets.UTF_8).length
+                + record.getSecondPlayerName().getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(GameRecordReader.HEADER_SIZE + 2 + 2 + 2 + names + 4 + (record.getMoveCount() + 1) / 2,
+                Files.size(path));
+    }
+
+    @Test
+    public void corruptFilesShouldBeReported() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(path)) {
+            writer.write(randomGames(1, new Random(9)).get(0));
+        }
+
+        // Cut the last byte of moves
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertThrows(UncheckedIOException.class, reader::next);
+        }
+
+        // A huge move count must be refused before anything of that size is allocated
+        ByteBuffer huge = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length)).order(ByteOrder.LITTLE_ENDIAN);
+        int moveCountOffset = GameRecordReader.HEADER_SIZE + 2;
+        moveCountOffset += 2 + (huge.getShort(moveCountOffset) & 0xFFFF);
+        moveCountOffset += 2 + (huge.getShort(moveCountOffset) & 0xFFFF);
+        huge.putInt(moveCountOffset, Integer.MAX_VALUE);
+        Files.write(path, huge.array());
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertThrows(UncheckedIOException.class, reader::next);
+        }
+
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> new GameRecordReader(path));
+    }
+
+    @Test
+    public void textShouldRoundTrip() throws IOException {
+        List<GameRecord> records = randomGames(200, new Random(6));
+        StringBuilder text = new StringBuilder();
+        for (GameRecord record : records) {
+            text.append(GameRecordText.format(record));
+        }
+
+        try (BufferedReader reader = new BufferedReader(new StringReader(text.toString()))) {
+            for (GameRecord record : records) {
+                assertSameRecord(record, GameRecordText.read(reader));
+            }
+            assertNull(GameRecordText.read(reader));
+        }
+    }
+
+    @Test
+    public void textShouldGroupExtraTurns() {
+        GameRecord record = new GameRecord(GameConfig.DEFAULT, "Alice \"A\"", "Bob", new int[]{2, 5, 0});
+
+        String text = GameRecordText.format(record);
+
+        assertEquals("""
+                [Variant "6x4"]
+                [First "Alice \\"A\\""]
+                [Second "Bob"]
+                [Result "*"]
+
+                1. 3-6 1 *
+
+                """, text);
+        assertSameRecord(record, GameRecordText.parse(text));
+        assertThrows(IllegalArgumentException.class, () -> GameRecordText.parse(text.replace("3-6 1", "3 6-1")));
+        assertThrows(IllegalArgumentException.class, () -> GameRecordText.parse(text.replace("\"*\"", "\"1-0\"")));
+    }
+
+    @Test
+    public void converterShouldRoundTrip() throws IOException {
+        List<GameRecord> records = randomGames(100, new Random(10));
+        Path binary = directory.resolve("games.bin");
+        Path text = directory.resolve("games" + GameRecordConverter.TEXT_EXTENSION);
+        Path copy = directory.resolve("copy.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(binary)) {
+            for (GameRecord record : records) {
+                writer.write(record);
+            }
+        }
+
+        assertEquals(records.size(), GameRecordConverter.toText(binary, text));
+        assertEquals(records.size(), GameRecordConverter.toBinary(text, copy));
+
+        assertArrayEquals(Files.readAllBytes(binary), Files.readAllBytes(copy));
+    }
+
+    private static List<GameRecord> randomGames(int games, Random random) {
+        GameConfig[] configs = {GameConfig.DEFAULT, GameConfig.of(4, 3), GameConfig.of(16, 16)};
+        List<GameRecord> records = new ArrayList<>();
+        for (int gameIndex = 0; gameIndex < games; gameIndex++) {
+            GameConfig config = configs[gameIndex % configs.length];
+            BoardState state = BoardState.create(config);
+            int[] moves = new int[4096];
+            int count = 0;
+            // Some games stop early, so unfinished games are covered as well
+            int length = random.nextInt(10) == 0 ? random.nextInt(20) : Integer.MAX_VALUE;
+            while (!state.isGameOver() && count < length) {
+                int pit;
+                do {
+                    pit = random.nextInt(config.getPitsPerPlayer());
+                } while (!state.isLegalMove(pit));
+                state.move(pit);
+                moves[count++] = pit;
+            }
+            records.add(new GameRecord(config, "Player " + gameIndex, "Ünïcode " + random.nextInt(100),
+                    Arrays.copyOf(moves, count)));
+        }
+        return records;
+    }
+
+    private static void assertSameRecord(GameRecord expected, GameRecord actual) {
+        assertEquals(expected.getConfig(), actual.getConfig());
+        assertEquals(expected.getFirstPlayerName(), actual.getFirstPlayerName());
+        assertEquals(expected.getSecondPlayerName(), actual.getSecondPlayerName());
+        assertArrayEquals(expected.getMoves(), actual.getMoves());
+        assertEquals(expected.getResult(), actual.getResult());
+    }
+}
@@ -0,0 +1,42 @@
+package common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GameConfigTest {
+    @Test
+    public void defaultConfigShouldMatchTheConstants(){
+        assertEquals(GameConstants.PITS_PER_PLAYER, GameConfig.DEFAULT.getPitsPerPlayer());
+        assertEquals(GameConstants.SEEDS_PER_PIT, GameConfig.DEFAULT.getSeedsPerPit());
+        assertEquals(GameConstants.SOWING_LAP, GameConfig.DEFAULT.getSowingLap());
+    }
+
+    @Test
+    public void configsShouldBeShared(){
+        assertSame(GameConfig.DEFAULT, GameConfig.of(GameConstants.PITS_PER_PLAYER, GameConstants.SEEDS_PER_PIT));
+        assertSame(GameConfig.of(4, 3), GameConfig.of(4, 3));
+        assertEquals(24, GameConfig.of(4, 3).getTotalSeeds());
+    }
+
+    @Test
+    public void initialPitsShouldFollowTheBoardLayout(){
+        int[] pits = new int[12];
+        GameConfig.of(5, 7).copyInitialPits(pits);
+
+        assertEquals(7, pits[0]);
+        assertEquals(0, pits[5]);
+        assertEquals(7, pits[10]);
+        assertEquals(0, pits[11]);
+    }
+
+    @Test
+    public void unsupportedConfigsShouldBeRejected(){
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.of(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.of(GameConfig.MAX_PITS_PER_PLAYER + 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.of(6, 0));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.of(6, GameConfig.MAX_SEEDS_PER_PIT + 1));
+    }
+}
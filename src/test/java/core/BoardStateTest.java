@@ -0,0 +1,339 @@
+package core;
+
+import common.GameConfig;
+import common.GameConstants;
+import model.LargePit;
+import model.Pit;
+import model.Player;
+import model.RegularPit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardStateTest {
+    private final int firstLargePit = BoardState.create().largePitIndex(BoardState.FIRST_SIDE);
+    private final int secondLargePit = BoardState.create().largePitIndex(BoardState.SECOND_SIDE);
+
+    @Test
+    public void newStatesShouldHoldTheInitialPosition(){
+        BoardState state = BoardState.create();
+
+        for (int index = 0; index < state.size(); index++) {
+            int expectedSeeds = state.isLargePit(index) ? 0 : GameConstants.SEEDS_PER_PIT;
+            assertEquals(expectedSeeds, state.getSeeds(index));
+        }
+        assertEquals(BoardState.FIRST_SIDE, state.getActiveSide());
+        assertFalse(state.isGameOver());
+    }
+
+    @Test
+    public void landingInOwnLargePitShouldKeepTheTurn(){
+        BoardState state = BoardState.create();
+
+        // With 4 seeds per pit, the third pit ends exactly in the large pit
+        int endIndex = state.move(GameConstants.PITS_PER_PLAYER - GameConstants.SEEDS_PER_PIT);
+
+        assertEquals(firstLargePit, endIndex);
+        assertEquals(1, state.getSeeds(firstLargePit));
+        assertEquals(BoardState.FIRST_SIDE, state.getActiveSide());
+    }
+
+    @Test
+    public void opponentLargePitShouldBeSkipped(){
+        BoardState state = BoardState.create();
+        int lastPit = state.regularPitIndex(BoardState.FIRST_SIDE, GameConstants.PITS_PER_PLAYER - 1);
+        state.setSeeds(lastPit, 2 * GameConstants.PITS_PER_PLAYER);
+
+        int endIndex = state.move(GameConstants.PITS_PER_PLAYER - 1);
+
+        assertEquals(0, state.getSeeds(secondLargePit));
+        assertEquals(lastPit - 1, endIndex);
+        assertEquals(BoardState.SECOND_SIDE, state.getActiveSide());
+    }
+
+    @Test
+    public void landingInEmptyOwnPitShouldCaptureTheOppositeSeeds(){
+        BoardState state = BoardState.create();
+        int firstPit = state.regularPitIndex(BoardState.FIRST_SIDE, 0);
+        state.setSeeds(firstPit, 1);
+        state.setSeeds(firstPit + 1, 0);
+
+        int endIndex = state.move(0);
+
+        assertEquals(firstPit + 1, endIndex);
+        assertEquals(0, state.getSeeds(endIndex));
+        assertEquals(0, state.getSeeds(state.oppositePitIndex(endIndex)));
+        assertEquals(GameConstants.SEEDS_PER_PIT + 1, state.getSeeds(firstLargePit));
+    }
+
+    @Test
+    public void gameShouldBeOverWhenOneSideRunsOutOfSeeds(){
+        BoardState state = BoardState.create();
+        for (int pit = 0; pit < GameConstants.PITS_PER_PLAYER; pit++) {
+            state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, pit), 0);
+        }
+        state.setSeeds(secondLargePit, 1);
+
+        assertTrue(state.noSeedsLeft(BoardState.SECOND_SIDE));
+        assertTrue(state.isGameOver());
+        assertEquals(GameResult.SECOND_PLAYER_WON, state.getResult());
+    }
+
+    @Test
+    public void boardShouldRoundTripThroughTheState(){
+        Board board = Board.create("Player 1", "Player 2");
+        board.getFirstPlayer().takeTurn(board.getFirstPlayer().getRegularPits().get(1));
+
+        BoardState state = BoardState.create();
+        board.exportTo(state);
+        Board copy = Board.create("Player 1", "Player 2");
+        copy.importFrom(state);
+
+        assertSameSeeds(board, state);
+        assertSameSeeds(copy, state);
+    }
+
+    @Test
+    public void movesShouldMatchTheObjectModel(){
+        assertMovesMatchTheObjectModel(GameConfig.DEFAULT, 500);
+    }
+
+    @Test
+    public void variantMovesShouldMatchTheObjectModel(){
+        assertMovesMatchTheObjectModel(GameConfig.of(4, 3), 200);
+        assertMovesMatchTheObjectModel(GameConfig.of(9, 5), 200);
+        assertMovesMatchTheObjectModel(GameConfig.of(12, 10), 100);
+        assertMovesMatchTheObjectModel(GameConfig.of(1, 1), 10);
+    }
+
+    @Test
+    public void variantStatesShouldHoldTheirInitialPosition(){
+        BoardState state = BoardState.create(GameConfig.of(4, 3));
+
+        assertEquals(10, state.size());
+        assertEquals(4, state.largePitIndex(BoardState.FIRST_SIDE));
+        assertEquals(9, state.largePitIndex(BoardState.SECOND_SIDE));
+        assertEquals(8, state.oppositePitIndex(0));
+        for (int index = 0; index < state.size(); index++) {
+            assertEquals(state.isLargePit(index) ? 0 : 3, state.getSeeds(index));
+        }
+    }
+
+    @Test
+    public void seedCountsShouldFollowEveryChange(){
+        BoardState state = BoardState.create();
+        int initialSeeds = GameConstants.PITS_PER_PLAYER * GameConstants.SEEDS_PER_PIT;
+        assertEquals(initialSeeds, state.getRegularSeeds(BoardState.FIRST_SIDE));
+        assertEquals(initialSeeds, state.getRegularSeeds(BoardState.SECOND_SIDE));
+
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 2), 10);
+        state.setSeeds(secondLargePit, 7);
+        assertEquals(initialSeeds + 6, state.getRegularSeeds(BoardState.SECOND_SIDE));
+
+        // Sow a full lap and more, so every pit receives seeds
+        int firstPit = state.regularPitIndex(BoardState.FIRST_SIDE, 0);
+        state.setSeeds(firstPit, 2 * state.getConfig().getSowingLap() + 3);
+        state.move(0);
+        assertTrue(state.hasConsistentSeedCount());
+
+        BoardState copy = BoardState.create();
+        copy.copyFrom(state);
+        assertEquals(state.getRegularSeeds(BoardState.FIRST_SIDE), copy.getRegularSeeds(BoardState.FIRST_SIDE));
+        assertEquals(state.getRegularSeeds(BoardState.SECOND_SIDE), copy.getRegularSeeds(BoardState.SECOND_SIDE));
+        assertTrue(copy.hasConsistentSeedCount());
+    }
+
+    @Test
+    public void unmakeMoveShouldRestoreEveryPosition(){
+        assertUnmakeRestoresEveryPosition(GameConfig.DEFAULT, 300);
+        assertUnmakeRestoresEveryPosition(GameConfig.of(3, 16), 100);
+        assertUnmakeRestoresEveryPosition(GameConfig.of(1, 1), 10);
+    }
+
+    @Test
+    public void movesShouldRecordWhatTheyChanged(){
+        BoardState state = BoardState.create();
+        int firstPit = state.regularPitIndex(BoardState.FIRST_SIDE, 0);
+        state.setSeeds(firstPit, 1);
+        state.setSeeds(firstPit + 1, 0);
+
+        long record = state.makeMove(0);
+
+        assertEquals(BoardState.FIRST_SIDE, MoveRecord.side(record));
+        assertEquals(0, MoveRecord.pit(record));
+        assertEquals(1, MoveRecord.seeds(record));
+        assertEquals(firstPit + 1, MoveRecord.endIndex(record));
+        assertTrue(MoveRecord.isCapture(record));
+        assertEquals(GameConstants.SEEDS_PER_PIT, MoveRecord.capturedSeeds(record));
+        assertFalse(MoveRecord.isExtraTurn(record));
+        assertTrue(MoveRecord.isExtraTurn(BoardState.create().makeMove(2)));
+    }
+
+    @Test
+    public void mirroredStatesShouldPlayTheSameGame(){
+        Random random = new Random(13);
+        for (int gameIndex = 0; gameIndex < 100; gameIndex++) {
+            BoardState state = BoardState.create();
+            state.move(random.nextInt(GameConstants.PITS_PER_PLAYER));
+            BoardState mirrored = BoardState.create();
+            mirrored.copyFrom(state);
+            mirrored.mirror();
+
+            while (!state.isGameOver()) {
+                assertEquals(BoardState.opponentOf(state.getActiveSide()), mirrored.getActiveSide());
+                for (int index = 0; index < state.size(); index++) {
+                    assertEquals(state.getSeeds(index), mirrored.getSeeds((index + state.size() / 2) % state.size()));
+                }
+                assertTrue(mirrored.hasConsistentSeedCount());
+
+                int pit;
+                do {
+                    pit = random.nextInt(GameConstants.PITS_PER_PLAYER);
+                } while (!state.isLegalMove(pit));
+                assertTrue(mirrored.isLegalMove(pit));
+                state.move(pit);
+                mirrored.move(pit);
+            }
+            assertTrue(mirrored.isGameOver());
+            mirrored.mirror();
+            for (int index = 0; index < state.size(); index++) {
+                assertEquals(state.getSeeds(index), mirrored.getSeeds(index));
+            }
+        }
+    }
+
+    @Test
+    public void moveMasksShouldMatchPlayedMoves(){
+        Random random = new Random(21);
+        for (GameConfig config : new GameConfig[]{GameConfig.DEFAULT, GameConfig.of(4, 3), GameConfig.of(1, 1)}) {
+            BoardState state = BoardState.create(config);
+            BoardState scratch = BoardState.create(config);
+            Board board = Board.create("Player 1", "Player 2", config);
+            for (int position = 0; position < 2000; position++) {
+                // Sparse random positions, with some pits holding more than two laps
+                for (int index = 0; index < state.size(); index++) {
+                    int seeds = random.nextInt(3) == 0 ? 0 : random.nextInt(random.nextInt(8) == 0 ? 40 : 4);
+                    state.setSeeds(index, seeds);
+                }
+                state.setActiveSide(random.nextInt(2));
+                assertTrue(state.hasConsistentSeedCount());
+
+                int legal = 0;
+                int extraTurns = 0;
+                int captures = 0;
+                for (int pit = 0; pit < config.getPitsPerPlayer(); pit++) {
+                    if (state.getSeeds(state.regularPitIndex(state.getActiveSide(), pit)) == 0) {
+                        continue;
+                    }
+                    legal |= 1 << pit;
+                    scratch.copyFrom(state);
+                    long record = scratch.makeMove(pit);
+                    extraTurns |= MoveRecord.isExtraTurn(record) ? 1 << pit : 0;
+                    captures |= MoveRecord.isCapture(record) ? 1 << pit : 0;
+                }
+                assertEquals(legal, state.getLegalMoves());
+                assertEquals(extraTurns, state.getExtraTurnMoves());
+                assertEquals(captures, state.getCaptureMoves());
+
+                board.importFrom(state);
+                assertEquals(legal, board.getLegalMoves(state.getActiveSide()));
+                assertEquals(extraTurns, board.getExtraTurnMoves(state.getActiveSide()));
+                assertEquals(captures, board.getCaptureMoves(state.getActiveSide()));
+            }
+        }
+    }
+
+    private void assertUnmakeRestoresEveryPosition(GameConfig config, int games) {
+        Random random = new Random(7);
+        BoardState state = BoardState.create(config);
+        long[] records = new long[4096];
+        int[][] positions = new int[records.length][state.size()];
+        int[] sides = new int[records.length];
+
+        for (int gameIndex = 0; gameIndex < games; gameIndex++) {
+            state.reset();
+            int ply = 0;
+            while (!state.isGameOver()) {
+                for (int index = 0; index < state.size(); index++) {
+                    positions[ply][index] = state.getSeeds(index);
+                }
+                sides[ply] = state.getActiveSide();
+
+                int pit;
+                do {
+                    pit = random.nextInt(config.getPitsPerPlayer());
+                } while (!state.isLegalMove(pit));
+                records[ply++] = state.makeMove(pit);
+            }
+
+            while (ply > 0) {
+                state.unmakeMove(records[--ply]);
+                for (int index = 0; index < state.size(); index++) {
+                    assertEquals(positions[ply][index], state.getSeeds(index));
+                }
+                assertEquals(sides[ply], state.getActiveSide());
+                assertTrue(state.hasConsistentSeedCount());
+            }
+        }
+    }
+
+    private void assertMovesMatchTheObjectModel(GameConfig config, int games) {
+        Random random = new Random(42);
+        BoardState state = BoardState.create(config);
+
+        for (int gameIndex = 0; gameIndex < games; gameIndex++) {
+            Board board = Board.create("Player 1", "Player 2", config);
+            Player activePlayer = board.getFirstPlayer();
+            state.reset();
+
+            while (!board.getFirstPlayer().noSeedsLeft() && !board.getSecondPlayer().noSeedsLeft()) {
+                assertFalse(state.isGameOver());
+
+                int pit;
+                do {
+                    pit = random.nextInt(config.getPitsPerPlayer());
+                } while (activePlayer.getRegularPits().get(pit).isEmpty());
+                assertTrue(state.isLegalMove(pit));
+
+                Pit endPit = activePlayer.takeTurn(activePlayer.getRegularPits().get(pit));
+                if (endPit instanceof RegularPit endRegularPit && activePlayer.canCapture(endRegularPit)) {
+                    activePlayer.capture(endRegularPit);
+                }
+                if (!(endPit instanceof LargePit && endPit.getOwner().equals(activePlayer))) {
+                    activePlayer = activePlayer == board.getFirstPlayer()
+                            ? board.getSecondPlayer()
+                            : board.getFirstPlayer();
+                }
+                state.move(pit);
+
+                assertSameSeeds(board, state);
+                assertEquals(board.getFirstPlayer().getRegularSeeds(), state.getRegularSeeds(BoardState.FIRST_SIDE));
+                assertEquals(board.getSecondPlayer().getRegularSeeds(), state.getRegularSeeds(BoardState.SECOND_SIDE));
+                assertTrue(board.getFirstPlayer().hasConsistentSeedCount());
+                assertTrue(board.getSecondPlayer().hasConsistentSeedCount());
+                assertTrue(state.hasConsistentSeedCount());
+                assertEquals(activePlayer.getLegalMoves(), state.getLegalMoves());
+                assertEquals(activePlayer == board.getFirstPlayer() ? BoardState.FIRST_SIDE : BoardState.SECOND_SIDE,
+                        state.getActiveSide());
+            }
+            assertTrue(state.isGameOver());
+        }
+    }
+
+    private void assertSameSeeds(Board board, BoardState state) {
+        for (int pit = 0; pit < state.getPitsPerPlayer(); pit++) {
+            assertEquals(board.getFirstPlayer().getRegularPits().get(pit).getSeeds(),
+                    state.getSeeds(state.regularPitIndex(BoardState.FIRST_SIDE, pit)));
+            assertEquals(board.getSecondPlayer().getRegularPits().get(pit).getSeeds(),
+                    state.getSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, pit)));
+        }
+        assertEquals(board.getFirstPlayer().getLargePit().getSeeds(),
+                state.getSeeds(state.largePitIndex(BoardState.FIRST_SIDE)));
+        assertEquals(board.getSecondPlayer().getLargePit().getSeeds(),
+                state.getSeeds(state.largePitIndex(BoardState.SECOND_SIDE)));
+    }
+}
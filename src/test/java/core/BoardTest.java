@@ -1,5 +1,6 @@
 package core;
 
+import common.GameConfig;
 import model.Player;
 import model.RegularPit;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,10 +8,15 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BoardTest {
     private Board board;
@@ -32,8 +38,8 @@ public class BoardTest {
 
     @Test
     public void oppositePitsShouldBeConnected() {
-        LinkedList<RegularPit> firstPlayerPits = board.getFirstPlayer().getRegularPits();
-        LinkedList<RegularPit> secondPlayerPits = board.getSecondPlayer().getRegularPits();
+        List<RegularPit> firstPlayerPits = board.getFirstPlayer().getRegularPits();
+        List<RegularPit> secondPlayerPits = board.getSecondPlayer().getRegularPits();
 
         IntStream.range(0, firstPlayerPits.size())
             .forEach((index) -> {
@@ -53,18 +59,18 @@ public class BoardTest {
 
         // firstPlayer: Last regular pit should point to the large pit
         assertEquals(firstPlayer.getLargePit(),
-                firstPlayer.getRegularPits().getLast().getNextPit());
+                firstPlayer.getRegularPit(GameConfig.DEFAULT.getPitsPerPlayer() - 1).getNextPit());
 
         // firstPlayer: Large pit should point to the first regular pit of secondPlayer
-        assertEquals(secondPlayer.getRegularPits().getFirst(),
+        assertEquals(secondPlayer.getRegularPit(0),
                 firstPlayer.getLargePit().getNextPit());
 
         // secondPlayer: Last regular pit should point to the large pit
         assertEquals(secondPlayer.getLargePit(),
-                secondPlayer.getRegularPits().getLast().getNextPit());
+                secondPlayer.getRegularPit(GameConfig.DEFAULT.getPitsPerPlayer() - 1).getNextPit());
 
         // secondPlayer: Large pit should point to the first regular pit of firstPlayer
-        assertEquals(firstPlayer.getRegularPits().getFirst(),
+        assertEquals(firstPlayer.getRegularPit(0),
                 secondPlayer.getLargePit().getNextPit());
     }
 
@@ -81,4 +87,131 @@ public class BoardTest {
         board.prettyPrint();
         assertEquals(expectedOutput, outContent.toString());
     }
+
+    @Test
+    public void prettyPrintShouldAdaptToThePitCount() {
+        String expectedOutput = """
+                           Player 2
+                     | 3 | 3 | 3 | 3 |
+                (0)                     (0)
+                     | 3 | 3 | 3 | 3 |
+                           Player 1
+                \n""";
+
+        Board.create(firstPlayerName, secondPlayerName, GameConfig.of(4, 3)).prettyPrint();
+        assertEquals(expectedOutput, outContent.toString());
+    }
+
+    @Test
+    public void resetShouldRestoreTheInitialSeeds() {
+        Board variant = Board.create(firstPlayerName, secondPlayerName, GameConfig.of(5, 2));
+        variant.getFirstPlayer().takeTurn(variant.getFirstPlayer().getRegularPits().get(4));
+
+        variant.reset();
+
+        for (Player player : List.of(variant.getFirstPlayer(), variant.getSecondPlayer())) {
+            assertEquals(5, player.getRegularPits().size());
+            player.getRegularPits().forEach(pit -> assertEquals(2, pit.getSeeds()));
+            assertEquals(0, player.getLargePit().getSeeds());
+        }
+    }
+
+    @Test
+    public void boardMovesShouldMatchTheStateAndBeUndoable() {
+        Random random = new Random(11);
+        GameConfig config = GameConfig.of(5, 6);
+        Board variant = Board.create(firstPlayerName, secondPlayerName, config);
+        BoardState state = BoardState.create(config);
+        long[] records = new long[1024];
+
+        for (int gameIndex = 0; gameIndex < 100; gameIndex++) {
+            int moves = 0;
+            while (!state.isGameOver()) {
+                int pit;
+                do {
+                    pit = random.nextInt(config.getPitsPerPlayer());
+                } while (!state.isLegalMove(pit));
+
+                long record = variant.makeMove(state.getActiveSide(), pit);
+                assertEquals(state.makeMove(pit), record);
+                records[moves++] = record;
+            }
+
+            while (moves > 0) {
+                variant.unmakeMove(records[--moves]);
+                state.unmakeMove(records[moves]);
+                BoardState copy = BoardState.create(config);
+                variant.exportTo(copy);
+                for (int index = 0; index < state.size(); index++) {
+                    assertEquals(state.getSeeds(index), copy.getSeeds(index));
+                }
+            }
+            for (Player player : List.of(variant.getFirstPlayer(), variant.getSecondPlayer())) {
+                player.getRegularPits().forEach(pit -> assertEquals(6, pit.getSeeds()));
+                assertEquals(0, player.getLargePit().getSeeds());
+                assertEquals(30, player.getRegularSeeds());
+            }
+        }
+    }
+
+    @Test
+    public void copyFromShouldOverwriteEverySeed() {
+        Game game = Game.create(firstPlayerName, secondPlayerName);
+        for (int pitNumber : new int[]{3, 6, 2, 5, 1}) {
+            game.step(pitNumber);
+        }
+        board.copyFrom(game.getBoard());
+
+        BoardState expected = BoardState.create();
+        BoardState copied = BoardState.create();
+        game.getBoard().exportTo(expected);
+        board.exportTo(copied);
+        for (int index = 0; index < expected.size(); index++) {
+            assertEquals(expected.getSeeds(index), copied.getSeeds(index));
+        }
+        assertEquals(game.getBoard().getFirstPlayer().getLegalMoves(), board.getFirstPlayer().getLegalMoves());
+        assertTrue(board.getFirstPlayer().hasConsistentSeedCount());
+        assertTrue(board.getSecondPlayer().hasConsistentSeedCount());
+
+        Board variant = Board.create(firstPlayerName, secondPlayerName, GameConfig.of(4, 3));
+        assertThrows(IllegalArgumentException.class, () -> board.copyFrom(variant));
+    }
+
+    @Test
+    public void pooledBoardsShouldBeRecycledOnlyForTheSameGame() {
+        Board pooled = BoardPool.acquire("Pool 1", "Pool 2", GameConfig.DEFAULT);
+        pooled.getFirstPlayer().getRegularPit(0).setSeeds(9);
+        BoardPool.release(pooled);
+        assertThrows(IllegalStateException.class, () -> BoardPool.release(pooled));
+
+        assertNotSame(pooled, BoardPool.acquire("Pool 1", "Other", GameConfig.DEFAULT));
+        assertNotSame(pooled, BoardPool.acquire("Pool 1", "Pool 2", GameConfig.of(4, 3)));
+        Board recycled = BoardPool.acquire("Pool 1", "Pool 2", GameConfig.DEFAULT);
+        assertSame(pooled, recycled);
+        assertEquals(GameConfig.DEFAULT.getSeedsPerPit(), recycled.getFirstPlayer().getRegularPit(0).getSeeds());
+
+        // A copy takes the names and the position of its source
+        recycled.getSecondPlayer().getLargePit().setSeeds(5);
+        Board copy = BoardPool.copyOf(recycled);
+        assertEquals("Pool 2", copy.getSecondPlayer().getName());
+        assertEquals(5, copy.getSecondPlayer().getLargePit().getSeeds());
+        BoardPool.release(recycled);
+        BoardPool.release(copy);
+    }
+
+    @Test
+    public void recycledGamesShouldHandTheirBoardToTheNextGame() {
+        Game game = Game.createRecyclable("Pool 1", "Pool 2", GameConfig.of(3, 2));
+        game.step(1);
+        Board board = game.getBoard();
+        game.recycle();
+        assertThrows(IllegalStateException.class, game::recycle);
+        assertThrows(IllegalStateException.class, () -> Game.create("Pool 1", "Pool 2", GameConfig.of(3, 2)).recycle());
+
+        Game next = Game.createRecyclable("Pool 1", "Pool 2", GameConfig.of(3, 2));
+        assertSame(board, next.getBoard());
+        assertEquals(next.getBoard().getFirstPlayer(), next.getActivePlayer());
+        assertEquals(0, next.getBoard().getFirstPlayer().getLargePit().getSeeds());
+        assertEquals(2, next.getBoard().getFirstPlayer().getRegularPit(0).getSeeds());
+    }
 }
@@ -1,17 +1,30 @@
 package core;
 
+import common.GameConfig;
 import common.GameConstants;
 import exception.EmptyPitSelectedException;
 import exception.InvalidPitNumberException;
 import model.Pit;
+import model.Player;
 import model.RegularPit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -29,6 +42,8 @@ public class GameTest {
                 .thenReturn("Player 1");
         when(mockInputReader.readLine(ConsoleInputReader.InputType.SECOND_PLAYER_NAME))
                 .thenReturn("Player 2");
+        // Pits are read through the move source's own loop
+        when(mockInputReader.choosePit(any(), any())).thenCallRealMethod();
     }
 
     @Test
@@ -64,7 +79,7 @@ public class GameTest {
         // Clear the first regular pit of the active player
         game.getActivePlayer()
                 .getRegularPits()
-                .getFirst()
+                .get(0)
                 .pickupSeeds();
 
         assertThrows(EmptyPitSelectedException.class, () -> game.validateMove("1"));
@@ -83,6 +98,45 @@ public class GameTest {
                 String.valueOf(GameConstants.PITS_PER_PLAYER)));
     }
 
+    @Test
+    public void checkingMovesShouldReturnCodesForBadInput() {
+        Game game = Game.create(mockInputReader);
+        for (String input : new String[]{"", "x", "1x", "-1", "+1", " 1", "0", "7", "00",
+                "99999999999999999999", "\u0661"}) {
+            assertEquals(Game.INVALID_PIT_NUMBER, game.checkMove(input), input);
+        }
+
+        game.getActivePlayer().getRegularPits().get(0).pickupSeeds();
+        assertEquals(Game.EMPTY_PIT, game.checkMove("1"));
+        assertEquals(Game.EMPTY_PIT, game.checkMove(1));
+    }
+
+    @Test
+    public void checkingMovesShouldReturnTheZeroBasedPit() {
+        Game game = Game.create(mockInputReader);
+        assertEquals(0, game.checkMove("1"));
+        assertEquals(0, game.checkMove("01"));
+        assertEquals(GameConstants.PITS_PER_PLAYER - 1,
+                game.checkMove(new StringBuilder().append(GameConstants.PITS_PER_PLAYER)));
+        assertEquals(2, game.checkMove(3));
+    }
+
+    @Test
+    public void moveMasksShouldFollowTheActivePlayer() {
+        Game game = Game.create("Player 1", "Player 2");
+        int allPits = (1 << GameConstants.PITS_PER_PLAYER) - 1;
+        assertEquals(allPits, game.getLegalMoves());
+        // Pit 3 of the standard game ends in the large pit
+        assertEquals(1 << 2, game.getExtraTurnMoves());
+        assertEquals(0, game.getCaptureMoves());
+
+        game.step(3);
+        assertEquals(allPits & ~(1 << 2), game.getLegalMoves());
+        assertEquals(Game.EMPTY_PIT, game.checkMove(3));
+        game.step(1);
+        assertEquals(allPits, game.getLegalMoves());
+    }
+
     @Test
     public void selectingValidPitNumberShouldReturnTheSelectedPit() {
         Game game = Game.create(mockInputReader);
@@ -91,7 +145,7 @@ public class GameTest {
         when(mockInputReader.readLine(ConsoleInputReader.InputType.PIT_NUMBER))
                 .thenReturn("1");
 
-        assertEquals(game.getActivePlayer().getRegularPits().getFirst(),
+        assertEquals(game.getActivePlayer().getRegularPits().get(0),
                 game.askActivePlayerToPlay());
     }
 
@@ -153,7 +207,7 @@ public class GameTest {
         Game game = Game.create(mockInputReader);
         Pit endPit = game.getActivePlayer()
                 .getRegularPits()
-                .getFirst();
+                .get(0);
         assertEquals(game.getBoard().getSecondPlayer(), game.nextPlayer(endPit));
     }
 
@@ -163,7 +217,7 @@ public class GameTest {
         Pit endPit = game.getBoard()
                 .getSecondPlayer()
                 .getRegularPits()
-                .getFirst();
+                .get(0);
         assertEquals(game.getBoard().getSecondPlayer(), game.nextPlayer(endPit));
     }
 
@@ -175,4 +229,172 @@ public class GameTest {
         assertEquals(game.getBoard().getFirstPlayer(),
                 game.getOpponent(game.getBoard().getSecondPlayer()));
     }
+
+    @Test
+    public void steppingWithAnInvalidPitShouldNotChangeTheGame(){
+        Game game = Game.create("Player 1", "Player 2");
+        game.getActivePlayer().getRegularPits().get(0).pickupSeeds();
+
+        assertEquals(StepResult.INVALID_MOVE, game.step(0));
+        assertEquals(StepResult.INVALID_MOVE, game.step(GameConstants.PITS_PER_PLAYER + 1));
+        assertEquals(StepResult.INVALID_MOVE, game.step(1));
+        assertEquals(game.getBoard().getFirstPlayer(), game.getActivePlayer());
+    }
+
+    @Test
+    public void steppingIntoOwnLargePitShouldGiveAnExtraTurn(){
+        Game game = Game.create("Player 1", "Player 2");
+        int pitNumber = GameConstants.PITS_PER_PLAYER - GameConstants.SEEDS_PER_PIT + 1;
+
+        assertEquals(StepResult.EXTRA_TURN, game.step(pitNumber));
+        assertEquals(game.getBoard().getFirstPlayer(), game.getActivePlayer());
+        assertEquals(StepResult.TURN_PASSED, game.step(1));
+        assertEquals(game.getBoard().getSecondPlayer(), game.getActivePlayer());
+    }
+
+    @Test
+    public void headlessGamesShouldBePlayableUntilTheEnd(){
+        Random random = new Random(3);
+
+        for (int gameIndex = 0; gameIndex < 1000; gameIndex++) {
+            Game game = Game.create("Player 1", "Player 2");
+            StepResult stepResult;
+            do {
+                stepResult = game.step(1 + random.nextInt(GameConstants.PITS_PER_PLAYER));
+            } while (stepResult != StepResult.GAME_OVER);
+
+            assertTrue(game.isOver());
+            assertEquals(StepResult.GAME_OVER, game.step(1));
+        }
+    }
+
+    @Test
+    public void variantGamesShouldUseTheirPitCount(){
+        Game game = Game.create("Player 1", "Player 2", GameConfig.of(4, 3));
+
+        assertEquals(4, game.getActivePlayer().getRegularPits().size());
+        assertEquals(StepResult.INVALID_MOVE, game.step(5));
+        // With 3 seeds per pit, the second pit ends exactly in the large pit
+        assertEquals(StepResult.EXTRA_TURN, game.step(2));
+    }
+
+    @Test
+    public void headlessGamesShouldRequireDifferentNames(){
+        assertThrows(IllegalArgumentException.class, () -> Game.create("Player", "Player"));
+        assertFalse(Game.create("Player 1", "Player 2").isOver());
+    }
+
+    @Test
+    public void madeMovesShouldBeUndoable(){
+        Game game = Game.create("Player 1", "Player 2");
+
+        long extraTurn = game.makeMove(GameConstants.PITS_PER_PLAYER - GameConstants.SEEDS_PER_PIT);
+        assertEquals(game.getBoard().getFirstPlayer(), game.getActivePlayer());
+        long passed = game.makeMove(0);
+        assertEquals(game.getBoard().getSecondPlayer(), game.getActivePlayer());
+        assertThrows(IllegalArgumentException.class, () -> game.makeMove(GameConstants.PITS_PER_PLAYER));
+
+        game.unmakeMove(passed);
+        game.unmakeMove(extraTurn);
+
+        assertEquals(game.getBoard().getFirstPlayer(), game.getActivePlayer());
+        for (RegularPit pit : game.getActivePlayer().getRegularPits()) {
+            assertEquals(GameConstants.SEEDS_PER_PIT, pit.getSeeds());
+        }
+        assertEquals(0, game.getActivePlayer().getLargePit().getSeeds());
+        // A taken back move can be played again
+        assertEquals(extraTurn, game.makeMove(MoveRecord.pit(extraTurn)));
+    }
+
+    @Test
+    public void scriptedGamesShouldRunWithoutOutput(){
+        PrintStream console = System.out;
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        Game[] game = new Game[1];
+        // Names first, then the first non-empty pit of the active player
+        MoveSource moveSource = inputType -> switch (inputType) {
+            case FIRST_PLAYER_NAME -> "Player 1";
+            case SECOND_PLAYER_NAME -> "Player 2";
+            case PIT_NUMBER -> {
+                List<RegularPit> pits = game[0].getActivePlayer().getRegularPits();
+                yield String.valueOf(1 + IntStream.range(0, pits.size())
+                        .filter(pit -> !pits.get(pit).isEmpty()).findFirst().orElseThrow());
+            }
+        };
+
+        System.setOut(new PrintStream(outContent));
+        try {
+            game[0] = Game.create(moveSource, NoOpGameObserver.INSTANCE);
+            assertNotNull(game[0].start());
+        }
+        finally {
+            System.setOut(console);
+        }
+        assertTrue(game[0].isOver());
+        assertEquals("", outContent.toString());
+    }
+
+    @Test
+    public void observersShouldReceiveEveryEvent(){
+        List<String> events = new ArrayList<>();
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onNameRequested(ConsoleInputReader.InputType inputType, boolean againstComputer) {
+                events.add("name " + inputType);
+            }
+            @Override
+            public void onNameRejected(ConsoleInputReader.InputType inputType, boolean againstComputer) {
+                events.add("rejected " + inputType);
+            }
+            @Override
+            public void onBoardChanged(Board board) {
+                events.add("board");
+            }
+            @Override
+            public void onTurn(Player player) {
+                events.add("turn " + player.getName());
+            }
+            @Override
+            public void onInvalidMove(Player player, String message) {
+                events.add("invalid " + player.getName());
+            }
+            @Override
+            public void onComputerMove(Player player, int pitNumber, String details) {
+                events.add("computer " + pitNumber);
+            }
+            @Override
+            public void onGameOver(Board board, GameResult result) {
+                events.add("over " + result);
+            }
+        };
+        when(mockInputReader.readLine(ConsoleInputReader.InputType.SECOND_PLAYER_NAME))
+                .thenReturn("Player 1", "Player 2");
+        when(mockInputReader.readLine(ConsoleInputReader.InputType.PIT_NUMBER))
+                .thenReturn("x", "1");
+        Game game = Game.create(mockInputReader, observer);
+
+        // A single seed is left, whose capture ends the game
+        game.getActivePlayer().getRegularPits().forEach(RegularPit::pickupSeeds);
+        game.getActivePlayer().getRegularPits().get(0).putSeed();
+        game.getBoard().getSecondPlayer().getLargePit().putSeeds(5 * GameConstants.SEEDS_PER_PIT);
+
+        assertEquals(GameResult.SECOND_PLAYER_WON, game.start());
+        assertEquals(List.of("name FIRST_PLAYER_NAME", "name SECOND_PLAYER_NAME", "rejected SECOND_PLAYER_NAME",
+                "board", "turn Player 1", "invalid Player 1", "board", "over SECOND_PLAYER_WON"), events);
+    }
+
+    @Test
+    public void consoleObserversShouldPrintToTheirStream(){
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        ConsoleGameObserver observer = new ConsoleGameObserver(new PrintStream(outContent));
+        Game game = Game.create("Player 1", "Player 2");
+
+        observer.onTurn(game.getActivePlayer());
+        observer.onNameRejected(ConsoleInputReader.InputType.FIRST_PLAYER_NAME, true);
+        observer.onGameOver(game.getBoard(), GameResult.DRAW);
+
+        assertEquals("Player 1, it is your turn. Please enter a pit number to start your move...\n"
+                + "Please enter a different name than the computer...\n"
+                + "Game over, it is a draw!\n", outContent.toString());
+    }
 }
@@ -0,0 +1,43 @@
+package core;
+
+import common.GameConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PositionSnapshotTest {
+    @Test
+    public void initialPositionShouldHaveACompactForm(){
+        PositionSnapshot snapshot = PositionSnapshot.of(BoardState.create());
+
+        assertEquals("6x4 4,4,4,4,4,4:0 4,4,4,4,4,4:0 1", snapshot.toString());
+        assertEquals(snapshot, PositionSnapshot.parse(snapshot.toString()));
+    }
+
+    @Test
+    public void snapshotsShouldRoundTripThroughBoards(){
+        Board board = Board.create("Player 1", "Player 2", GameConfig.of(4, 3));
+        board.makeMove(BoardState.FIRST_SIDE, 0);
+
+        PositionSnapshot snapshot = PositionSnapshot.of(board, board.getSecondPlayer());
+        BoardState state = snapshot.copyTo(null);
+
+        assertEquals("4x3 0,4,4,4:0 3,3,3,3:0 2", snapshot.toString());
+        assertEquals(BoardState.SECOND_SIDE, state.getActiveSide());
+        assertEquals(snapshot, PositionSnapshot.of(state));
+        assertSame(state, snapshot.copyTo(state));
+        assertNotEquals(snapshot, PositionSnapshot.of(BoardState.create(GameConfig.of(4, 3))));
+    }
+
+    @Test
+    public void invalidPositionsShouldBeRejected(){
+        assertThrows(IllegalArgumentException.class, () -> PositionSnapshot.parse("6x4 4,4,4,4,4,4:0 1"));
+        assertThrows(IllegalArgumentException.class, () -> PositionSnapshot.parse("6x4 4,4,4,4,4:0 4,4,4,4,4,4:4 1"));
+        assertThrows(IllegalArgumentException.class, () -> PositionSnapshot.parse("6x4 4,4,4,4,4,4:1 4,4,4,4,4,4:0 1"));
+        assertThrows(IllegalArgumentException.class, () -> PositionSnapshot.parse("6x4 4,4,4,4,4,4:0 4,4,4,4,4,4:0 3"));
+        assertThrows(IllegalArgumentException.class, () -> PositionSnapshot.parse("6x4 a,4,4,4,4,4:0 4,4,4,4,4,4:0 1"));
+    }
+}
@@ -0,0 +1,192 @@
+package endgame;
+
+import ai.AlphaBetaSearch;
+import ai.SearchLimits;
+import common.GameConfig;
+import common.GameConstants;
+import core.BoardState;
+import core.GameResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EndgameTablebaseTest {
+    private static final int MAX_SEEDS = 6;
+
+    private Path path;
+    private EndgameTablebase tablebase;
+
+    @BeforeEach
+    public void generateTablebase() throws IOException {
+        path = Files.createTempFile("endgame", ".bin");
+        new EndgameGenerator(MAX_SEEDS).generate(path);
+        tablebase = EndgameTablebase.open(path);
+    }
+
+    @AfterEach
+    public void deleteTablebase() throws IOException {
+        tablebase = null;
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void indexShouldBeABijection(){
+        EndgameIndex index = new EndgameIndex(GameConstants.PITS_PER_PLAYER, MAX_SEEDS);
+        BoardState state = BoardState.create();
+
+        for (long rank = 0; rank < index.size(); rank++) {
+            index.unrank(rank, state);
+            assertTrue(EndgameIndex.seedsOnBoard(state) <= MAX_SEEDS);
+            assertEquals(rank, index.rank(state, BoardState.FIRST_SIDE));
+        }
+    }
+
+    @Test
+    public void valuesShouldMatchAnExhaustiveSearch(){
+        Random random = new Random(11);
+        BoardState state = BoardState.create();
+
+        for (int round = 0; round < 300; round++) {
+            randomPosition(state, random);
+            assertTrue(tablebase.covers(state));
+            assertEquals(exhaustiveValue(state), tablebase.value(state));
+        }
+    }
+
+    @Test
+    public void solvingShouldReachTheTablebaseOutcome(){
+        Random random = new Random(12);
+        BoardState state = BoardState.create();
+
+        for (int round = 0; round < 100; round++) {
+            randomPosition(state, random);
+            state.setSeeds(state.largePitIndex(BoardState.FIRST_SIDE), random.nextInt(5));
+            state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), random.nextInt(5));
+            EndgameSolution solution = tablebase.solve(state);
+            int distance = solution.getDistance();
+
+            // Both sides follow the tablebase until the game is over
+            int plies = 0;
+            while (!state.isGameOver()) {
+                state.move(tablebase.solve(state).getBestMove());
+                plies++;
+            }
+
+            assertEquals(solution.getResult(), state.getResult());
+            assertEquals(distance, plies);
+        }
+    }
+
+    @Test
+    public void searchShouldAgreeWithTheTablebase(){
+        Random random = new Random(13);
+        BoardState state = BoardState.create();
+        AlphaBetaSearch search = new AlphaBetaSearch(16);
+        search.setTablebase(tablebase);
+
+        for (int round = 0; round < 50; round++) {
+            do {
+                randomPosition(state, random);
+            } while (state.isGameOver());
+
+            EndgameSolution solution = tablebase.solve(state);
+            int score = search.search(state, SearchLimits.depth(4)).getScore();
+            int expected = solution.getFinalDifference() == 0 ? 0
+                    : solution.getFinalDifference() + Integer.signum(solution.getFinalDifference()) * AlphaBetaSearch.WIN_SCORE;
+            assertEquals(expected, score);
+        }
+    }
+
+    @Test
+    public void positionsWithTooManySeedsShouldNotBeCovered(){
+        BoardState state = BoardState.create();
+        assertFalse(tablebase.covers(state));
+        assertThrows(IllegalArgumentException.class, () -> tablebase.solve(state));
+    }
+
+    @Test
+    public void finishedGamesShouldBeSolvedWithoutMoves(){
+        BoardState state = BoardState.create();
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        state.setSeeds(state.regularPitIndex(BoardState.SECOND_SIDE, 0), 2);
+        state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), 1);
+
+        EndgameSolution solution = tablebase.solve(state);
+        assertEquals(-1, solution.getBestMove());
+        assertEquals(0, solution.getDistance());
+        assertEquals(GameResult.SECOND_PLAYER_WON, solution.getResult());
+    }
+
+    @Test
+    public void tablebasesLargerThanOneMappedFileShouldBeRejected(){
+        GameConfig config = GameConfig.of(8, 1);
+        int maxSeeds = 0;
+        while (new EndgameIndex(config.getPitsPerPlayer(), maxSeeds + 1).size() <= EndgameTablebase.MAX_POSITIONS) {
+            maxSeeds++;
+        }
+        new EndgameGenerator(config, maxSeeds);
+        int tooManySeeds = maxSeeds + 1;
+        assertThrows(IllegalArgumentException.class, () -> new EndgameGenerator(config, tooManySeeds));
+    }
+
+    @Test
+    public void otherFilesShouldBeRejected() throws IOException {
+        Path other = Files.createTempFile("endgame", ".bin");
+        try {
+            Files.write(other, new byte[64]);
+            assertThrows(IOException.class, () -> EndgameTablebase.open(other));
+        }
+        finally {
+            Files.deleteIfExists(other);
+        }
+    }
+
+    private static void randomPosition(BoardState state, Random random) {
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        int seeds = random.nextInt(MAX_SEEDS + 1);
+        for (int seed = 0; seed < seeds; seed++) {
+            int side = random.nextInt(2);
+            int index = state.regularPitIndex(side, random.nextInt(GameConstants.PITS_PER_PLAYER));
+            state.setSeeds(index, state.getSeeds(index) + 1);
+        }
+        state.setActiveSide(random.nextInt(2));
+    }
+
+    /**
+     * Computes the best large pit difference the side to move can still add by trying every line.
+     */
+    private static int exhaustiveValue(BoardState state) {
+        if (state.isGameOver()) {
+            return 0;
+        }
+
+        int side = state.getActiveSide();
+        int best = Integer.MIN_VALUE;
+        for (int pit = 0; pit < GameConstants.PITS_PER_PLAYER; pit++) {
+            if (!state.isLegalMove(pit)) {
+                continue;
+            }
+            BoardState child = BoardState.create();
+            child.copyFrom(state);
+            child.move(pit);
+            int gain = child.getSeeds(state.largePitIndex(side)) - state.getSeeds(state.largePitIndex(side));
+            int value = child.getActiveSide() == side ? exhaustiveValue(child) : -exhaustiveValue(child);
+            best = Math.max(best, gain + value);
+        }
+        return best;
+    }
+}
@@ -56,7 +56,8 @@ public class PitTest {
 
     @Test
     public void shouldBeAbleToCheckIfEmpty(){
-        RegularPit regularPit = new RegularPit(firstPlayer, 0);
+        RegularPit regularPit = firstPlayer.getRegularPit(0);
+        regularPit.pickupSeeds();
         assertTrue(regularPit.isEmpty());
 
         regularPit.putSeed();
@@ -1,26 +1,37 @@
 package model;
 
 import common.GameConstants;
+import core.Board;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class PlayerTest {
     private Player activePlayer;
     private Player opponent;
+    private Player seatedPlayer;
+    private Player seatedOpponent;
 
     @BeforeEach
     public void setUp() {
         activePlayer = new Player("ActivePlayer");
         opponent = new Player("Opponent");
+        Board board = Board.create("Player 1", "Player 2");
+        seatedPlayer = board.getFirstPlayer();
+        seatedOpponent = board.getSecondPlayer();
     }
 
     @Test
@@ -35,7 +46,7 @@ public class PlayerTest {
             assertEquals(activePlayer, regularPit.getOwner());
 
             // All pits (except the last) should point to the next regular pit
-            if(!regularPit.equals(activePlayer.getRegularPits().getLast())){
+            if(regularPit != activePlayer.getRegularPit(GameConstants.PITS_PER_PLAYER - 1)){
                 Pit nextPit = regularPit.getNextPit();
                 assertNotNull(nextPit);
                 assertTrue(nextPit instanceof RegularPit);
@@ -51,7 +62,7 @@ public class PlayerTest {
     @Test
     public void shouldBeAbleToTakeTurn(){
         // Play from the first pit
-        LinkedList<RegularPit> regularPits = activePlayer.getRegularPits();
+        List<RegularPit> regularPits = activePlayer.getRegularPits();
         Pit endPit = activePlayer.takeTurn(regularPits.get(0));
 
         // The last pit should be a regular pit owned by the player
@@ -66,37 +77,95 @@ public class PlayerTest {
                     regularPits.get(1).getSeeds()));
     }
 
+    @Test
+    public void takingTurnShouldMatchSowingOneSeedAtATime(){
+        Random random = new Random(7);
+
+        for (int round = 0; round < 2000; round++) {
+            Board board = Board.create("Player 1", "Player 2");
+            Board referenceBoard = Board.create("Player 1", "Player 2");
+            List<Pit> pits = allPits(board);
+            List<Pit> referencePits = allPits(referenceBoard);
+
+            // Fill the board with a random position, including pits holding several full laps
+            for (int index = 0; index < pits.size(); index++) {
+                int seeds = random.nextInt(4) == 0 ? random.nextInt(200) : random.nextInt(8);
+                pits.get(index).setSeeds(seeds);
+                referencePits.get(index).setSeeds(seeds);
+            }
+
+            boolean firstPlayerMoves = random.nextBoolean();
+            Player player = firstPlayerMoves ? board.getFirstPlayer() : board.getSecondPlayer();
+            Player referencePlayer = firstPlayerMoves
+                    ? referenceBoard.getFirstPlayer()
+                    : referenceBoard.getSecondPlayer();
+            int selectedPit = random.nextInt(GameConstants.PITS_PER_PLAYER);
+
+            Pit endPit = player.takeTurn(player.getRegularPits().get(selectedPit));
+            Pit referenceEndPit = sowOneSeedAtATime(referencePlayer,
+                    referencePlayer.getRegularPits().get(selectedPit));
+
+            assertEquals(referencePits.indexOf(referenceEndPit), pits.indexOf(endPit));
+            for (int index = 0; index < pits.size(); index++) {
+                assertEquals(referencePits.get(index).getSeeds(), pits.get(index).getSeeds());
+            }
+        }
+    }
+
     @Test
     public void shouldNotBeAbleToCaptureWhenEndPitBelongsToOpponent(){
-        RegularPit endPit = new RegularPit(opponent, GameConstants.SEEDS_PER_PIT);
-        assertFalse(activePlayer.canCapture(endPit));
+        RegularPit endPit = seatedOpponent.getRegularPit(0);
+        endPit.setSeeds(1);
+        assertFalse(seatedPlayer.canCapture(endPit));
     }
 
     @Test
     public void shouldNotBeAbleToCaptureWhenEndPitWasNotEmpty(){
-        RegularPit endPit = new RegularPit(activePlayer, GameConstants.SEEDS_PER_PIT);
-        assertFalse(activePlayer.canCapture(endPit));
+        RegularPit endPit = seatedPlayer.getRegularPit(0);
+        assertFalse(seatedPlayer.canCapture(endPit));
     }
 
     @Test
     public void shouldNotBeAbleToCaptureWhenEndPitHasAnEmptyOppositePit(){
-        RegularPit endPit = new RegularPit(activePlayer, 1);
-        endPit.setOppositePit(new RegularPit(opponent, 0));
-        assertFalse(activePlayer.canCapture(endPit));
+        RegularPit endPit = seatedPlayer.getRegularPit(0);
+        endPit.setSeeds(1);
+        endPit.getOppositePit().setSeeds(0);
+        assertFalse(seatedPlayer.canCapture(endPit));
     }
 
     @Test
     public void shouldBeAbleToCapture(){
-        RegularPit endPit = new RegularPit(activePlayer, 1);
-        RegularPit oppositePit = new RegularPit(opponent, GameConstants.SEEDS_PER_PIT);
-        endPit.setOppositePit(oppositePit);
-        assertTrue(activePlayer.canCapture(endPit));
+        RegularPit endPit = seatedPlayer.getRegularPit(0);
+        endPit.setSeeds(1);
+        RegularPit oppositePit = endPit.getOppositePit();
+        assertEquals(seatedOpponent.getRegularPit(GameConstants.PITS_PER_PLAYER - 1), oppositePit);
+        assertTrue(seatedPlayer.canCapture(endPit));
 
-        activePlayer.capture(endPit);
+        seatedPlayer.capture(endPit);
         assertTrue(endPit.isEmpty());
         assertTrue(oppositePit.isEmpty());
         assertEquals(GameConstants.SEEDS_PER_PIT + 1,
-                activePlayer.getLargePit().getSeeds());
+                seatedPlayer.getLargePit().getSeeds());
+        assertTrue(seatedPlayer.hasConsistentSeedCount());
+        assertTrue(seatedOpponent.hasConsistentSeedCount());
+    }
+
+    @Test
+    public void regularPitsShouldBeReadOnly(){
+        List<RegularPit> regularPits = activePlayer.getRegularPits();
+        assertThrows(UnsupportedOperationException.class, () -> regularPits.set(0, regularPits.get(1)));
+        assertThrows(UnsupportedOperationException.class, () -> regularPits.remove(0));
+        for (int pit = 0; pit < regularPits.size(); pit++) {
+            assertSame(activePlayer.getRegularPit(pit), regularPits.get(pit));
+            assertEquals(pit, regularPits.get(pit).getIndex());
+        }
+        assertEquals(GameConstants.PITS_PER_PLAYER + 1, seatedOpponent.getRegularPit(0).getIndex());
+    }
+
+    @Test
+    public void unseatedPlayersShouldHaveNoOpponentPits(){
+        assertNull(activePlayer.getLargePit().getNextPit());
+        assertNull(activePlayer.getRegularPit(0).getOppositePit());
     }
 
     @Test
@@ -111,6 +180,35 @@ public class PlayerTest {
         assertFalse(activePlayer.noSeedsLeft());
     }
 
+    @Test
+    public void seedCountShouldFollowEveryChange(){
+        Board board = Board.create("Player 1", "Player 2");
+        Player first = board.getFirstPlayer();
+        Player second = board.getSecondPlayer();
+        assertEquals(GameConstants.PITS_PER_PLAYER * GameConstants.SEEDS_PER_PIT, first.getRegularSeeds());
+
+        // A capture removes seeds from both sides at once
+        first.getRegularPits().get(0).setSeeds(1);
+        first.getRegularPits().get(1).setSeeds(0);
+        RegularPit endPit = (RegularPit) first.takeTurn(first.getRegularPits().get(0));
+        assertTrue(first.canCapture(endPit));
+        first.capture(endPit);
+        assertTrue(first.hasConsistentSeedCount());
+        assertTrue(second.hasConsistentSeedCount());
+        // Only the first two pits were emptied
+        assertEquals((GameConstants.PITS_PER_PLAYER - 2) * GameConstants.SEEDS_PER_PIT, first.getRegularSeeds());
+
+        // Long sowings spill over into the opponent's pits
+        first.getRegularPits().get(5).putSeeds(30);
+        first.takeTurn(first.getRegularPits().get(5));
+        assertTrue(first.hasConsistentSeedCount());
+        assertTrue(second.hasConsistentSeedCount());
+
+        board.reset();
+        assertEquals(GameConstants.PITS_PER_PLAYER * GameConstants.SEEDS_PER_PIT, second.getRegularSeeds());
+        assertTrue(second.hasConsistentSeedCount());
+    }
+
     @Test
     public void shouldBeAbleToCheckIfPlayersAreEqual(){
         assertNotEquals(activePlayer, opponent);
@@ -120,4 +218,29 @@ public class PlayerTest {
         opponent = new Player("Test");
         assertEquals(activePlayer, opponent);
     }
+
+    /**
+     * The original seed-by-seed sowing loop, kept as a reference for the closed-form implementation.
+     */
+    private static Pit sowOneSeedAtATime(Player player, RegularPit selectedPit){
+        int seeds = selectedPit.pickupSeeds();
+        Pit currentPit = selectedPit;
+
+        while (seeds > 0) {
+            currentPit = currentPit.getNextPit();
+            if (currentPit.canPutSeed(player)) {
+                seeds--;
+                currentPit.putSeed();
+            }
+        }
+        return currentPit;
+    }
+
+    private static List<Pit> allPits(Board board){
+        List<Pit> pits = new ArrayList<>(board.getFirstPlayer().getRegularPits());
+        pits.add(board.getFirstPlayer().getLargePit());
+        pits.addAll(board.getSecondPlayer().getRegularPits());
+        pits.add(board.getSecondPlayer().getLargePit());
+        return pits;
+    }
 }
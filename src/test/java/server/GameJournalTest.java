@@ -0,0 +1,293 @@
+package server;
+
+import ai.SearchLimits;
+import common.GameConfig;
+import core.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameJournalTest {
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void recoveryShouldRestoreEveryGame() throws IOException {
+        Map<String, String> views;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<GameSession> sessions = createGames(journal, 20);
+            playRandomMoves(sessions, 30, new Random(1));
+            journal.logDelete(sessions.get(5).getId());
+            sessions.remove(5);
+            views = views(sessions);
+        }
+
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(views, views(journal.takeRecoveredGames().values()));
+            assertTrue(journal.takeRecoveredGames().isEmpty());
+        }
+    }
+
+    @Test
+    public void snapshotsShouldReplaceOlderSegments() throws IOException {
+        Map<String, String> views;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<GameSession> sessions = createGames(journal, 10);
+            playRandomMoves(sessions, 20, new Random(2));
+            assertEquals(journal.getRecordCount(), journal.getRecordsSinceSnapshot());
+
+            assertEquals(10, journal.snapshot(sessions));
+            assertEquals(0, journal.getRecordsSinceSnapshot());
+            long records = journal.getRecordCount();
+            playRandomMoves(sessions, 5, new Random(3));
+            assertEquals(journal.getRecordCount() - records, journal.getRecordsSinceSnapshot());
+            views = views(sessions);
+        }
+
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(List.of("journal-0000000000000002.log", "snapshot-0000000000000002.bin"),
+                    paths.map(path -> path.getFileName().toString()).sorted().toList());
+        }
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(views, views(journal.takeRecoveredGames().values()));
+        }
+    }
+
+    @Test
+    public void tornRecordsShouldBeIgnored() throws IOException {
+        Map<String, String> views;
+        GameSession last;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<GameSession> sessions = createGames(journal, 3);
+            playRandomMoves(sessions, 4, new Random(4));
+            views = views(sessions);
+            last = sessions.get(2);
+            last.play(firstLegalPit(last), game -> 0);
+        }
+
+        // Cut the last record, as a crash in the middle of a write would
+        Path segment = directory.resolve("journal-0000000000000001.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(views, views(journal.takeRecoveredGames().values()));
+            // Recovery starts a new segment rather than appending after the torn record
+            assertTrue(Files.exists(directory.resolve("journal-0000000000000002.log")));
+        }
+    }
+
+    @Test
+    public void movesShouldBeLoggedWhenTheComputerFails() throws IOException {
+        Map<String, String> views;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            GameSession session = new GameSession("computer", Game.create("Player 1", "Computer"), true, journal, 0);
+            synchronized (session) {
+                journal.logCreate(session);
+            }
+            // Sowing the first pit hands the turn to the computer, which fails to reply
+            assertThrows(IllegalStateException.class, () -> session.play(1, game -> {
+                throw new IllegalStateException("Interrupted while waiting for a computer player");
+            }));
+            assertEquals(1, session.getPlies());
+            views = views(List.of(session));
+        }
+
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(views, views(journal.takeRecoveredGames().values()));
+        }
+    }
+
+    @Test
+    public void gamesWithMissingMovesShouldBeDropped() throws IOException {
+        Map<String, String> views;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<GameSession> sessions = createGames(journal, 3);
+            playRandomMoves(sessions, 4, new Random(5));
+            GameSession broken = sessions.remove(1);
+            synchronized (broken) {
+                journal.logMoves(broken.getId(), broken.getPlies() + 1, new int[]{1});
+            }
+            playRandomMoves(sessions, 4, new Random(6));
+            views = views(sessions);
+        }
+
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(views, views(journal.takeRecoveredGames().values()));
+            assertEquals(Set.of("game1"), journal.getDroppedGames());
+        }
+    }
+
+    @Test
+    public void concurrentAppendsShouldAllBeRecovered() throws Exception {
+        int threads = 8;
+        Map<String, String> views;
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<GameSession> sessions = createGames(journal, threads);
+            List<Thread> players = new ArrayList<>();
+            for (GameSession session : sessions) {
+                players.add(new Thread(() -> playRandomMoves(List.of(session), 50, new Random(session.getId().hashCode()))));
+            }
+            players.forEach(Thread::start);
+            for (Thread player : players) {
+                player.join();
+            }
+
+            assertTrue(journal.getCommitCount() <= journal.getRecordCount());
+            views = views(sessions);
+        }
+
+        try (GameJournal recovered = GameJournal.open(directory)) {
+            assertEquals(views, views(recovered.takeRecoveredGames().values()));
+        }
+    }
+
+    @Test
+    public void restartedServersShouldResumeTheirGames() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        String view;
+        try (GameJournal journal = GameJournal.open(directory);
+             GameServer server = new GameServer(0, SearchLimits.depth(2), 1, 10)) {
+            server.setJournal(journal, 60_000);
+            server.start();
+            String games = "http://localhost:" + server.getPort() + "/games";
+            String created = client.send(HttpRequest.newBuilder(URI.create(games))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"computer\": true}")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            String id = created.substring(7, created.indexOf('"', 7));
+            client.send(HttpRequest.newBuilder(URI.create(games + "/" + id + "/moves"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"pit\": 1}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            view = client.send(HttpRequest.newBuilder(URI.create(games + "/" + id)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+        }
+
+        try (GameJournal journal = GameJournal.open(directory);
+             GameServer server = new GameServer(0, SearchLimits.depth(2), 1, 10)) {
+            server.setJournal(journal, 60_000);
+            server.start();
+            assertEquals(1, server.getGameCount());
+            String id = view.substring(7, view.indexOf('"', 7));
+            assertEquals(view, client.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + "/games/" + id)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+        }
+    }
+
+    @Test
+    public void failedSnapshotsShouldBeKeptAndRetried() throws Exception {
+        // A directory in place of the temporary file of the first snapshot makes it fail
+        Path blocker = Files.createDirectory(directory.resolve("snapshot-0000000000000002.bin.tmp"));
+        try (GameJournal journal = GameJournal.open(directory);
+             GameServer server = new GameServer(0, SearchLimits.depth(2), 1, 10)) {
+            server.setJournal(journal, 20);
+            server.start();
+            String games = "http://localhost:" + server.getPort() + "/games";
+            HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(games))
+                    .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (server.getSnapshotFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(server.getSnapshotFailure() instanceof IOException);
+
+            // Nothing is logged after the failure, yet the snapshot is taken again
+            Files.delete(blocker);
+            while (server.getSnapshotFailure() != null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNull(server.getSnapshotFailure());
+            assertEquals(0, journal.getRecordsSinceSnapshot());
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertTrue(paths.anyMatch(path -> path.getFileName().toString().matches("snapshot-\\d+\\.bin")));
+        }
+    }
+
+    private static List<GameSession> createGames(GameJournal journal, int count) {
+        List<GameSession> sessions = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            GameConfig config = index % 2 == 0 ? GameConfig.DEFAULT : GameConfig.of(4, 3);
+            GameSession session = new GameSession("game" + index,
+                    Game.create("Player " + index, "Ünïcode", config), false, journal, 0);
+            synchronized (session) {
+                journal.logCreate(session);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+    private static void playRandomMoves(List<GameSession> sessions, int moves, Random random) {
+        for (int move = 0; move < moves; move++) {
+            for (GameSession session : sessions) {
+                synchronized (session) {
+                    if (session.getGame().isOver()) {
+                        continue;
+                    }
+                    int pits = session.getGame().getBoard().getConfig().getPitsPerPlayer();
+                    int pitNumber;
+                    do {
+                        pitNumber = 1 + random.nextInt(pits);
+                    } while (session.getGame().getActivePlayer().getRegularPits().get(pitNumber - 1).isEmpty());
+                    session.play(pitNumber, game -> 0);
+                }
+            }
+        }
+    }
+    private static int firstLegalPit(GameSession session) {
+        synchronized (session) {
+            assertFalse(session.getGame().isOver());
+            int pit = 0;
+            while (session.getGame().getActivePlayer().getRegularPits().get(pit).isEmpty()) {
+                pit++;
+            }
+            return pit + 1;
+        }
+    }
+    private static Map<String, String> views(Iterable<GameSession> sessions) {
+        Map<String, String> views = new HashMap<>();
+        for (GameSession session : sessions) {
+            views.put(session.getId(), session.view() + " plies " + session.getPlies());
+        }
+        return views;
+    }
+}
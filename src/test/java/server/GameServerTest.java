@@ -0,0 +1,175 @@
+package server;
+
+import ai.SearchLimits;
+import core.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private GameServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new GameServer(0, SearchLimits.depth(4), 1, 100);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void newGamesShouldShowTheInitialBoard() throws Exception {
+        HttpResponse<String> response = post("/games", "{\"first\": \"Alice\", \"second\": \"Bob \\\"B\\\"\"}");
+
+        assertEquals(201, response.statusCode());
+        String id = idOf(response.body());
+        assertEquals("{\"id\":\"" + id + "\",\"variant\":\"6x4\",\"players\":["
+                + "{\"name\":\"Alice\",\"computer\":false,\"pits\":[4,4,4,4,4,4],\"store\":0},"
+                + "{\"name\":\"Bob \\\"B\\\"\",\"computer\":false,\"pits\":[4,4,4,4,4,4],\"store\":0}],"
+                + "\"toMove\":1,\"result\":null,\"moves\":[]}", response.body());
+        assertEquals(response.body(), get("/games/" + id).body());
+        assertEquals("{\"games\":1}", get("/games").body());
+    }
+
+    @Test
+    public void movesShouldBePlayedByThePlayerToMove() throws Exception {
+        String id = idOf(post("/games", "{\"pits\": 4, \"seeds\": 3}").body());
+
+        // The last seed of the second pit lands in the large pit, so the first player moves again
+        HttpResponse<String> response = post("/games/" + id + "/moves", "{\"pit\": 2}");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"pits\":[3,0,4,4],\"store\":1"), response.body());
+        assertTrue(response.body().contains("\"toMove\":1"), response.body());
+        assertTrue(response.body().endsWith("\"moves\":[{\"player\":1,\"pit\":2}]}"), response.body());
+
+        assertEquals(400, post("/games/" + id + "/moves", "{\"pit\": 2}").statusCode());
+        assertEquals(400, post("/games/" + id + "/moves", "{\"pit\": 5}").statusCode());
+        assertEquals(400, post("/games/" + id + "/moves", "{\"pit\": \"1\"}").statusCode());
+        assertEquals(400, post("/games/" + id + "/moves", "{\"pit\": 1").statusCode());
+        assertTrue(post("/games/" + id + "/moves", "{\"pit\": 1}").body().contains("\"toMove\":2"));
+    }
+
+    @Test
+    public void theComputerShouldReplyToEveryMove() throws Exception {
+        String id = idOf(post("/games", "{\"first\": \"Alice\", \"computer\": true}").body());
+
+        String view = post("/games/" + id + "/moves", "{\"pit\": 1}").body();
+        assertTrue(view.contains("{\"name\":\"Computer\",\"computer\":true"), view);
+        assertTrue(view.contains("{\"player\":1,\"pit\":1},{\"player\":2,\"pit\":"), view);
+        assertTrue(view.contains("\"toMove\":1"), view);
+
+        // Keep playing the first non-empty pit until the game is over
+        while (view.contains("\"toMove\":1")) {
+            HttpResponse<String> response = null;
+            for (int pit = 1; pit <= 6 && (response == null || response.statusCode() == 400); pit++) {
+                response = post("/games/" + id + "/moves", "{\"pit\": " + pit + "}");
+            }
+            assertEquals(200, response.statusCode(), response.body());
+            view = response.body();
+        }
+        assertTrue(view.contains("\"toMove\":null,\"result\":\""), view);
+        assertEquals(409, post("/games/" + id + "/moves", "{\"pit\": 1}").statusCode());
+    }
+
+    @Test
+    public void unknownGamesAndRequestsShouldBeRejected() throws Exception {
+        String id = idOf(post("/games", "").body());
+
+        assertEquals(404, get("/games/unknown").statusCode());
+        assertEquals(404, get("/games/" + id + "/other").statusCode());
+        assertEquals(405, get("/games/" + id + "/moves").statusCode());
+        assertEquals(400, post("/games", "{\"first\": \"Alice\", \"second\": \"Alice\"}").statusCode());
+        assertEquals(400, post("/games", "{\"pits\": 17}").statusCode());
+        assertEquals(400, post("/games", "[]").statusCode());
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/games/" + id)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(404, get("/games/" + id).statusCode());
+        assertEquals(0, server.getGameCount());
+    }
+
+    @Test
+    public void deletedSessionsShouldRefuseRequests() {
+        GameSession session = new GameSession("deleted", Game.create("Player 1", "Player 2"), false, null, 0);
+        session.delete();
+        session.delete();
+
+        assertTrue(session.isDeleted());
+        assertThrows(IllegalStateException.class, session::view);
+        assertThrows(IllegalStateException.class, () -> session.play(1, game -> 0));
+    }
+
+    @Test
+    public void serversShouldRefuseGamesBeyondTheirLimit() throws Exception {
+        for (int game = 0; game < 100; game++) {
+            assertEquals(201, post("/games", "").statusCode());
+        }
+        assertEquals(409, post("/games", "").statusCode());
+        assertEquals(100, server.getGameCount());
+    }
+
+    @Test
+    public void loadTestsShouldPlayEveryGame() throws Exception {
+        LoadTestClient loadTestClient = new LoadTestClient(server.getPort(), 4);
+
+        LoadTestClient.Phase open = loadTestClient.openGames(50);
+        LoadTestClient.Phase moves = loadTestClient.playMoves(open.getIds(), 1);
+
+        assertEquals(50, open.getGames());
+        assertEquals(50, moves.getGames());
+        assertEquals(50, server.getGameCount());
+        for (String id : open.getIds()) {
+            // Every first move empties a pit of the first player
+            assertFalse(get("/games/" + id).body().contains("[4,4,4,4,4,4],\"store\":0},{"));
+        }
+        loadTestClient.closeGames(open.getIds());
+        assertEquals(0, server.getGameCount());
+    }
+
+    @Test
+    public void flatObjectsShouldBeParsed() {
+        Map<String, Object> members = Json.parseObject(" {\"a\": \"x\\\"\\u0041\", \"b\": -12, \"c\": true, \"d\": null} ");
+
+        assertEquals("x\"A", members.get("a"));
+        assertEquals(-12L, members.get("b"));
+        assertEquals(Boolean.TRUE, members.get("c"));
+        assertNull(members.get("d"));
+        assertTrue(Json.parseObject("{}").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": 1.5}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": {}}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": 1} x"));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+    private static String idOf(String view) {
+        int start = view.indexOf("\"id\":\"") + 6;
+        return view.substring(start, view.indexOf('"', start));
+    }
+}
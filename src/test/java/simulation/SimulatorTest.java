@@ -0,0 +1,78 @@
+package simulation;
+
+import common.GameConfig;
+import common.GameConstants;
+import core.BoardState;
+import core.GameResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulatorTest {
+    @Test
+    public void allGamesShouldBeCounted(){
+        SimulationResult result = new Simulator(RandomStrategy::new, RandomStrategy::new, 2).run(1000, 1);
+
+        assertEquals(1000, result.getGames());
+        assertEquals(1000, result.getCount(GameResult.FIRST_PLAYER_WON)
+                + result.getCount(GameResult.SECOND_PLAYER_WON)
+                + result.getCount(GameResult.DRAW));
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    public void resultsShouldBeReproducibleFromTheSeed(){
+        SimulationResult singleWorker = new Simulator(RandomStrategy::new, GreedyStrategy::new, 1).run(2000, 42);
+        SimulationResult manyWorkers = new Simulator(RandomStrategy::new, GreedyStrategy::new, 4).run(2000, 42);
+
+        for (GameResult gameResult : GameResult.values()) {
+            assertEquals(singleWorker.getCount(gameResult), manyWorkers.getCount(gameResult));
+        }
+    }
+
+    @Test
+    public void variantsShouldBePlayedByEveryStrategy(){
+        for (GameConfig config : new GameConfig[] {GameConfig.of(4, 3), GameConfig.of(12, 10)}) {
+            SimulationResult result = new Simulator(config, GreedyStrategy::new, () -> new SearchStrategy(2), 2)
+                    .run(300, 5);
+            assertEquals(300, result.getCount(GameResult.FIRST_PLAYER_WON)
+                    + result.getCount(GameResult.SECOND_PLAYER_WON)
+                    + result.getCount(GameResult.DRAW));
+        }
+    }
+
+    @Test
+    public void greedyStrategyShouldBeatRandomStrategy(){
+        SimulationResult result = new Simulator(GreedyStrategy::new, RandomStrategy::new, 2).run(2000, 7);
+        assertTrue(result.getCount(GameResult.FIRST_PLAYER_WON) > result.getCount(GameResult.SECOND_PLAYER_WON));
+    }
+
+    @Test
+    public void strategiesShouldOnlySelectLegalMoves(){
+        MoveStrategy[] strategies = {new RandomStrategy(), new GreedyStrategy(), new SearchStrategy(3)};
+        Random random = new Random(5);
+        BoardState state = BoardState.create();
+
+        for (MoveStrategy strategy : strategies) {
+            for (int game = 0; game < 50; game++) {
+                state.reset();
+                while (!state.isGameOver()) {
+                    int pit = strategy.selectMove(state, random);
+                    assertTrue(pit >= 0 && pit < GameConstants.PITS_PER_PLAYER);
+                    assertTrue(state.isLegalMove(pit));
+                    state.move(pit);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void simulatorShouldRequireAWorker(){
+        assertThrows(IllegalArgumentException.class,
+                () -> new Simulator(RandomStrategy::new, RandomStrategy::new, 0));
+    }
+}
@@ -0,0 +1,176 @@
+package solver;
+
+import common.GameConfig;
+import common.GameConstants;
+import core.BoardState;
+import endgame.EndgameGenerator;
+import endgame.EndgameTablebase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StrongSolverTest {
+    private static final int MAX_SEEDS = 8;
+
+    private Path directory;
+    private EndgameTablebase tablebase;
+
+    @BeforeEach
+    public void generateTablebase() throws IOException {
+        directory = Files.createTempDirectory("solver");
+        Path path = directory.resolve("endgame.bin");
+        new EndgameGenerator(MAX_SEEDS).generate(path);
+        tablebase = EndgameTablebase.open(path);
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        tablebase = null;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void valuesShouldMatchTheTablebase() throws IOException {
+        Random random = new Random(21);
+        BoardState state = BoardState.create();
+        StrongSolver solver = new StrongSolver(12);
+
+        for (int round = 0; round < 200; round++) {
+            randomPosition(state, random, MAX_SEEDS);
+            SolverResult result = solver.solve(state);
+
+            assertEquals(tablebase.value(state), result.getValue());
+            assertEquals(tablebase.solve(state).getResult(), result.getResult());
+        }
+    }
+
+    @Test
+    public void bestMoveShouldReachTheValue() throws IOException {
+        Random random = new Random(22);
+        BoardState state = BoardState.create();
+        BoardState child = BoardState.create();
+        StrongSolver solver = new StrongSolver(12);
+
+        for (int round = 0; round < 100; round++) {
+            do {
+                randomPosition(state, random, MAX_SEEDS);
+            } while (state.isGameOver());
+            SolverResult result = solver.solve(state);
+
+            int side = state.getActiveSide();
+            child.copyFrom(state);
+            child.move(result.getBestMove());
+            int gain = child.getSeeds(state.largePitIndex(side)) - state.getSeeds(state.largePitIndex(side));
+            int future = child.isGameOver() ? 0
+                    : child.getActiveSide() == side ? tablebase.value(child) : -tablebase.value(child);
+            assertEquals(result.getValue(), gain + future);
+        }
+    }
+
+    @Test
+    public void tablebaseShouldShortenTheSearch() throws IOException {
+        BoardState state = midgamePosition(16);
+        StrongSolver plain = new StrongSolver(16);
+        StrongSolver withTablebase = new StrongSolver(16);
+        withTablebase.setTablebase(tablebase);
+
+        SolverResult expected = plain.solve(state);
+        SolverResult actual = withTablebase.solve(state);
+
+        assertEquals(expected.getValue(), actual.getValue());
+        assertTrue(actual.getProgress().getNodes() < expected.getProgress().getNodes());
+    }
+
+    @Test
+    public void solvingShouldResumeFromTheCheckpoint() throws IOException {
+        BoardState state = midgamePosition(16);
+        SolverResult expected = new StrongSolver(16).solve(state);
+
+        // Abort the first run after its first MTD(f) pass
+        Path solverDirectory = directory.resolve("run");
+        StrongSolver interrupted = new StrongSolver(solverDirectory, 4, 16, 0);
+        interrupted.setProgressListener(progress -> {
+            throw new IllegalStateException("Interrupted");
+        });
+        assertThrows(IllegalStateException.class, () -> interrupted.solve(state));
+        assertTrue(Files.exists(solverDirectory.resolve("table.bin")));
+
+        StrongSolver resumed = new StrongSolver(solverDirectory, 4, 16, 0);
+        SolverResult actual = resumed.solve(state);
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getFinalDifference(), actual.getFinalDifference());
+        assertTrue(actual.getProgress().getTableHits() > 0);
+
+        // Once solved, the checkpoint holds the exact value
+        SolverResult again = new StrongSolver(solverDirectory, 4, 16, 0).solve(state);
+        assertEquals(expected.getValue(), again.getValue());
+        assertEquals(actual.getProgress().getNodes() + 1, again.getProgress().getNodes(), 10);
+    }
+
+    @Test
+    public void smallVariantsShouldBeSolvedFromTheStart() throws IOException {
+        GameConfig config = GameConfig.of(4, 3);
+        Path path = directory.resolve("endgame-4.bin");
+        new EndgameGenerator(config, MAX_SEEDS).generate(path);
+        EndgameTablebase variantTablebase = EndgameTablebase.open(path);
+        assertFalse(variantTablebase.covers(midgamePosition(4)));
+
+        SolverResult expected = new StrongSolver(16).solve(BoardState.create(config));
+        StrongSolver withTablebase = new StrongSolver(16);
+        withTablebase.setTablebase(variantTablebase);
+        SolverResult actual = withTablebase.solve(BoardState.create(config));
+
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getResult(), actual.getResult());
+        assertEquals(actual.getValue(), actual.getFinalDifference());
+    }
+
+    @Test
+    public void tablesOfAnotherSizeShouldBeRejected() throws IOException {
+        BoardState state = midgamePosition(10);
+        Path solverDirectory = directory.resolve("run");
+        new StrongSolver(solverDirectory, 4, 12, Long.MAX_VALUE).solve(state);
+
+        assertThrows(IOException.class, () -> new StrongSolver(solverDirectory, 4, 13, Long.MAX_VALUE).solve(state));
+    }
+
+    private static BoardState midgamePosition(int seeds) {
+        Random random = new Random(seeds);
+        BoardState state = BoardState.create();
+        do {
+            randomPosition(state, random, seeds);
+        } while (state.isGameOver());
+        return state;
+    }
+
+    private static void randomPosition(BoardState state, Random random, int maxSeeds) {
+        for (int index = 0; index < state.size(); index++) {
+            state.setSeeds(index, 0);
+        }
+        int seeds = random.nextInt(maxSeeds + 1);
+        for (int seed = 0; seed < seeds; seed++) {
+            int side = random.nextInt(2);
+            int index = state.regularPitIndex(side, random.nextInt(GameConstants.PITS_PER_PLAYER));
+            state.setSeeds(index, state.getSeeds(index) + 1);
+        }
+        state.setSeeds(state.largePitIndex(BoardState.FIRST_SIDE), random.nextInt(5));
+        state.setSeeds(state.largePitIndex(BoardState.SECOND_SIDE), random.nextInt(5));
+        state.setActiveSide(random.nextInt(2));
+    }
+}